@@ -0,0 +1,147 @@
+package com.flightready.bench;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded Postgres (no Docker) with the application's Flyway migrations and a Hibernate/Spring Data stack
+ * configured like the application's.
+ *
+ * The embedded binaries have no PostGIS, so migrations are applied with the PostGIS parts shimmed out:
+ * {@code launchsite.location} becomes text and its GiST index a btree, and the migrations that only index the
+ * planar geometry or check the PostGIS version are skipped. Code paths that never read or write the location
+ * column through PostGIS functions behave as in production.
+ */
+final class BenchDatabase implements AutoCloseable {
+
+    private static final Pattern VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    /** V12 (GiST index on {@code location::geometry}) and V15 (PostGIS version check) need PostGIS itself. */
+    private static final Set<Integer> POSTGIS_ONLY = Set.of(12, 15);
+
+    private final EmbeddedPostgres postgres;
+    private final HikariDataSource dataSource;
+    private final LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private final JpaTransactionManager transactionManager;
+
+    private BenchDatabase(int poolSize) throws IOException {
+        this.postgres = EmbeddedPostgres.builder().start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl("postgres", "postgres"));
+        config.setMaximumPoolSize(poolSize);
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        this.dataSource = new HikariDataSource(config);
+
+        migrate();
+
+        Properties jpaProperties = new Properties();
+        jpaProperties.put("hibernate.jdbc.time_zone", "UTC");
+        jpaProperties.put("hibernate.jdbc.batch_size", "50");
+        jpaProperties.put("hibernate.order_inserts", "true");
+        jpaProperties.put("hibernate.order_updates", "true");
+        jpaProperties.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        jpaProperties.put("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+
+        this.entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan("com.flightready");
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaProperties(jpaProperties);
+        entityManagerFactoryBean.afterPropertiesSet();
+
+        this.transactionManager = new JpaTransactionManager(entityManagerFactory());
+        transactionManager.setDataSource(dataSource);
+    }
+
+    static BenchDatabase start(int poolSize) {
+        try {
+            return new BenchDatabase(poolSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not start embedded Postgres", ex);
+        }
+    }
+
+    EntityManagerFactory entityManagerFactory() {
+        return entityManagerFactoryBean.getObject();
+    }
+
+    /**
+     * Transaction-bound proxy, like the one Spring injects into repositories.
+     */
+    EntityManager sharedEntityManager() {
+        return SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory());
+    }
+
+    <T> T repository(Class<T> repositoryInterface) {
+        return new JpaRepositoryFactory(sharedEntityManager()).getRepository(repositoryInterface);
+    }
+
+    JpaTransactionManager transactionManager() {
+        return transactionManager;
+    }
+
+    TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    private void migrate() throws IOException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(BenchDatabase::version));
+
+        JdbcTemplate jdbc = jdbcTemplate();
+        for (Resource migration : migrations) {
+            if (POSTGIS_ONLY.contains(version(migration))) {
+                continue;
+            }
+            String sql = migration.getContentAsString(StandardCharsets.UTF_8)
+                    .replace("CREATE EXTENSION IF NOT EXISTS postgis;", "")
+                    .replace("geography(Point,4326)", "text")
+                    .replace("USING GIST (location)", "(location)");
+            jdbc.execute(sql);
+        }
+    }
+
+    private static int version(Resource migration) {
+        Matcher matcher = VERSION.matcher(migration.getFilename());
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Unexpected migration name: " + migration.getFilename());
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        entityManagerFactoryBean.destroy();
+        dataSource.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,83 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.launchsite.Launchsite;
+import com.flightready.launchsite.LaunchsiteCatalog;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Launchsites laid out on a grid around the Alps, far enough apart to land in distinct forecast buckets.
+ */
+final class BenchSites {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private BenchSites() {}
+
+    static List<Launchsite> create(int count) {
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        List<Launchsite> sites = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double latitude = 45.5 + (i / columns) * 0.05;
+            double longitude = 6.0 + (i % columns) * 0.05;
+            sites.add(new Launchsite(
+                    new UUID(0xF1L, i + 1L),
+                    "Site " + i,
+                    GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude)),
+                    (i * 37) % 360,
+                    ((i * 37) % 360 + 90) % 360,
+                    800 + (i % 20) * 50,
+                    i % 3 == 0 ? null : "Benchmark launchsite " + i
+            ));
+        }
+        return sites;
+    }
+
+    /**
+     * Inserts through JDBC; the shimmed schema stores the location as WKT text.
+     */
+    static void insert(JdbcTemplate jdbcTemplate, List<Launchsite> sites) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO launchsite (id, name, location, direction_start, direction_end, asl, info)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)
+                        """,
+                sites, 500, (ps, site) -> {
+                    ps.setObject(1, site.getId());
+                    ps.setString(2, site.getName());
+                    ps.setString(3, site.getLocation().toText());
+                    ps.setDouble(4, site.getDirectionStart());
+                    ps.setDouble(5, site.getDirectionEnd());
+                    ps.setInt(6, site.getAsl());
+                    ps.setString(7, site.getInfo());
+                });
+    }
+
+    /**
+     * Catalog over the given sites. Its load query needs PostGIS, so the rows are handed over directly instead of
+     * coming from the (shimmed) database.
+     */
+    @SuppressWarnings("unchecked")
+    static LaunchsiteCatalog catalog(List<Launchsite> sites) {
+        List<LaunchsiteResponse> rows = sites.stream()
+                .map(site -> new LaunchsiteResponse(site.getId(), site.getName(),
+                        site.getLocation().getY(), site.getLocation().getX(),
+                        site.getDirectionStart(), site.getDirectionEnd(), site.getAsl(), site.getInfo()))
+                .toList();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+                return (List<T>) rows;
+            }
+        };
+        return new LaunchsiteCatalog(jdbcTemplate, new ObjectMapper());
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.dto.meteoblue.MeteoblueColumnarDecoder;
+import com.flightready.weather.ensemble.EnsembleAggregator;
+import com.flightready.weather.ensemble.EnsembleForecast;
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest-time cost of {@link EnsembleAggregator#aggregate} for one forecast.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnsembleAggregationBenchmark {
+
+    @Param({"10"})
+    int models;
+
+    @Param({"168"})
+    int hours;
+
+    private ColumnarForecast forecast;
+    private EnsembleAggregator aggregator;
+    private final UUID weatherId = UUID.randomUUID();
+    private final UUID launchsiteId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] payload = MeteoblueFixtures.multimodel1h(models, hours, 42).getBytes(StandardCharsets.UTF_8);
+        forecast = new MeteoblueColumnarDecoder(new ObjectMapper()).decode(payload);
+        aggregator = new EnsembleAggregator();
+    }
+
+    @Benchmark
+    public EnsembleForecast aggregate() {
+        return aggregator.aggregate(weatherId, launchsiteId, forecast);
+    }
+}
@@ -0,0 +1,90 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flightready.weather.dto.ForecastBinaryEncoder;
+import com.flightready.weather.dto.ForecastResponse;
+import com.flightready.weather.dto.meteoblue.MeteoblueColumnarDecoder;
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding cost of the forecast read API: JSON (as served for application/json) vs the columnar binary format,
+ * each with and without gzip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastEncodingBenchmark {
+
+    @Param({"10"})
+    int models;
+
+    @Param({"168"})
+    int hours;
+
+    private ForecastResponse forecast;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] payload = MeteoblueFixtures.multimodel1h(models, hours, 42).getBytes(StandardCharsets.UTF_8);
+        ColumnarForecast columnar = new MeteoblueColumnarDecoder(new ObjectMapper()).decode(payload);
+        forecast = new ForecastResponse(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                OffsetDateTime.of(2024, 5, 1, 6, 0, 0, 0, ZoneOffset.UTC),
+                columnar.modelrunUpdatetimeUtc(),
+                columnar.models(),
+                columnar.time(),
+                columnar.temperature(),
+                columnar.precipitation(),
+                columnar.cloudcover(),
+                columnar.winddirection()
+        );
+        // same settings as the Boot-configured mapper
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(forecast);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(forecast));
+    }
+
+    @Benchmark
+    public byte[] binary() {
+        return ForecastBinaryEncoder.encode(forecast);
+    }
+
+    @Benchmark
+    public byte[] binaryGzip() throws IOException {
+        return gzip(ForecastBinaryEncoder.encode(forecast));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,161 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Write throughput of the launchsite API against a running backend: {@code sites} synthetic launchsites
+ * ({@link SyntheticFleet}) created one {@code POST /api/launchsites} at a time from {@code clients} threads, then
+ * the same number through {@code POST /api/launchsites/import} in CSV chunks of {@code chunk} rows. Each phase
+ * runs {@code rounds} times with fresh sites; the sites are left in the database.
+ *
+ * Run with: mvn -Pbenchmark package exec:exec -Dbench.main=com.flightready.bench.ImportLoadTest
+ * -Djmh.args="app=http://localhost:8080 sites=2000 clients=8"
+ */
+public final class ImportLoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "app", "http://localhost:8080",
+            "sites", "2000",
+            "clients", "8",
+            "chunk", "5000",
+            "rounds", "3"
+    );
+
+    private final Map<String, String> options;
+    private final URI app;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ImportLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.app = URI.create(options.get("app"));
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1 || !DEFAULTS.containsKey(arg.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', known: " + new TreeMap<>(DEFAULTS));
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        try {
+            new ImportLoadTest(options).run();
+        } catch (Exception ex) {
+            // HTTP client threads would keep the JVM alive
+            ex.printStackTrace();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        int sites = integer("sites");
+        int rounds = integer("rounds");
+        long seed = System.nanoTime();
+        // the first round of each phase warms up the JIT and the connection pool; it is reported but not counted
+        System.out.printf("%d sites per round, %d clients for single creates, import chunks of %d%n", sites,
+                integer("clients"), integer("chunk"));
+        double singleTotal = 0;
+        double importTotal = 0;
+        for (int round = 0; round < rounds; round++) {
+            double single = createOneByOne(SyntheticFleet.csv(2 * round * sites, sites, seed));
+            double imported = importCsv(2 * round * sites + sites, sites, seed);
+            System.out.printf("round %d: single POSTs %8.1f sites/s   /import %8.1f sites/s%n", round + 1, single,
+                    imported);
+            if (round > 0 || rounds == 1) {
+                singleTotal += single;
+                importTotal += imported;
+            }
+        }
+        int counted = rounds == 1 ? 1 : rounds - 1;
+        System.out.printf("mean:    single POSTs %8.1f sites/s   /import %8.1f sites/s   (x%.1f)%n",
+                singleTotal / counted, importTotal / counted, importTotal / singleTotal);
+    }
+
+    /** @return sites per second */
+    private double createOneByOne(String csv) throws Exception {
+        List<String> bodies = new ArrayList<>();
+        String[] lines = csv.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            // synthetic rows have no quoted fields
+            String[] fields = lines[i].split(",", -1);
+            ObjectNode body = objectMapper.createObjectNode()
+                    .put("name", fields[0])
+                    .put("latitude", Double.parseDouble(fields[1]))
+                    .put("longitude", Double.parseDouble(fields[2]))
+                    .put("asl", Integer.parseInt(fields[3]))
+                    .put("directionStart", Double.parseDouble(fields[4]))
+                    .put("directionEnd", Double.parseDouble(fields[5]))
+                    .put("info", fields[6]);
+            bodies.add(objectMapper.writeValueAsString(body));
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(integer("clients"));
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> pending = new ArrayList<>(bodies.size());
+            for (String body : bodies) {
+                pending.add(clients.submit(() -> {
+                    post("/api/launchsites", "application/json", body);
+                    return null;
+                }));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+            return bodies.size() / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    /** @return sites per second */
+    private double importCsv(int from, int count, long seed) throws IOException, InterruptedException {
+        int chunk = integer("chunk");
+        long start = System.nanoTime();
+        for (int offset = 0; offset < count; offset += chunk) {
+            post("/api/launchsites/import", "text/csv",
+                    SyntheticFleet.csv(from + offset, Math.min(chunk, count - offset), seed));
+        }
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void post(String path, String contentType, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(app.resolve(path))
+                        .timeout(Duration.ofMinutes(5))
+                        .header("Content-Type", contentType)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("POST " + path + " failed (" + response.statusCode() + "): "
+                    + response.body());
+        }
+    }
+
+    private int integer(String option) {
+        return Integer.parseInt(options.get(option));
+    }
+}
@@ -0,0 +1,55 @@
+package com.flightready.bench;
+
+import com.flightready.launchsite.LaunchsiteCatalog;
+import com.flightready.launchsite.LaunchsiteRepository;
+import com.flightready.launchsite.LaunchsiteService;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving the full launchsite list from the {@link LaunchsiteCatalog} at scale: the steady state (records and the
+ * pre-serialized body) and a reload after a change, with the database left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LaunchsiteMappingBenchmark {
+
+    @Param({"1000", "10000"})
+    int sites;
+
+    private LaunchsiteCatalog catalog;
+    private LaunchsiteService service;
+
+    @Setup
+    public void setUp() {
+        catalog = BenchSites.catalog(BenchSites.create(sites));
+        service = new LaunchsiteService(Stubs.of(LaunchsiteRepository.class, Map.of()), catalog, event -> {});
+    }
+
+    @Benchmark
+    public List<LaunchsiteResponse> findAll() {
+        return service.findAll();
+    }
+
+    @Benchmark
+    public byte[] findAllAsJson() {
+        return catalog.snapshot().json();
+    }
+
+    /**
+     * Rebuilding the snapshot (arrays, index, serialized body) after a change, without the query itself.
+     */
+    @Benchmark
+    public LaunchsiteCatalog.Snapshot reload() {
+        catalog.onLaunchsiteChanged(null);
+        return catalog.snapshot();
+    }
+}
@@ -0,0 +1,409 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end capacity test against a running backend, without spending Meteoblue quota.
+ *
+ * <ol>
+ *     <li>starts a {@link MeteoblueStubServer} on {@code stub-port} with the configured latency and fault rates;
+ *     the backend has to be started on the same host with
+ *     {@code --weather.meteoblue.base-url=http://127.0.0.1:<stub-port>}; the test aborts before seeding when
+ *     {@code /actuator/info} reports another upstream</li>
+ *     <li>imports {@code sites} synthetic launchsites ({@link SyntheticFleet}) unless {@code seed=false}</li>
+ *     <li>triggers a sync run and, while it runs (at least {@code min-duration}), keeps {@code readers} threads
+ *     issuing a mix of list, forecast, flyability, ranking and tile requests</li>
+ *     <li>samples connection pool usage and heap from the actuator every second</li>
+ * </ol>
+ * and prints sync throughput, read throughput with p50/p99 per endpoint, upstream calls by outcome, peak DB
+ * connections and peak heap.
+ *
+ * Run with: mvn -Pbenchmark package exec:exec -Dbench.main=com.flightready.bench.LoadTest
+ * -Djmh.args="app=http://localhost:8080 sites=10000 readers=32"
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("app", "http://localhost:8080"),
+            Map.entry("sites", "1000"),
+            Map.entry("seed", "true"),
+            Map.entry("readers", "16"),
+            Map.entry("min-duration", "PT1M"),
+            Map.entry("sync-timeout", "PT1H"),
+            Map.entry("stub-port", "8089"),
+            Map.entry("stub-threads", "64"),
+            Map.entry("stub-min-latency", "PT0.05S"),
+            Map.entry("stub-max-latency", "PT0.4S"),
+            Map.entry("stub-error-rate", "0.01"),
+            Map.entry("stub-throttle-rate", "0.01"),
+            Map.entry("models", "10"),
+            Map.entry("hours", "168")
+    );
+
+    private static final int IMPORT_CHUNK = 5_000;
+
+    private final Map<String, String> options;
+    private final URI app;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Latencies> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> statuses = new ConcurrentHashMap<>();
+    private final Peaks peaks = new Peaks();
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.app = URI.create(options.get("app"));
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1 || !DEFAULTS.containsKey(arg.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', known: " + new TreeMap<>(DEFAULTS));
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        try {
+            new LoadTest(options).run();
+        } catch (Exception ex) {
+            // reader and HTTP client threads would keep the JVM alive
+            ex.printStackTrace();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        MeteoblueStubServer.Faults faults = new MeteoblueStubServer.Faults(
+                duration("stub-min-latency"), duration("stub-max-latency"),
+                Double.parseDouble(options.get("stub-error-rate")), Double.parseDouble(options.get("stub-throttle-rate")),
+                Duration.ofSeconds(1));
+        byte[] payload = MeteoblueFixtures.multimodel1h(integer("models"), integer("hours"), 42,
+                LocalDateTime.now(java.time.ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS), 47.0, 11.0)
+                .getBytes(StandardCharsets.UTF_8);
+
+        try (MeteoblueStubServer stub = new MeteoblueStubServer(payload, integer("stub-threads"),
+                integer("stub-port"), faults)) {
+            System.out.printf("Meteoblue stub on %s (%s); start the backend with --weather.meteoblue.base-url=%s%n",
+                    stub.baseUrl(), faults, stub.baseUrl());
+            awaitHealthy(Duration.ofMinutes(5));
+            requireStubUpstream(URI.create(stub.baseUrl()));
+
+            if (Boolean.parseBoolean(options.get("seed"))) {
+                seed(integer("sites"));
+            }
+            List<Site> sites = sites();
+            System.out.printf("%d launchsites in the catalog%n", sites.size());
+
+            ExecutorService readers = Executors.newFixedThreadPool(integer("readers") + 1);
+            Instant start = Instant.now();
+            Instant readUntil = start.plus(duration("min-duration"));
+            AtomicLong stopAt = new AtomicLong(Long.MAX_VALUE);
+            readers.submit(() -> samplePeaks(stopAt));
+            for (int r = 0; r < integer("readers"); r++) {
+                readers.submit(() -> read(sites, stopAt));
+            }
+
+            JsonNode run = sync(duration("sync-timeout"));
+            Instant syncEnd = Instant.now();
+            long waitMillis = Duration.between(Instant.now(), readUntil).toMillis();
+            if (waitMillis > 0) {
+                Thread.sleep(waitMillis);
+            }
+            stopAt.set(System.currentTimeMillis());
+            readers.shutdown();
+            readers.awaitTermination(1, TimeUnit.MINUTES);
+
+            report(run, Duration.between(start, syncEnd), Duration.between(start, Instant.now()), stub.counts());
+        }
+    }
+
+    private void awaitHealthy(Duration timeout) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                if (get("/actuator/health").statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not up yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Backend at " + app + " did not become healthy within " + timeout);
+    }
+
+    /**
+     * Refuses to go on unless the backend syncs from this stub, so a misconfigured run neither spends Meteoblue
+     * quota nor reports the real API's latency as the backend's.
+     */
+    private void requireStubUpstream(URI stub) throws IOException, InterruptedException {
+        HttpResponse<String> response = get("/actuator/info");
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Cannot verify the backend's upstream: GET /actuator/info returned "
+                    + response.statusCode());
+        }
+        JsonNode weather = objectMapper.readTree(response.body()).path("weather");
+        String provider = weather.path("provider").asText();
+        URI upstream = URI.create(weather.path("meteoblueBaseUrl").asText());
+        if (!provider.equals("meteoblue") || upstream.getPort() != stub.getPort() || upstream.getHost() == null
+                || !InetAddress.getByName(upstream.getHost()).isLoopbackAddress()) {
+            throw new IllegalStateException("Backend syncs with provider '" + provider + "' from " + upstream
+                    + ", not from the stub; start it with --weather.provider=meteoblue --weather.meteoblue.base-url="
+                    + stub);
+        }
+    }
+
+    private void seed(int count) throws IOException, InterruptedException {
+        long seed = System.nanoTime();
+        Instant start = Instant.now();
+        for (int from = 0; from < count; from += IMPORT_CHUNK) {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(app.resolve("/api/launchsites/import"))
+                            .header("Content-Type", "text/csv")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    SyntheticFleet.csv(from, Math.min(IMPORT_CHUNK, count - from), seed)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Import failed (" + response.statusCode() + "): " + response.body());
+            }
+        }
+        System.out.printf("Imported %d synthetic launchsites in %d ms%n", count,
+                Duration.between(start, Instant.now()).toMillis());
+    }
+
+    private List<Site> sites() throws IOException, InterruptedException {
+        JsonNode list = objectMapper.readTree(get("/api/launchsites").body());
+        List<Site> sites = new ArrayList<>(list.size());
+        list.forEach(site -> sites.add(new Site(site.get("id").asText(), site.get("latitude").asDouble(),
+                site.get("longitude").asDouble())));
+        if (sites.isEmpty()) {
+            throw new IllegalStateException("No launchsites to sync; run with seed=true");
+        }
+        return sites;
+    }
+
+    /**
+     * Triggers a run and waits for it; progress comes from the recent-runs list, which leaves out per-site results.
+     */
+    private JsonNode sync(Duration timeout) throws IOException, InterruptedException {
+        HttpResponse<String> triggered = http.send(HttpRequest.newBuilder(app.resolve("/api/weather-sync"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String runId = objectMapper.readTree(triggered.body()).get("runId").asText();
+        System.out.printf("Sync run %s triggered%n", runId);
+
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            Thread.sleep(1000);
+            HttpResponse<String> runs;
+            try {
+                runs = get("/api/weather-sync?limit=5");
+            } catch (IOException ex) {
+                System.out.printf("  progress poll failed (%s), retrying%n", ex);
+                continue;
+            }
+            for (JsonNode run : objectMapper.readTree(runs.body())) {
+                if (!run.get("runId").asText().equals(runId)) {
+                    continue;
+                }
+                String status = run.get("status").asText();
+                if (!status.equals("QUEUED") && !status.equals("RUNNING")) {
+                    return run;
+                }
+                System.out.printf("  %s: %d/%s processed%n", status, run.get("processedItems").asInt(),
+                        run.get("totalSites").asText());
+            }
+        }
+        throw new IllegalStateException("Sync run " + runId + " did not finish within " + timeout);
+    }
+
+    private void read(List<Site> sites, AtomicLong stopAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.currentTimeMillis() < stopAt.get()) {
+            Site site = sites.get(random.nextInt(sites.size()));
+            int pick = random.nextInt(10);
+            String endpoint;
+            String path;
+            if (pick < 4) {
+                endpoint = "forecast";
+                path = "/api/launchsites/" + site.id() + "/forecast/latest";
+            } else if (pick < 6) {
+                endpoint = "flyability";
+                path = "/api/launchsites/" + site.id() + "/flyability";
+            } else if (pick < 8) {
+                endpoint = "tile";
+                path = tilePath(site, 6 + random.nextInt(7));
+            } else if (pick < 9) {
+                endpoint = "ranking";
+                path = "/api/launchsites/ranking?limit=50";
+            } else {
+                endpoint = "list";
+                path = "/api/launchsites";
+            }
+
+            long start = System.nanoTime();
+            try {
+                int status = http.send(HttpRequest.newBuilder(app.resolve(path)).GET().build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                latencies.computeIfAbsent(endpoint, e -> new Latencies()).add(System.nanoTime() - start);
+                statuses.computeIfAbsent(endpoint + " " + status, e -> new AtomicLong()).incrementAndGet();
+            } catch (IOException ex) {
+                statuses.computeIfAbsent(endpoint + " " + ex.getClass().getSimpleName(), e -> new AtomicLong())
+                        .incrementAndGet();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static String tilePath(Site site, int z) {
+        int n = 1 << z;
+        double latitude = Math.toRadians(Math.max(-85.0, Math.min(85.0, site.latitude())));
+        int x = (int) Math.floor((site.longitude() + 180.0) / 360.0 * n);
+        int y = (int) Math.floor((1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2 * n);
+        return "/api/tiles/" + z + "/" + Math.min(n - 1, Math.max(0, x)) + "/" + Math.min(n - 1, Math.max(0, y)) + ".mvt";
+    }
+
+    private void samplePeaks(AtomicLong stopAt) {
+        while (System.currentTimeMillis() < stopAt.get()) {
+            try {
+                peaks.sample("db connections active", metric("hikaricp.connections.active", null));
+                peaks.sample("db connections pending", metric("hikaricp.connections.pending", null));
+                peaks.sample("heap used MB", metric("jvm.memory.used", "area:heap") / (1024 * 1024));
+                Thread.sleep(1000);
+            } catch (IOException ex) {
+                // the backend is busy; try again on the next tick
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private double metric(String name, String tag) throws IOException, InterruptedException {
+        HttpResponse<String> response = get("/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag));
+        if (response.statusCode() != 200) {
+            return Double.NaN;
+        }
+        return objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asDouble(Double.NaN);
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(app.resolve(path)).timeout(Duration.ofSeconds(30)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(JsonNode run, Duration syncDuration, Duration total, long[] upstream) {
+        int processed = run.get("processedItems").asInt();
+        System.out.println();
+        System.out.printf("Sync %s: %d processed (%d stored, %d skipped, %d failed) in %.1f s = %.1f sites/s%n",
+                run.get("status").asText(), processed, run.get("succeeded").asInt(), run.get("skipped").asInt(),
+                run.get("failed").asInt(), syncDuration.toMillis() / 1000.0,
+                processed * 1000.0 / Math.max(1, syncDuration.toMillis()));
+        System.out.printf("Upstream stub: %d served, %d x 500, %d x 429%n", upstream[0], upstream[1], upstream[2]);
+
+        System.out.printf("%nReads over %.1f s:%n", total.toMillis() / 1000.0);
+        System.out.printf("  %-12s %10s %10s %10s %10s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms");
+        new TreeMap<>(latencies).forEach((endpoint, values) -> {
+            long[] sorted = values.sorted();
+            System.out.printf(Locale.ROOT, "  %-12s %10d %10.1f %10.1f %10.1f%n", endpoint, sorted.length,
+                    sorted.length * 1000.0 / Math.max(1, total.toMillis()),
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+        });
+        System.out.println("  responses: " + new TreeMap<>(statuses));
+
+        System.out.printf("%nBackend peaks (sampled every second):%n");
+        peaks.print();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private Duration duration(String option) {
+        return Duration.parse(options.get(option));
+    }
+
+    private int integer(String option) {
+        return Integer.parseInt(options.get(option));
+    }
+
+    private record Site(String id, double latitude, double longitude) {}
+
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private static final class Peaks {
+        private final Map<String, double[]> values = new java.util.LinkedHashMap<>();
+
+        synchronized void sample(String name, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            // {max, sum, samples}
+            double[] peak = values.computeIfAbsent(name, n -> new double[]{Double.NEGATIVE_INFINITY, 0, 0});
+            peak[0] = Math.max(peak[0], value);
+            peak[1] += value;
+            peak[2]++;
+        }
+
+        synchronized void print() {
+            if (values.isEmpty()) {
+                System.out.println("  no actuator metrics (is /actuator/metrics exposed?)");
+            }
+            values.forEach((name, peak) -> System.out.printf(Locale.ROOT, "  %-24s max %8.1f  mean %8.1f%n",
+                    name, peak[0], peak[1] / peak[2]));
+        }
+    }
+}
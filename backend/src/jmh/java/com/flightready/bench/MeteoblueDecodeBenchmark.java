@@ -0,0 +1,56 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.dto.meteoblue.MeteoblueColumnarDecoder;
+import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares today's databind path ({@code List<List<Double>>}) with the streaming columnar decoder.
+ * Run with {@code -prof gc} to compare bytes allocated per decode ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MeteoblueDecodeBenchmark {
+
+    @Param({"10"})
+    int models;
+
+    @Param({"168"})
+    int hours;
+
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+    private MeteoblueColumnarDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        payload = MeteoblueFixtures.multimodel1h(models, hours, 42).getBytes(StandardCharsets.UTF_8);
+        objectMapper = new ObjectMapper();
+        decoder = new MeteoblueColumnarDecoder(objectMapper);
+    }
+
+    @Benchmark
+    public MeteoblueWeatherResponse databind() throws IOException {
+        return objectMapper.readValue(payload, MeteoblueWeatherResponse.class);
+    }
+
+    @Benchmark
+    public ColumnarForecast databindThenColumnar() throws IOException {
+        return objectMapper.readValue(payload, MeteoblueWeatherResponse.class).columnar();
+    }
+
+    @Benchmark
+    public ColumnarForecast streamingColumnar() throws IOException {
+        return decoder.decode(payload);
+    }
+}
@@ -0,0 +1,100 @@
+package com.flightready.bench;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates multimodel-1h documents shaped like the ones returned by Meteoblue, so benchmarks and load tests
+ * do not depend on recorded payloads or API quota.
+ */
+public final class MeteoblueFixtures {
+
+    public static final List<String> MODELS = List.of(
+            "NEMS4", "ICON-D2", "ICON-EU", "ICON", "GFS05", "GEM", "UKMO", "ECMWF-IFS04", "MFGLOBAL", "AROME"
+    );
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private MeteoblueFixtures() {
+    }
+
+    public static String multimodel1h(int models, int hours, long seed) {
+        return multimodel1h(models, hours, seed, LocalDateTime.of(2024, 5, 1, 0, 0), 47.0, 11.0);
+    }
+
+    public static String multimodel1h(int models, int hours, long seed, LocalDateTime start, double latitude, double longitude) {
+        if (models < 1 || models > MODELS.size()) {
+            throw new IllegalArgumentException("models must be between 1 and " + MODELS.size());
+        }
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(64 * models * hours);
+
+        json.append("{\"metadata\":{")
+                .append("\"modelrun_updatetime_utc\":\"").append(start.minusHours(3).format(TIME_FORMAT)).append("\",")
+                .append("\"name\":\"\",\"height\":1200,\"timezone_abbrevation\":\"CEST\",")
+                .append("\"latitude\":").append(latitude).append(',')
+                .append("\"modelrun_utc\":[");
+        for (int m = 0; m < models; m++) {
+            if (m > 0) json.append(',');
+            json.append('"').append(start.minusHours(6 + m % 3 * 6).format(TIME_FORMAT)).append('"');
+        }
+        json.append("],\"models\":[");
+        for (int m = 0; m < models; m++) {
+            if (m > 0) json.append(',');
+            json.append('"').append(MODELS.get(m)).append('"');
+        }
+        json.append("],\"gridpointelevation\":[");
+        for (int m = 0; m < models; m++) {
+            if (m > 0) json.append(',');
+            json.append(1100 + random.nextInt(300));
+        }
+        json.append("],\"longitude\":").append(longitude)
+                .append(",\"utc_timeoffset\":2.0,\"generation_time_ms\":12.5},");
+
+        json.append("\"units\":{\"precipitation\":\"mm\",\"windspeed\":\"ms-1\",\"cloudcover\":\"percent\",")
+                .append("\"radiation\":\"Wm-2\",\"time\":\"YYYY-MM-DD hh:mm\",\"temperature\":\"C\",")
+                .append("\"relativehumidity\":\"percent\",\"winddirection\":\"degree\"},");
+
+        json.append("\"multimodel\":{\"data_1h\":{\"time\":[");
+        for (int h = 0; h < hours; h++) {
+            if (h > 0) json.append(',');
+            json.append('"').append(start.plusHours(h).format(TIME_FORMAT)).append('"');
+        }
+        json.append("],\"temperature_spread\":[");
+        for (int h = 0; h < hours; h++) {
+            if (h > 0) json.append(',');
+            json.append(round(random.nextDouble() * 3));
+        }
+        json.append("],\"precipitation\":");
+        appendMatrix(json, models, hours, () -> random.nextInt(5) == 0 ? round(random.nextDouble() * 4) : 0.0);
+        json.append(",\"cloudcover\":");
+        appendMatrix(json, models, hours, () -> random.nextInt(101));
+        json.append(",\"temperature\":");
+        appendMatrix(json, models, hours, () -> round(8 + random.nextDouble() * 18));
+        json.append(",\"winddirection\":");
+        appendMatrix(json, models, hours, () -> random.nextInt(360));
+        json.append("}}}");
+
+        return json.toString();
+    }
+
+    private static void appendMatrix(StringBuilder json, int models, int hours, java.util.function.Supplier<Number> value) {
+        json.append('[');
+        for (int m = 0; m < models; m++) {
+            if (m > 0) json.append(',');
+            json.append('[');
+            for (int h = 0; h < hours; h++) {
+                if (h > 0) json.append(',');
+                json.append(value.get());
+            }
+            json.append(']');
+        }
+        json.append(']');
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.flightready.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for {@code /packages/multimodel-1h}; answers every request with the current payload, optionally
+ * after a random latency and with injected 500s and 429s ({@link Faults}).
+ */
+final class MeteoblueStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Faults faults;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private volatile byte[] payload;
+
+    MeteoblueStubServer(byte[] payload, int threads) {
+        this(payload, threads, 0, Faults.NONE);
+    }
+
+    /**
+     * @param port 0 for any free port
+     */
+    MeteoblueStubServer(byte[] payload, int threads, int port, Faults faults) {
+        this.payload = payload;
+        this.faults = faults;
+        this.executor = Executors.newFixedThreadPool(threads);
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        server.createContext("/packages/multimodel-1h", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latency = faults.minLatency().toMillis() + (faults.maxLatency().compareTo(faults.minLatency()) > 0
+                    ? random.nextLong(faults.maxLatency().toMillis() - faults.minLatency().toMillis() + 1)
+                    : 0);
+            if (latency > 0) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            double roll = random.nextDouble();
+            if (roll < faults.throttleRate()) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", Long.toString(faults.retryAfter().toSeconds()));
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            if (roll < faults.throttleRate() + faults.errorRate()) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            byte[] body = this.payload;
+            served.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * @return {served, 500s, 429s} so far
+     */
+    long[] counts() {
+        return new long[]{served.get(), errors.get(), throttled.get()};
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Per request: a latency uniform in [minLatency, maxLatency], then a 429 (with Retry-After) with probability
+     * throttleRate or a 500 with probability errorRate.
+     */
+    record Faults(Duration minLatency, Duration maxLatency, double errorRate, double throttleRate,
+                  Duration retryAfter) {
+
+        static final Faults NONE = new Faults(Duration.ZERO, Duration.ZERO, 0, 0, Duration.ZERO);
+    }
+}
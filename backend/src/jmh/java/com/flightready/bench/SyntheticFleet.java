@@ -0,0 +1,56 @@
+package com.flightready.bench;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Synthetic launchsites for load tests, clustered around real flying regions the way the production catalog is,
+ * as a CSV body for {@code POST /api/launchsites/import}. Names start with {@link #NAME_PREFIX} so test data is
+ * easy to find and remove.
+ */
+final class SyntheticFleet {
+
+    static final String NAME_PREFIX = "Synthetic ";
+
+    private static final String HEADER = "name,latitude,longitude,asl,directionStart,directionEnd,info\n";
+
+    /**
+     * Centre and spread (standard deviation in degrees) of each region; sites are spread evenly across regions.
+     */
+    private static final List<double[]> REGIONS = List.of(
+            new double[]{46.6, 10.5, 1.2},   // Alps
+            new double[]{42.7, 0.8, 0.6},    // Pyrenees
+            new double[]{44.5, 6.3, 0.5},    // Southern French Alps
+            new double[]{41.0, 14.8, 1.0},   // Apennines
+            new double[]{39.5, -106.0, 2.0}, // Rockies
+            new double[]{-33.0, -70.0, 1.5}, // Andes
+            new double[]{-43.5, 170.5, 1.0}, // Southern Alps NZ
+            new double[]{28.5, 84.0, 1.5}    // Himalaya
+    );
+
+    private SyntheticFleet() {}
+
+    static String csv(int from, int count, long seed) {
+        Random random = new Random(seed + from);
+        StringBuilder csv = new StringBuilder(HEADER.length() + count * 80).append(HEADER);
+        for (int i = from; i < from + count; i++) {
+            double[] region = REGIONS.get(i % REGIONS.size());
+            double latitude = clamp(region[0] + random.nextGaussian() * region[2], -89.0, 89.0);
+            double longitude = clamp(region[1] + random.nextGaussian() * region[2], -179.9, 179.9);
+            int start = random.nextInt(360);
+            int width = 60 + random.nextInt(120);
+            csv.append(NAME_PREFIX).append(String.format("%06d", i)).append(',')
+                    .append(String.format(Locale.ROOT, "%.5f,%.5f", latitude, longitude)).append(',')
+                    .append(300 + random.nextInt(2500)).append(',')
+                    .append(start).append(',')
+                    .append((start + width) % 360).append(',')
+                    .append("load test site").append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
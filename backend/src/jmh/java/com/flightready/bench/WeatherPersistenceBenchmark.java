@@ -0,0 +1,100 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.launchsite.Launchsite;
+import com.flightready.weather.Weather;
+import com.flightready.weather.dto.meteoblue.MeteoblueColumnarDecoder;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.forecast.ForecastHourWriter;
+import com.flightready.weather.forecast.ForecastPartitionManager;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storing one forecast against embedded Postgres: the {@link Weather} row through Hibernate's jsonb mapping
+ * (with and without the raw payload), and additionally the forecast_hour batch insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherPersistenceBenchmark {
+
+    @Param({"true", "false"})
+    boolean rawPayload;
+
+    @Param({"10"})
+    int models;
+
+    @Param({"168"})
+    int hours;
+
+    private BenchDatabase database;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ForecastHourWriter forecastHourWriter;
+    private Launchsite site;
+    private JsonNode payload;
+    private ColumnarForecast columnar;
+
+    @Setup
+    public void setUp() throws IOException {
+        database = BenchDatabase.start(2);
+        entityManager = database.sharedEntityManager();
+        transactionTemplate = database.transactionTemplate();
+        forecastHourWriter = new ForecastHourWriter(database.jdbcTemplate(), 500);
+
+        site = BenchSites.create(1).get(0);
+        BenchSites.insert(database.jdbcTemplate(), List.of(site));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] json = MeteoblueFixtures.multimodel1h(models, hours, 42).getBytes(StandardCharsets.UTF_8);
+        payload = objectMapper.readTree(json);
+        columnar = new MeteoblueColumnarDecoder(objectMapper).decode(json);
+
+        long[] time = columnar.time();
+        new ForecastPartitionManager(database.jdbcTemplate(), database.transactionManager())
+                .ensurePartitions(time[0], time[time.length - 1]);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public UUID persistWeather() {
+        return transactionTemplate.execute(status -> persist().getId());
+    }
+
+    @Benchmark
+    public UUID persistWeatherWithHours() {
+        return transactionTemplate.execute(status -> {
+            Weather weather = persist();
+            forecastHourWriter.write(weather.getId(), site.getId(), columnar);
+            return weather.getId();
+        });
+    }
+
+    private Weather persist() {
+        Weather weather = Weather.of(
+                "meteoblue",
+                entityManager.getReference(Launchsite.class, site.getId()),
+                rawPayload ? payload : null,
+                columnar.modelrunUpdatetimeUtc()
+        );
+        entityManager.persist(weather);
+        entityManager.flush();
+        return weather;
+    }
+}
@@ -0,0 +1,167 @@
+package com.flightready.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.launchsite.Launchsite;
+import com.flightready.launchsite.LaunchsiteRepository;
+import com.flightready.weather.WeatherRepository;
+import com.flightready.weather.client.MeteoblueForecastCache;
+import com.flightready.weather.client.MeteoblueWeatherClient;
+import com.flightready.weather.client.MeteoblueWeatherProvider;
+import com.flightready.weather.client.TokenBucketRateLimiter;
+import com.flightready.weather.forecast.ForecastHourWriter;
+import com.flightready.weather.forecast.ForecastPartitionManager;
+import com.flightready.weather.metrics.WeatherMetrics;
+import com.flightready.weather.provider.WeatherProviderRegistry;
+import com.flightready.weather.service.SyncResult;
+import com.flightready.weather.service.WeatherIngestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link WeatherIngestionService#syncOnce()}: HTTP fetch from a local Meteoblue stub, streaming decode,
+ * partition check, Weather + forecast_hour insert in embedded Postgres. Every iteration serves a new model run,
+ * so every site is fetched and stored. Event listeners (flyability scoring, caches) are not wired.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherSyncBenchmark {
+
+    private static final LocalDateTime FIRST_RUN = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    @Param({"100"})
+    int sites;
+
+    @Param({"8"})
+    int concurrency;
+
+    @Param({"true"})
+    boolean rawPayload;
+
+    @Param({"10"})
+    int models;
+
+    @Param({"168"})
+    int hours;
+
+    private BenchDatabase database;
+    private MeteoblueStubServer stub;
+    private CloseableHttpClient httpClient;
+    private ExecutorService syncExecutor;
+    private WeatherIngestionService ingestionService;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchDatabase.start(concurrency + 2);
+        List<Launchsite> launchsites = BenchSites.create(sites);
+        BenchSites.insert(database.jdbcTemplate(), launchsites);
+
+        stub = new MeteoblueStubServer(payloadForRound(0), concurrency);
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(concurrency)
+                        .setMaxConnPerRoute(concurrency)
+                        .build())
+                .build();
+        RestClient restClient = RestClient.builder()
+                .baseUrl(stub.baseUrl())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        WeatherMetrics metrics = new WeatherMetrics(new SimpleMeterRegistry());
+        MeteoblueWeatherClient client = new MeteoblueWeatherClient(
+                restClient, "bench", objectMapper, metrics,
+                new TokenBucketRateLimiter(1_000_000, 1_000), Duration.ofMinutes(1),
+                1, Duration.ofMillis(100), Duration.ofSeconds(1),
+                1_000, Duration.ofMinutes(1)
+        );
+        // no TTL: every sync goes upstream, like the first sync after a new model run
+        MeteoblueForecastCache cache = new MeteoblueForecastCache(client, Duration.ZERO, 10_000, 0.01, 50);
+        WeatherProviderRegistry providers = new WeatherProviderRegistry(
+                List.of(new MeteoblueWeatherProvider(cache)), MeteoblueWeatherProvider.ID,
+                false, 0.1, 0.0065, Duration.ofMinutes(30), 10_000);
+
+        EntityManager entityManager = database.sharedEntityManager();
+        Map<UUID, Launchsite> byId = new HashMap<>();
+        launchsites.forEach(site -> byId.put(site.getId(), site));
+        LaunchsiteRepository launchsiteRepo = Stubs.of(LaunchsiteRepository.class, Map.of(
+                "findAllById", args -> {
+                    List<Launchsite> found = new ArrayList<>();
+                    ((Iterable<?>) args[0]).forEach(id -> found.add(byId.get(id)));
+                    return found;
+                },
+                "findById", args -> Optional.ofNullable(byId.get(args[0])),
+                "getReferenceById", args -> entityManager.getReference(Launchsite.class, args[0])
+        ));
+
+        syncExecutor = Executors.newFixedThreadPool(concurrency);
+        ingestionService = new WeatherIngestionService(
+                launchsiteRepo,
+                BenchSites.catalog(launchsites),
+                providers,
+                database.repository(WeatherRepository.class),
+                new ForecastHourWriter(database.jdbcTemplate(), 500),
+                new ForecastPartitionManager(database.jdbcTemplate(), database.transactionManager()),
+                database.transactionTemplate(),
+                event -> {},
+                syncExecutor,
+                metrics,
+                rawPayload,
+                Duration.ZERO,
+                concurrency
+        );
+    }
+
+    @Setup(Level.Iteration)
+    public void nextModelRun() {
+        stub.setPayload(payloadForRound(++round));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        syncExecutor.shutdownNow();
+        httpClient.close();
+        stub.close();
+        database.close();
+    }
+
+    @Benchmark
+    public SyncResult syncOnce() {
+        SyncResult result = ingestionService.syncOnce();
+        if (result.succeeded() != sites) {
+            throw new IllegalStateException("Expected " + sites + " stored sites, got " + result.succeeded()
+                    + " (" + result.failed() + " failed): " + result.sites().get(0));
+        }
+        return result;
+    }
+
+    private byte[] payloadForRound(int round) {
+        return MeteoblueFixtures.multimodel1h(models, hours, 42 + round, FIRST_RUN.plusHours(round), 47.0, 11.0)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
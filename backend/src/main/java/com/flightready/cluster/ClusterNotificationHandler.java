@@ -0,0 +1,22 @@
+package com.flightready.cluster;
+
+/**
+ * Receives the PostgreSQL notifications of one channel, sent by any instance (including this one) through
+ * {@code NOTIFY} or {@code pg_notify}. Called on the single listener thread; keep it short.
+ */
+public interface ClusterNotificationHandler {
+
+    String channel();
+
+    /**
+     * @param payload the notification payload, empty when none was sent
+     */
+    void onNotification(String payload);
+
+    /**
+     * Called whenever {@code LISTEN} was (re)established. Notifications sent while the connection was down are lost,
+     * so state kept in sync by them should be refreshed here.
+     */
+    default void onListening() {
+    }
+}
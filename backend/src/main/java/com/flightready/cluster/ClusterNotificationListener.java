@@ -0,0 +1,153 @@
+package com.flightready.cluster;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps one connection in {@code LISTEN} on the channels of all {@link ClusterNotificationHandler}s and hands every
+ * notification to the handlers of its channel. After a lost connection it reconnects and calls
+ * {@link ClusterNotificationHandler#onListening()} again, as notifications may have been missed.
+ *
+ * The connection is opened with {@link DriverManager} from the {@code spring.datasource} settings instead of being
+ * borrowed from the pool: it is held for the life of the instance, would count against the pool size forever and
+ * would be retired by Hikari's max-lifetime.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.notifications.listen", havingValue = "true", matchIfMissing = true)
+public class ClusterNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterNotificationListener.class);
+
+    private final String url;
+    private final Properties connectionProperties = new Properties();
+    private final List<ClusterNotificationHandler> handlers;
+    private final Duration waitTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ClusterNotificationListener(
+            DataSourceProperties dataSource,
+            List<ClusterNotificationHandler> handlers,
+            @Value("${cluster.notifications.listen-wait:PT10S}") Duration waitTimeout,
+            @Value("${cluster.notifications.reconnect-delay:PT5S}") Duration reconnectDelay
+    ) {
+        this.url = dataSource.determineUrl();
+        String username = dataSource.determineUsername();
+        String password = dataSource.determinePassword();
+        if (username != null) {
+            connectionProperties.setProperty("user", username);
+        }
+        if (password != null) {
+            connectionProperties.setProperty("password", password);
+        }
+        connectionProperties.setProperty("ApplicationName", "flightready-listen");
+        // a silently dropped connection would otherwise look like a quiet channel
+        connectionProperties.setProperty("tcpKeepAlive", "true");
+        this.handlers = List.copyOf(handlers);
+        this.waitTimeout = waitTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running || handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "cluster-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        Map<String, List<ClusterNotificationHandler>> byChannel = new HashMap<>();
+        for (ClusterNotificationHandler handler : handlers) {
+            byChannel.computeIfAbsent(handler.channel(), channel -> new ArrayList<>()).add(handler);
+        }
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, connectionProperties)) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : byChannel.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                handlers.forEach(this::listening);
+                log.info("Listening for notifications on {}", byChannel.keySet());
+
+                while (running) {
+                    // returns as soon as a notification arrives; the timeout only bounds how long stop() waits
+                    PGNotification[] notifications = pgConnection.getNotifications((int) waitTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        for (ClusterNotificationHandler handler : byChannel.getOrDefault(notification.getName(), List.of())) {
+                            dispatch(handler, notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cluster notification listener lost its connection, reconnecting in {}: {}",
+                        reconnectDelay, ex.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listening(ClusterNotificationHandler handler) {
+        try {
+            handler.onListening();
+        } catch (RuntimeException ex) {
+            log.warn("Handler for {} failed after (re)connecting: {}", handler.channel(), ex.getMessage());
+        }
+    }
+
+    private void dispatch(ClusterNotificationHandler handler, String payload) {
+        // one failing handler must neither drop the connection nor starve the other channels
+        try {
+            handler.onNotification(payload);
+        } catch (RuntimeException ex) {
+            log.warn("Handler for {} failed on a notification: {}", handler.channel(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.flightready.flyability;
+
+import com.flightready.flyability.dto.FlyabilityResponse;
+import com.flightready.flyability.dto.RankingResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/launchsites")
+public class FlyabilityController {
+
+    private final FlyabilityService service;
+
+    public FlyabilityController(FlyabilityService service) {
+        this.service = service;
+    }
+
+    /**
+     * Hourly flyability scores and best launch windows of the latest forecast.
+     * GET /api/launchsites/{id}/flyability
+     */
+    @GetMapping("/{id}/flyability")
+    public FlyabilityResponse flyability(@PathVariable("id") UUID id) {
+        return service.findByLaunchsite(id);
+    }
+
+    /**
+     * Sites ranked by mean flyability over [from, to), served from the in-memory index.
+     * GET /api/launchsites/ranking?from=&to=&near=lat,lon&radiusKm=&limit=
+     */
+    @GetMapping("/ranking")
+    public RankingResponse ranking(
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to,
+            @RequestParam(name = "near", required = false) String near,
+            @RequestParam(name = "radiusKm", required = false) Double radiusKm,
+            @RequestParam(name = "limit", defaultValue = "50") int limit
+    ) {
+        return service.rank(from, to, near, radiusKm, limit);
+    }
+}
@@ -0,0 +1,162 @@
+package com.flightready.flyability;
+
+import com.flightready.flyability.dto.RankedSite;
+import com.flightready.launchsite.LaunchsiteCatalog;
+import com.flightready.launchsite.LaunchsiteChangedEvent;
+import com.flightready.weather.service.RemoteForecastStoredEvent;
+import com.flightready.weather.service.RemoteForecastsMissedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every site's hourly flyability scores, so rankings are computed without touching the database.
+ * Names and coordinates come from the {@link LaunchsiteCatalog} at ranking time, which follows launchsite changes
+ * of all instances.
+ *
+ * Loaded once at startup and updated after each committed score of this instance; scores committed by other
+ * instances are read back per site on their {@code forecast_stored} notification, and all of them again when
+ * notifications may have been missed.
+ */
+@Component
+public class FlyabilityIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final FlyabilityScoreRepository repository;
+    private final LaunchsiteCatalog catalog;
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public FlyabilityIndex(FlyabilityScoreRepository repository, LaunchsiteCatalog catalog) {
+        this.repository = repository;
+        this.catalog = catalog;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // entries that arrived through events while loading are newer than the DB snapshot
+        repository.findAllIndexEntries().forEach(entry -> entries.putIfAbsent(entry.id(), entry));
+    }
+
+    @TransactionalEventListener
+    public void onScored(FlyabilityScoredEvent event) {
+        FlyabilityScore score = event.score();
+        entries.put(score.launchsiteId(), new Entry(score.launchsiteId(), score.firstHour().getEpochSecond(),
+                score.scores()));
+    }
+
+    @EventListener
+    public void onRemoteForecastStored(RemoteForecastStoredEvent event) {
+        repository.findIndexEntry(event.launchsiteId()).ifPresent(entry -> entries.put(entry.id(), entry));
+    }
+
+    @EventListener
+    public void onRemoteForecastsMissed(RemoteForecastsMissedEvent event) {
+        Map<UUID, Entry> loaded = new HashMap<>();
+        repository.findAllIndexEntries().forEach(entry -> loaded.put(entry.id(), entry));
+        entries.putAll(loaded);
+        // scores of deleted sites are gone from the table
+        entries.keySet().retainAll(loaded.keySet());
+    }
+
+    @TransactionalEventListener
+    public void onLaunchsiteChanged(LaunchsiteChangedEvent event) {
+        if (event.deleted()) {
+            entries.remove(event.id());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ranks sites by their mean score over the hours in [from, to).
+     *
+     * @param nearLatitude  optional center; when set together with radiusKm only sites within the radius are ranked
+     */
+    public List<RankedSite> rank(Instant from, Instant to, Double nearLatitude, Double nearLongitude, Double radiusKm, int limit) {
+        long fromEpoch = from.getEpochSecond();
+        long toEpoch = to.getEpochSecond();
+        boolean near = nearLatitude != null && nearLongitude != null;
+        LaunchsiteCatalog.Snapshot sites = catalog.snapshot();
+
+        List<RankedSite> ranked = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            Integer site = sites.indexById().get(entry.id());
+            if (site == null) {
+                // deleted, or created elsewhere and not in this instance's catalog yet
+                continue;
+            }
+            double latitude = sites.latitudes()[site];
+            double longitude = sites.longitudes()[site];
+            Double distanceKm = near
+                    ? distanceKm(nearLatitude, nearLongitude, latitude, longitude)
+                    : null;
+            if (near && radiusKm != null && distanceKm > radiusKm) {
+                continue;
+            }
+
+            float[] scores = entry.scores();
+            int first = (int) Math.max(0, Math.floorDiv(fromEpoch - entry.firstHour(), 3600L));
+            int last = (int) Math.min(scores.length, ceilDiv(toEpoch - entry.firstHour(), 3600L));
+            if (first >= last) {
+                continue;
+            }
+
+            double sum = 0;
+            float max = -1f;
+            int bestHour = first;
+            for (int h = first; h < last; h++) {
+                float score = scores[h];
+                sum += score;
+                if (score > max) {
+                    max = score;
+                    bestHour = h;
+                }
+            }
+
+            ranked.add(new RankedSite(
+                    entry.id(),
+                    sites.sites().get(site).name(),
+                    latitude,
+                    longitude,
+                    distanceKm,
+                    (float) (sum / (last - first)),
+                    max,
+                    Instant.ofEpochSecond(entry.firstHour() + bestHour * 3600L)
+            ));
+        }
+
+        ranked.sort(Comparator.comparingDouble(RankedSite::meanScore).reversed()
+                .thenComparing(RankedSite::maxScore, Comparator.reverseOrder()));
+        return ranked.size() > limit ? List.copyOf(ranked.subList(0, limit)) : ranked;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * @param firstHour epoch second of {@code scores[0]}
+     */
+    public record Entry(UUID id, long firstHour, float[] scores) {}
+}
@@ -0,0 +1,9 @@
+package com.flightready.flyability;
+
+import java.util.UUID;
+
+public class FlyabilityNotFoundException extends RuntimeException {
+    public FlyabilityNotFoundException(UUID launchsiteId) {
+        super("No flyability computed yet for launchsite: " + launchsiteId);
+    }
+}
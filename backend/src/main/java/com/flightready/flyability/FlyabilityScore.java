@@ -0,0 +1,22 @@
+package com.flightready.flyability;
+
+import com.flightready.flyability.FlyabilityScorer.FlyabilityWindow;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Precomputed flyability of one launchsite for the hours of its latest stored forecast.
+ *
+ * @param scores one score per hour, starting at {@code firstHour}, hourly steps (resampled from the forecast's
+ *               time steps, see {@link FlyabilityScorer#hourly})
+ */
+public record FlyabilityScore(
+        UUID launchsiteId,
+        UUID weatherId,
+        Instant firstHour,
+        float[] scores,
+        List<FlyabilityWindow> windows,
+        Instant computedAt
+) {}
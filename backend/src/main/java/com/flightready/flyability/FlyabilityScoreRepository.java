@@ -0,0 +1,127 @@
+package com.flightready.flyability;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.flyability.FlyabilityScorer.FlyabilityWindow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps exactly one {@link FlyabilityScore} row per launchsite (the latest forecast), so reads are a primary-key lookup.
+ */
+@Repository
+public class FlyabilityScoreRepository {
+
+    private static final TypeReference<List<FlyabilityWindow>> WINDOWS = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<FlyabilityScore> rowMapper = this::mapRow;
+
+    public FlyabilityScoreRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void upsert(FlyabilityScore score) {
+        Float[] boxed = new Float[score.scores().length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = score.scores()[i];
+        }
+        jdbcTemplate.update(connection -> {
+            var ps = connection.prepareStatement("""
+                    INSERT INTO flyability_score (launchsite_id, weather_id, first_hour, scores, windows, computed_at)
+                    VALUES (?, ?, ?, ?, ?::jsonb, ?)
+                    ON CONFLICT (launchsite_id) DO UPDATE SET
+                        weather_id = EXCLUDED.weather_id,
+                        first_hour = EXCLUDED.first_hour,
+                        scores = EXCLUDED.scores,
+                        windows = EXCLUDED.windows,
+                        computed_at = EXCLUDED.computed_at
+                    """);
+            ps.setObject(1, score.launchsiteId());
+            ps.setObject(2, score.weatherId());
+            ps.setTimestamp(3, Timestamp.from(score.firstHour()));
+            ps.setArray(4, connection.createArrayOf("float4", boxed));
+            ps.setString(5, toJson(score.windows()));
+            ps.setTimestamp(6, Timestamp.from(score.computedAt()));
+            return ps;
+        });
+    }
+
+    public Optional<FlyabilityScore> findByLaunchsiteId(UUID launchsiteId) {
+        return jdbcTemplate.query(
+                "SELECT * FROM flyability_score WHERE launchsite_id = ?", rowMapper, launchsiteId
+        ).stream().findFirst();
+    }
+
+    /**
+     * All scores, for warming {@link FlyabilityIndex}.
+     */
+    public List<FlyabilityIndex.Entry> findAllIndexEntries() {
+        return jdbcTemplate.query("SELECT launchsite_id, first_hour, scores FROM flyability_score", this::mapIndexEntry);
+    }
+
+    public Optional<FlyabilityIndex.Entry> findIndexEntry(UUID launchsiteId) {
+        return jdbcTemplate.query(
+                "SELECT launchsite_id, first_hour, scores FROM flyability_score WHERE launchsite_id = ?",
+                this::mapIndexEntry, launchsiteId
+        ).stream().findFirst();
+    }
+
+    private FlyabilityIndex.Entry mapIndexEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new FlyabilityIndex.Entry(
+                rs.getObject("launchsite_id", UUID.class),
+                rs.getTimestamp("first_hour").toInstant().getEpochSecond(),
+                readScores(rs)
+        );
+    }
+
+    private FlyabilityScore mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new FlyabilityScore(
+                rs.getObject("launchsite_id", UUID.class),
+                rs.getObject("weather_id", UUID.class),
+                rs.getTimestamp("first_hour").toInstant(),
+                readScores(rs),
+                fromJson(rs.getString("windows")),
+                rs.getTimestamp("computed_at").toInstant()
+        );
+    }
+
+    private static float[] readScores(ResultSet rs) throws SQLException {
+        Array array = rs.getArray("scores");
+        Float[] boxed = (Float[]) array.getArray();
+        float[] scores = new float[boxed.length];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = boxed[i] == null ? 0f : boxed[i];
+        }
+        array.free();
+        return scores;
+    }
+
+    private String toJson(List<FlyabilityWindow> windows) {
+        try {
+            return objectMapper.writeValueAsString(windows);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize flyability windows", ex);
+        }
+    }
+
+    private List<FlyabilityWindow> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, WINDOWS);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read flyability windows", ex);
+        }
+    }
+}
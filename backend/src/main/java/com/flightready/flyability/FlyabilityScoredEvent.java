@@ -0,0 +1,8 @@
+package com.flightready.flyability;
+
+import com.flightready.launchsite.Launchsite;
+
+/**
+ * Published inside the ingest transaction after a launchsite's flyability was recomputed.
+ */
+public record FlyabilityScoredEvent(Launchsite launchsite, FlyabilityScore score) {}
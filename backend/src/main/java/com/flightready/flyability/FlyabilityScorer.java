@@ -0,0 +1,223 @@
+package com.flightready.flyability;
+
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scores every forecast hour of a launchsite between 0 (not flyable) and 1 (flyable in every model).
+ *
+ * Per model and hour the score is {@code sectorFactor * dryFactor}:
+ * <ul>
+ *     <li>sectorFactor is 1 when the wind direction lies inside the site's [directionStart, directionEnd] sector
+ *     (clockwise, wrapping through north), falling linearly to 0 within {@code sector-tolerance-deg} outside it</li>
+ *     <li>dryFactor is 1 up to {@code dry-precipitation-mm} and falls linearly to 0 at {@code max-precipitation-mm}</li>
+ * </ul>
+ * The hourly score is the mean over the models that have data for that hour, weighted by measured model skill when
+ * there is any. Hours without any data score 0.
+ *
+ * Forecasts are scored per time step; {@link #hourly} then resamples the steps to whole hours, so stored scores,
+ * windows, rankings and tiles can rely on an hourly axis whatever the provider's resolution.
+ */
+@Component
+public class FlyabilityScorer {
+
+    private static final long HOUR = 3600;
+
+    /**
+     * A step holds until the next one, but not longer than this; beyond, the series has a gap. Six hours is the
+     * coarsest step of the models we take.
+     */
+    private static final long MAX_STEP_SECONDS = 6 * HOUR;
+
+    private final double sectorToleranceDeg;
+    private final double dryPrecipitationMm;
+    private final double maxPrecipitationMm;
+    private final double windowThreshold;
+    private final int minWindowHours;
+    private final int maxWindows;
+
+    public FlyabilityScorer(
+            @Value("${flyability.sector-tolerance-deg:15}") double sectorToleranceDeg,
+            @Value("${flyability.dry-precipitation-mm:0.1}") double dryPrecipitationMm,
+            @Value("${flyability.max-precipitation-mm:1.0}") double maxPrecipitationMm,
+            @Value("${flyability.window-threshold:0.6}") double windowThreshold,
+            @Value("${flyability.min-window-hours:2}") int minWindowHours,
+            @Value("${flyability.max-windows:5}") int maxWindows
+    ) {
+        if (maxPrecipitationMm <= dryPrecipitationMm) {
+            throw new IllegalArgumentException("flyability.max-precipitation-mm must be greater than dry-precipitation-mm");
+        }
+        this.sectorToleranceDeg = sectorToleranceDeg;
+        this.dryPrecipitationMm = dryPrecipitationMm;
+        this.maxPrecipitationMm = maxPrecipitationMm;
+        this.windowThreshold = windowThreshold;
+        this.minWindowHours = minWindowHours;
+        this.maxWindows = maxWindows;
+    }
+
+    public float[] scoreHours(double directionStart, double directionEnd, ColumnarForecast forecast) {
+        return scoreHours(directionStart, directionEnd, forecast, null);
+    }
+
+    /**
+     * One pass per model over the primitive hour arrays, accumulating into per-hour sums. Returns one score per
+     * time step of the forecast, whatever its spacing.
+     *
+     * @param modelWeights relative weight per model of the forecast; null for equal weights
+     */
+    public float[] scoreHours(double directionStart, double directionEnd, ColumnarForecast forecast,
+                              double[] modelWeights) {
+        int hours = forecast.hours();
+        double[] sum = new double[hours];
+        double[] weight = new double[hours];
+
+        double start = normalize(directionStart);
+        double width = sectorWidth(start, normalize(directionEnd));
+
+        int[][] winddirection = forecast.winddirection();
+        double[][] precipitation = forecast.precipitation();
+        int models = Math.min(winddirection.length, forecast.modelCount());
+
+        for (int m = 0; m < models; m++) {
+            double modelWeight = modelWeights == null || m >= modelWeights.length ? 1.0 : modelWeights[m];
+            int[] direction = winddirection[m];
+            double[] precip = m < precipitation.length ? precipitation[m] : null;
+            int n = Math.min(hours, direction.length);
+            for (int h = 0; h < n; h++) {
+                int dir = direction[h];
+                if (dir == ColumnarForecast.MISSING_INT) {
+                    continue;
+                }
+                double p = precip == null || h >= precip.length ? Double.NaN : precip[h];
+                sum[h] += modelWeight * sectorFactor(dir, start, width) * dryFactor(p);
+                weight[h] += modelWeight;
+            }
+        }
+
+        float[] scores = new float[hours];
+        for (int h = 0; h < hours; h++) {
+            scores[h] = weight[h] == 0 ? 0f : (float) (sum[h] / weight[h]);
+        }
+        return scores;
+    }
+
+    /**
+     * Spreads per-step scores over whole hours, starting with the hour of the first step. Every hour takes the score
+     * of the step valid at its start: a step holds until the next step, at most {@link #MAX_STEP_SECONDS}, and the
+     * last step for the finest spacing of the series. Hours in gaps of the series score 0, like hours without data.
+     *
+     * @param time       valid time of each step, epoch seconds, ascending
+     * @param stepScores score per step, as from {@link #scoreHours}
+     */
+    public HourlyScores hourly(long[] time, float[] stepScores) {
+        int steps = Math.min(time.length, stepScores.length);
+        if (steps == 0) {
+            return new HourlyScores(0, new float[0]);
+        }
+        long firstHour = Math.floorDiv(time[0], HOUR) * HOUR;
+        // the last step holds for the finest spacing of the series
+        long lastStep = steps == 1 ? HOUR : MAX_STEP_SECONDS;
+        for (int i = 1; i < steps; i++) {
+            if (time[i] > time[i - 1]) {
+                lastStep = Math.min(lastStep, time[i] - time[i - 1]);
+            }
+        }
+        float[] hourly = new float[(int) ceilDiv(time[steps - 1] + lastStep - firstHour, HOUR)];
+        for (int i = 0; i < steps; i++) {
+            long end = time[i] + (i + 1 < steps ? Math.min(time[i + 1] - time[i], MAX_STEP_SECONDS) : lastStep);
+            int from = (int) ceilDiv(time[i] - firstHour, HOUR);
+            int to = (int) Math.min(hourly.length, ceilDiv(end - firstHour, HOUR));
+            for (int h = from; h < to; h++) {
+                hourly[h] = stepScores[i];
+            }
+        }
+        return new HourlyScores(firstHour, hourly);
+    }
+
+    /**
+     * Contiguous runs of at least {@code min-window-hours} hours scoring at least {@code window-threshold},
+     * best first (by summed score).
+     */
+    public List<FlyabilityWindow> bestWindows(long firstHourEpochSecond, float[] scores) {
+        List<FlyabilityWindow> windows = new ArrayList<>();
+        int h = 0;
+        while (h < scores.length) {
+            if (scores[h] < windowThreshold) {
+                h++;
+                continue;
+            }
+            int start = h;
+            double sum = 0;
+            while (h < scores.length && scores[h] >= windowThreshold) {
+                sum += scores[h++];
+            }
+            int length = h - start;
+            if (length >= minWindowHours) {
+                windows.add(new FlyabilityWindow(
+                        Instant.ofEpochSecond(firstHourEpochSecond + start * HOUR),
+                        Instant.ofEpochSecond(firstHourEpochSecond + h * HOUR),
+                        length,
+                        (float) (sum / length)
+                ));
+            }
+        }
+
+        return windows.stream()
+                .sorted(Comparator.comparingDouble((FlyabilityWindow w) -> w.hours() * w.meanScore()).reversed())
+                .limit(maxWindows)
+                .toList();
+    }
+
+    private double sectorFactor(int direction, double start, double width) {
+        double offset = normalize(direction - start);
+        if (offset <= width) {
+            return 1.0;
+        }
+        double outside = Math.min(offset - width, 360.0 - offset);
+        if (outside >= sectorToleranceDeg) {
+            return 0.0;
+        }
+        return 1.0 - outside / sectorToleranceDeg;
+    }
+
+    private double dryFactor(double precipitation) {
+        if (Double.isNaN(precipitation) || precipitation <= dryPrecipitationMm) {
+            return 1.0;
+        }
+        if (precipitation >= maxPrecipitationMm) {
+            return 0.0;
+        }
+        return 1.0 - (precipitation - dryPrecipitationMm) / (maxPrecipitationMm - dryPrecipitationMm);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static double sectorWidth(double start, double end) {
+        return normalize(end - start);
+    }
+
+    private static double normalize(double degrees) {
+        double value = degrees % 360.0;
+        return value < 0 ? value + 360.0 : value;
+    }
+
+    /**
+     * @param start first hour of the window (inclusive)
+     * @param end   hour after the last hour of the window (exclusive)
+     */
+    public record FlyabilityWindow(Instant start, Instant end, int hours, float meanScore) {}
+
+    /**
+     * @param firstHour epoch second of {@code scores[0]}, a whole hour
+     * @param scores    one score per hour
+     */
+    public record HourlyScores(long firstHour, float[] scores) {}
+}
@@ -0,0 +1,129 @@
+package com.flightready.flyability;
+
+import com.flightready.flyability.FlyabilityScorer.FlyabilityWindow;
+import com.flightready.flyability.FlyabilityScorer.HourlyScores;
+import com.flightready.flyability.dto.FlyabilityResponse;
+import com.flightready.flyability.dto.RankingResponse;
+import com.flightready.launchsite.Launchsite;
+import com.flightready.launchsite.error.BadRequestException;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.service.ForecastStoredEvent;
+import com.flightready.weather.verification.ModelSkillService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class FlyabilityService {
+
+    private static final int MAX_RANKING_LIMIT = 1000;
+
+    private final FlyabilityScorer scorer;
+    private final FlyabilityScoreRepository repository;
+    private final FlyabilityIndex index;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ModelSkillService modelSkillService;
+    private final boolean skillWeighting;
+
+    public FlyabilityService(
+            FlyabilityScorer scorer,
+            FlyabilityScoreRepository repository,
+            FlyabilityIndex index,
+            ApplicationEventPublisher eventPublisher,
+            ModelSkillService modelSkillService,
+            @Value("${flyability.skill-weighting:true}") boolean skillWeighting
+    ) {
+        this.scorer = scorer;
+        this.repository = repository;
+        this.index = index;
+        this.eventPublisher = eventPublisher;
+        this.modelSkillService = modelSkillService;
+        this.skillWeighting = skillWeighting;
+    }
+
+    /**
+     * Scores a freshly stored forecast inside the ingest transaction, so reads never compute anything.
+     */
+    @EventListener
+    public void onForecastStored(ForecastStoredEvent event) {
+        ColumnarForecast forecast = event.forecast();
+        if (forecast.hours() == 0) {
+            return;
+        }
+        FlyabilityScore score = score(event.launchsite(), event.weatherId(), forecast, event.storedAt());
+        repository.upsert(score);
+        eventPublisher.publishEvent(new FlyabilityScoredEvent(event.launchsite(), score));
+    }
+
+    public FlyabilityScore score(Launchsite site, UUID weatherId, ColumnarForecast forecast, Instant computedAt) {
+        double[] modelWeights = skillWeighting ? modelSkillService.weights(site.getId(), forecast.models()) : null;
+        float[] stepScores = scorer.scoreHours(site.getDirectionStart(), site.getDirectionEnd(), forecast,
+                modelWeights);
+        // providers are not necessarily hourly; everything downstream indexes the scores by hour
+        HourlyScores hourly = scorer.hourly(forecast.time(), stepScores);
+        List<FlyabilityWindow> windows = scorer.bestWindows(hourly.firstHour(), hourly.scores());
+        return new FlyabilityScore(site.getId(), weatherId, Instant.ofEpochSecond(hourly.firstHour()),
+                hourly.scores(), windows, computedAt);
+    }
+
+    public FlyabilityResponse findByLaunchsite(UUID launchsiteId) {
+        return repository.findByLaunchsiteId(launchsiteId)
+                .map(FlyabilityService::toResponse)
+                .orElseThrow(() -> new FlyabilityNotFoundException(launchsiteId));
+    }
+
+    /**
+     * Ranks all sites from the in-memory index. Defaults to the next 6 hours starting with the current hour.
+     *
+     * @param near optional "lat,lon"
+     */
+    public RankingResponse rank(Instant from, Instant to, String near, Double radiusKm, int limit) {
+        Instant start = from != null ? from : Instant.now().truncatedTo(ChronoUnit.HOURS);
+        Instant end = to != null ? to : start.plus(Duration.ofHours(6));
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("'to' must be after 'from'");
+        }
+        if (limit < 1 || limit > MAX_RANKING_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_RANKING_LIMIT);
+        }
+        if (radiusKm != null && near == null) {
+            throw new BadRequestException("radiusKm requires near");
+        }
+
+        Double latitude = null;
+        Double longitude = null;
+        if (near != null) {
+            String[] parts = near.split(",");
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException();
+                }
+                latitude = Double.parseDouble(parts[0].trim());
+                longitude = Double.parseDouble(parts[1].trim());
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("near must be 'lat,lon': " + near);
+            }
+        }
+
+        return new RankingResponse(start, end, index.rank(start, end, latitude, longitude, radiusKm, limit));
+    }
+
+    private static FlyabilityResponse toResponse(FlyabilityScore score) {
+        return new FlyabilityResponse(
+                score.launchsiteId(),
+                score.weatherId(),
+                score.computedAt(),
+                score.firstHour(),
+                3600,
+                score.scores(),
+                score.windows()
+        );
+    }
+}
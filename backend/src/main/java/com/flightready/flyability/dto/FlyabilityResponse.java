@@ -0,0 +1,17 @@
+package com.flightready.flyability.dto;
+
+import com.flightready.flyability.FlyabilityScorer.FlyabilityWindow;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record FlyabilityResponse(
+        UUID launchsiteId,
+        UUID weatherId,
+        Instant computedAt,
+        Instant firstHour,
+        int stepSeconds,
+        float[] scores,
+        List<FlyabilityWindow> bestWindows
+) {}
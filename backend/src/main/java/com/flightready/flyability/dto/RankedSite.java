@@ -0,0 +1,15 @@
+package com.flightready.flyability.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record RankedSite(
+        UUID id,
+        String name,
+        double latitude,
+        double longitude,
+        Double distanceKm,
+        float meanScore,
+        float maxScore,
+        Instant bestHour
+) {}
@@ -0,0 +1,10 @@
+package com.flightready.flyability.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record RankingResponse(
+        Instant from,
+        Instant to,
+        List<RankedSite> sites
+) {}
@@ -5,6 +5,7 @@ import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import org.locationtech.jts.geom.Point;
+import org.springframework.data.domain.Persistable;
 
 import java.util.UUID;
 
@@ -12,8 +13,7 @@ import java.util.UUID;
 @Table(name = "launchsite")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)   // required by JPA
-@AllArgsConstructor
-public class Launchsite {
+public class Launchsite implements Persistable<UUID> {
 
     @Id
     @Column(nullable = false, updatable = false)
@@ -37,6 +37,33 @@ public class Launchsite {
 
     private String info;
 
+    /** Ids are assigned by the application; lets save() persist instead of merge (which would SELECT first). */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    public Launchsite(UUID id, String name, Point location, double directionStart, double directionEnd, int asl,
+                      String info) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.directionStart = directionStart;
+        this.directionEnd = directionEnd;
+        this.asl = asl;
+        this.info = info;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public void updateDetails(
             String name,
             Point location,
@@ -0,0 +1,231 @@
+package com.flightready.launchsite;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.cluster.ClusterNotificationHandler;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable in-memory copy of all launchsites, replaced as a whole (copy-on-write) whenever the table changes.
+ * Reads never touch the database, except to see this instance's own writes.
+ *
+ * The copy is invalidated by {@link LaunchsiteChangedEvent}s of this instance and by {@code launchsite_changed}
+ * notifications of every instance (sent by the launchsite trigger, see V11). Invalidations are coalesced into one
+ * reload in the background, and readers keep getting the previous copy until it is done. Only a reader that would
+ * miss a write committed by this instance reloads the copy itself, so an instance always sees its own writes.
+ */
+@Component
+public class LaunchsiteCatalog implements ClusterNotificationHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(LaunchsiteCatalog.class);
+
+    static final String CHANNEL = "launchsite_changed";
+
+    private static final long RETRY_DELAY_SECONDS = 5;
+
+    private static final String SELECT_SQL = """
+            SELECT id, name, ST_Y(location::geometry) AS latitude, ST_X(location::geometry) AS longitude,
+                   direction_start, direction_end, asl, info
+            FROM launchsite
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "launchsite-catalog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    private final AtomicLong versions = new AtomicLong();
+
+    /** counts invalidations; a snapshot covers every invalidation up to its {@link #loadedInvalidation} */
+    private final AtomicLong invalidations = new AtomicLong();
+    /** the last invalidation caused by a write of this instance; readers must not get a copy older than that */
+    private final AtomicLong requiredInvalidation = new AtomicLong();
+
+    private volatile long loadedInvalidation = -1;
+    private volatile Snapshot snapshot;
+
+    public LaunchsiteCatalog(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PreDestroy
+    public void close() {
+        reloader.shutdownNow();
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        long required = requiredInvalidation.get();
+        if (current == null || loadedInvalidation < required) {
+            return reload(required);
+        }
+        return current;
+    }
+
+    /**
+     * Schedules a reload; cheap enough to call once per changed row. Readers keep the current copy meanwhile.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        scheduleReload(0);
+    }
+
+    /**
+     * Committed writes of this instance: readers from now on get a copy that includes them.
+     */
+    @TransactionalEventListener
+    public void onLaunchsiteChanged(LaunchsiteChangedEvent event) {
+        requiredInvalidation.accumulateAndGet(invalidations.incrementAndGet(), Math::max);
+        scheduleReload(0);
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        invalidate();
+    }
+
+    @Override
+    public void onListening() {
+        invalidate();
+    }
+
+    private void scheduleReload(long delaySeconds) {
+        if (reloadScheduled.compareAndSet(false, true)) {
+            try {
+                reloader.schedule(this::reloadInBackground, delaySeconds, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException ex) {
+                // shutting down
+                reloadScheduled.set(false);
+            }
+        }
+    }
+
+    private void reloadInBackground() {
+        reloadScheduled.set(false);
+        try {
+            reload(invalidations.get());
+        } catch (RuntimeException ex) {
+            // readers keep the previous copy meanwhile
+            log.warn("Reloading the launchsite catalog failed, retrying in {} s: {}", RETRY_DELAY_SECONDS,
+                    ex.getMessage());
+            scheduleReload(RETRY_DELAY_SECONDS);
+        }
+    }
+
+    /**
+     * Loads a copy covering at least the given invalidation, unless the current one already does.
+     */
+    private synchronized Snapshot reload(long invalidation) {
+        if (snapshot != null && loadedInvalidation >= invalidation) {
+            return snapshot;
+        }
+        // read before loading: an invalidation during the load is not covered and triggers another one
+        long covered = invalidations.get();
+        Snapshot loaded = load();
+        snapshot = loaded;
+        loadedInvalidation = covered;
+        return loaded;
+    }
+
+    private Snapshot load() {
+        long start = System.nanoTime();
+        List<LaunchsiteResponse> sites = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new LaunchsiteResponse(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                rs.getDouble("direction_start"),
+                rs.getDouble("direction_end"),
+                rs.getInt("asl"),
+                rs.getString("info")
+        ));
+        Snapshot loaded = Snapshot.of(versions.incrementAndGet(), sites, serialize(sites));
+        log.debug("Loaded launchsite catalog v{}: {} sites in {} ms", loaded.version(), sites.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private byte[] serialize(List<LaunchsiteResponse> sites) {
+        try {
+            return objectMapper.writeValueAsBytes(sites);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the launchsite catalog", ex);
+        }
+    }
+
+    /**
+     * All launchsites ordered by id: coordinates as primitive arrays for scans, the API records, and the
+     * {@code GET /api/launchsites} body already serialized. Arrays are shared; do not modify them.
+     *
+     * @param version increases with every reload of this instance; not comparable across instances
+     * @param etag    strong entity tag of {@code json}, the same on every instance for the same content
+     */
+    public record Snapshot(
+            long version,
+            UUID[] ids,
+            double[] latitudes,
+            double[] longitudes,
+            List<LaunchsiteResponse> sites,
+            Map<UUID, Integer> indexById,
+            byte[] json,
+            String etag
+    ) {
+
+        static Snapshot of(long version, List<LaunchsiteResponse> sites, byte[] json) {
+            int size = sites.size();
+            UUID[] ids = new UUID[size];
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            Map<UUID, Integer> indexById = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                LaunchsiteResponse site = sites.get(i);
+                ids[i] = site.id();
+                latitudes[i] = site.latitude();
+                longitudes[i] = site.longitude();
+                indexById.put(site.id(), i);
+            }
+            return new Snapshot(version, ids, latitudes, longitudes,
+                    Collections.unmodifiableList(new ArrayList<>(sites)), Collections.unmodifiableMap(indexById), json,
+                    "\"catalog-" + Integer.toHexString(Arrays.hashCode(json)) + "-" + json.length + "\"");
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public LaunchsiteResponse find(UUID id) {
+            Integer index = indexById.get(id);
+            return index == null ? null : sites.get(index);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.flightready.launchsite;
+
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link LaunchsiteService} inside the transaction that created, updated or deleted a launchsite.
+ *
+ * @param site the new state, or null if the launchsite was deleted
+ */
+public record LaunchsiteChangedEvent(UUID id, LaunchsiteResponse site) {
+
+    public boolean deleted() {
+        return site == null;
+    }
+}
@@ -1,26 +1,96 @@
 package com.flightready.launchsite;
 
+import com.flightready.launchsite.dto.LaunchsiteImportResponse;
+import com.flightready.launchsite.dto.LaunchsitePage;
 import com.flightready.launchsite.dto.LaunchsiteRequest;
 import com.flightready.launchsite.dto.LaunchsiteResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.InputStream;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/launchsites")
 public class LaunchsiteController {
     private final LaunchsiteService service;
+    private final LaunchsiteImportService importService;
+    private final LaunchsiteCatalog catalog;
 
-    public LaunchsiteController(LaunchsiteService service) {
+    public LaunchsiteController(
+            LaunchsiteService service,
+            LaunchsiteImportService importService,
+            LaunchsiteCatalog catalog
+    ) {
         this.service = service;
+        this.importService = importService;
+        this.catalog = catalog;
     }
 
-    @GetMapping
-    public List<LaunchsiteResponse> list() {
-        return service.findAll();
+    /**
+     * All launchsites, as a JSON array of {@link LaunchsiteResponse}. The body is serialized once per catalog change
+     * and written as is; If-None-Match is answered with 304.
+     * GET /api/launchsites
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> list(WebRequest request) {
+        LaunchsiteCatalog.Snapshot snapshot = catalog.snapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.json());
+    }
+
+    /**
+     * Keyset-paginated list ordered by id.
+     * GET /api/launchsites/page?after=&limit=
+     */
+    @GetMapping("/page")
+    public LaunchsitePage page(
+            @RequestParam(name = "after", required = false) UUID after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        return service.findPage(after, limit);
+    }
+
+    /**
+     * Sites within radiusKm of a point (ST_DWithin on the GiST index), keyset-paginated by id.
+     * GET /api/launchsites/near?lat=&lon=&radiusKm=&after=&limit=
+     */
+    @GetMapping("/near")
+    public LaunchsitePage near(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam("radiusKm") double radiusKm,
+            @RequestParam(name = "after", required = false) UUID after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        return service.findNear(latitude, longitude, radiusKm, after, limit);
+    }
+
+    /**
+     * Sites inside a bounding box (e.g. the map viewport), keyset-paginated by id.
+     * A box crossing the antimeridian is given with minLon greater than maxLon.
+     * GET /api/launchsites/within?minLat=&minLon=&maxLat=&maxLon=&after=&limit=
+     */
+    @GetMapping("/within")
+    public LaunchsitePage within(
+            @RequestParam("minLat") double minLatitude,
+            @RequestParam("minLon") double minLongitude,
+            @RequestParam("maxLat") double maxLatitude,
+            @RequestParam("maxLon") double maxLongitude,
+            @RequestParam(name = "after", required = false) UUID after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        return service.findWithin(minLatitude, minLongitude, maxLatitude, maxLongitude, after, limit);
     }
 
     @PostMapping
@@ -29,6 +99,26 @@ public class LaunchsiteController {
         return service.create(request);
     }
 
+    /**
+     * Bulk import, all-or-nothing.
+     * POST /api/launchsites/import with a CSV body (header row: name,latitude,longitude,asl,directionStart,directionEnd,info)
+     */
+    @PostMapping(path = "/import", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.CREATED)
+    public LaunchsiteImportResponse importCsv(InputStream body) {
+        return importService.importCsv(body);
+    }
+
+    /**
+     * Bulk import, all-or-nothing.
+     * POST /api/launchsites/import with a GeoJSON FeatureCollection of Points
+     */
+    @PostMapping(path = "/import", consumes = {"application/geo+json", MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public LaunchsiteImportResponse importGeoJson(InputStream body) {
+        return importService.importGeoJson(body);
+    }
+
     @PutMapping("/{id}")
     public LaunchsiteResponse update(@PathVariable("id") UUID id, @Valid @RequestBody LaunchsiteRequest request) {
         return service.update(id, request);
@@ -0,0 +1,25 @@
+package com.flightready.launchsite;
+
+import java.util.List;
+
+/**
+ * A bulk import was rejected; nothing was imported.
+ */
+public class LaunchsiteImportException extends RuntimeException {
+
+    /**
+     * @param row 1-based data row (CSV line after the header, or GeoJSON feature index + 1)
+     */
+    public record RowError(int row, String field, String message) {}
+
+    private final List<RowError> errors;
+
+    public LaunchsiteImportException(String message, List<RowError> errors) {
+        super(message);
+        this.errors = errors;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+}
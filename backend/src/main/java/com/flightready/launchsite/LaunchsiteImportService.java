@@ -0,0 +1,323 @@
+package com.flightready.launchsite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.launchsite.LaunchsiteImportException.RowError;
+import com.flightready.launchsite.dto.LaunchsiteImportResponse;
+import com.flightready.launchsite.dto.LaunchsiteRequest;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk import of launchsites from CSV or GeoJSON. Rows are validated like single creates (all-or-nothing) and
+ * inserted through JDBC batches, which the driver rewrites into multi-row INSERTs: thousands of sites take a
+ * handful of statements instead of a SELECT + INSERT per entity.
+ */
+@Service
+public class LaunchsiteImportService {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO launchsite (id, name, location, direction_start, direction_end, asl, info)
+            VALUES (?, ?, ST_GeogFromText(?), ?, ?, ?, ?)
+            """;
+
+    /** accepted CSV header names (lower case, without '_' / '-') per field */
+    private static final Map<String, String> CSV_COLUMNS = Map.ofEntries(
+            Map.entry("name", "name"),
+            Map.entry("latitude", "latitude"),
+            Map.entry("lat", "latitude"),
+            Map.entry("longitude", "longitude"),
+            Map.entry("lon", "longitude"),
+            Map.entry("lng", "longitude"),
+            Map.entry("asl", "asl"),
+            Map.entry("directionstart", "directionStart"),
+            Map.entry("directionend", "directionEnd"),
+            Map.entry("info", "info")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxRows;
+
+    public LaunchsiteImportService(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${launchsite.import.max-rows:50000}") int maxRows
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * CSV with a header row; columns name, latitude, longitude, asl, directionStart, directionEnd, info
+     * (any order, case-insensitive, lat/lon/lng and snake_case accepted).
+     */
+    @Transactional
+    public LaunchsiteImportResponse importCsv(InputStream csv) {
+        List<RowError> errors = new ArrayList<>();
+        List<ImportRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<String> header = readCsvRecord(reader);
+            if (header == null) {
+                throw new LaunchsiteImportException("CSV is empty", List.of());
+            }
+            String[] fields = new String[header.size()];
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "");
+                fields[i] = CSV_COLUMNS.get(column.startsWith("\uFEFF") ? column.substring(1) : column);
+            }
+
+            List<String> record;
+            int row = 0;
+            while ((record = readCsvRecord(reader)) != null) {
+                // counted before skipping blank lines so errors point at the record in the file
+                row++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                checkRowLimit(rows.size() + 1);
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < Math.min(fields.length, record.size()); i++) {
+                    if (fields[i] != null) {
+                        values.put(fields[i], record.get(i).trim());
+                    }
+                }
+                rows.add(new ImportRow(row, new LaunchsiteRequest(
+                        emptyToNull(values.get("name")),
+                        parseDouble(values.get("latitude"), row, "latitude", errors),
+                        parseInteger(values.get("asl"), row, "asl", errors),
+                        parseDouble(values.get("longitude"), row, "longitude", errors),
+                        parseDouble(values.get("directionStart"), row, "directionStart", errors),
+                        parseDouble(values.get("directionEnd"), row, "directionEnd", errors),
+                        emptyToNull(values.get("info"))
+                )));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read CSV", ex);
+        }
+        return importAll(rows, errors);
+    }
+
+    /**
+     * GeoJSON FeatureCollection of Points ([lon, lat] or [lon, lat, elevation]); properties name, asl
+     * (defaults to the elevation), directionStart, directionEnd, info.
+     */
+    @Transactional
+    public LaunchsiteImportResponse importGeoJson(InputStream geoJson) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(geoJson);
+        } catch (IOException ex) {
+            throw new LaunchsiteImportException("Invalid GeoJSON: " + ex.getMessage(), List.of());
+        }
+        if (root == null || !"FeatureCollection".equals(root.path("type").asText())) {
+            throw new LaunchsiteImportException("GeoJSON must be a FeatureCollection", List.of());
+        }
+
+        List<RowError> errors = new ArrayList<>();
+        List<ImportRow> rows = new ArrayList<>();
+        int row = 0;
+        for (JsonNode feature : root.path("features")) {
+            row++;
+            checkRowLimit(row);
+            JsonNode geometry = feature.path("geometry");
+            JsonNode coordinates = geometry.path("coordinates");
+            if (!"Point".equals(geometry.path("type").asText()) || coordinates.size() < 2) {
+                errors.add(new RowError(row, "geometry", "must be a Point"));
+                continue;
+            }
+            JsonNode properties = feature.path("properties");
+            Double elevation = coordinates.size() > 2 ? parseNumber(coordinates.get(2), row, "asl", errors) : null;
+            Integer asl = properties.hasNonNull("asl") ? parseInteger(properties.get("asl"), row, "asl", errors)
+                    : elevation != null ? Integer.valueOf((int) Math.round(elevation))
+                    : null;
+            rows.add(new ImportRow(row, new LaunchsiteRequest(
+                    properties.hasNonNull("name") ? properties.get("name").asText() : null,
+                    parseNumber(coordinates.get(1), row, "latitude", errors),
+                    asl,
+                    parseNumber(coordinates.get(0), row, "longitude", errors),
+                    parseNumber(properties.get("directionStart"), row, "directionStart", errors),
+                    parseNumber(properties.get("directionEnd"), row, "directionEnd", errors),
+                    properties.hasNonNull("info") ? properties.get("info").asText() : null
+            )));
+        }
+        return importAll(rows, errors);
+    }
+
+    private LaunchsiteImportResponse importAll(List<ImportRow> rows, List<RowError> errors) {
+        for (ImportRow row : rows) {
+            LaunchsiteRequest request = row.request();
+            for (ConstraintViolation<LaunchsiteRequest> violation : validator.validate(request)) {
+                errors.add(new RowError(row.row(), violation.getPropertyPath().toString(), violation.getMessage()));
+            }
+            if (request.latitude() != null && Math.abs(request.latitude()) > 90) {
+                errors.add(new RowError(row.row(), "latitude", "must be between -90 and 90"));
+            }
+            if (request.longitude() != null && Math.abs(request.longitude()) > 180) {
+                errors.add(new RowError(row.row(), "longitude", "must be between -180 and 180"));
+            }
+        }
+        if (!errors.isEmpty()) {
+            errors.sort((a, b) -> Integer.compare(a.row(), b.row()));
+            throw new LaunchsiteImportException("Import rejected, " + errors.size() + " invalid value(s)", errors);
+        }
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ids.add(UUID.randomUUID());
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, indices(rows.size()), INSERT_BATCH_SIZE, (ps, i) -> {
+            LaunchsiteRequest request = rows.get(i).request();
+            ps.setObject(1, ids.get(i));
+            ps.setString(2, request.name());
+            ps.setString(3, "SRID=4326;POINT(" + request.longitude() + " " + request.latitude() + ")");
+            ps.setDouble(4, request.directionStart());
+            ps.setDouble(5, request.directionEnd());
+            ps.setInt(6, request.asl());
+            ps.setString(7, request.info());
+        });
+
+        for (int i = 0; i < rows.size(); i++) {
+            LaunchsiteRequest request = rows.get(i).request();
+            eventPublisher.publishEvent(new LaunchsiteChangedEvent(ids.get(i), new LaunchsiteResponse(
+                    ids.get(i), request.name(), request.latitude(), request.longitude(),
+                    request.directionStart(), request.directionEnd(), request.asl(), request.info())));
+        }
+        return new LaunchsiteImportResponse(rows.size());
+    }
+
+    /** a parsed request with its 1-based position in the source (data record or feature) */
+    private record ImportRow(int row, LaunchsiteRequest request) {}
+
+    private void checkRowLimit(int row) {
+        if (row > maxRows) {
+            throw new LaunchsiteImportException("Import exceeds " + maxRows + " rows", List.of());
+        }
+    }
+
+    private static List<Integer> indices(int size) {
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    /**
+     * Reads one RFC 4180 record (quoted fields may contain separators, quotes as "" and line breaks).
+     *
+     * @return null at end of input
+     */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static Double parseDouble(String value, int row, String field, List<RowError> errors) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return finite(Double.parseDouble(value), row, field, errors);
+        } catch (NumberFormatException ex) {
+            errors.add(new RowError(row, field, "not a number: " + value));
+            return null;
+        }
+    }
+
+    private static Integer parseInteger(String value, int row, String field, List<RowError> errors) {
+        Double number = parseDouble(value, row, field, errors);
+        return number == null ? null : (int) Math.round(number);
+    }
+
+    /** like {@link #parseDouble} for a JSON value; strings, booleans and other non-numbers are errors */
+    private static Double parseNumber(JsonNode value, int row, String field, List<RowError> errors) {
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            return null;
+        }
+        if (!value.isNumber()) {
+            errors.add(new RowError(row, field, "not a number: " + value));
+            return null;
+        }
+        return finite(value.doubleValue(), row, field, errors);
+    }
+
+    private static Integer parseInteger(JsonNode value, int row, String field, List<RowError> errors) {
+        Double number = parseNumber(value, row, field, errors);
+        return number == null ? null : (int) Math.round(number);
+    }
+
+    /** NaN and infinities parse as doubles but would pass the range checks and fail in PostGIS */
+    private static Double finite(double number, int row, String field, List<RowError> errors) {
+        if (!Double.isFinite(number)) {
+            errors.add(new RowError(row, field, "not a finite number: " + number));
+            return null;
+        }
+        return number;
+    }
+}
@@ -1,8 +1,74 @@
 package com.flightready.launchsite;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * All list queries are keyset-paginated on {@code id}: pass the last id of the previous page as {@code after}
+ * (the nil UUID for the first page).
+ */
 public interface LaunchsiteRepository extends JpaRepository<Launchsite, UUID> {
+
+    List<Launchsite> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    @Query(value = """
+            SELECT * FROM launchsite
+            WHERE ST_DWithin(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography, :radiusMeters)
+              AND id > :after
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Launchsite> findWithinRadius(
+            @Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("radiusMeters") double radiusMeters,
+            @Param("after") UUID after,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Planar lon/lat rectangle on {@code location::geometry} (index from V12). A geography envelope would have great
+     * circle edges and {@code &&} on geography only compares 3D boxes, so it returns sites outside the rectangle.
+     */
+    @Query(value = """
+            SELECT * FROM launchsite
+            WHERE location::geometry && ST_MakeEnvelope(:minLongitude, :minLatitude, :maxLongitude, :maxLatitude, 4326)
+              AND id > :after
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Launchsite> findWithinBoundingBox(
+            @Param("minLatitude") double minLatitude,
+            @Param("minLongitude") double minLongitude,
+            @Param("maxLatitude") double maxLatitude,
+            @Param("maxLongitude") double maxLongitude,
+            @Param("after") UUID after,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Bounding box crossing the antimeridian ({@code minLongitude > maxLongitude}), split into its western part up to
+     * 180 and its eastern part from -180.
+     */
+    @Query(value = """
+            SELECT * FROM launchsite
+            WHERE (location::geometry && ST_MakeEnvelope(:minLongitude, :minLatitude, 180, :maxLatitude, 4326)
+                   OR location::geometry && ST_MakeEnvelope(-180, :minLatitude, :maxLongitude, :maxLatitude, 4326))
+              AND id > :after
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Launchsite> findWithinAntimeridianBoundingBox(
+            @Param("minLatitude") double minLatitude,
+            @Param("minLongitude") double minLongitude,
+            @Param("maxLatitude") double maxLatitude,
+            @Param("maxLongitude") double maxLongitude,
+            @Param("after") UUID after,
+            @Param("limit") int limit
+    );
 }
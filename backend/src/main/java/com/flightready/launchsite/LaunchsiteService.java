@@ -1,36 +1,108 @@
 package com.flightready.launchsite;
 
+import com.flightready.launchsite.dto.LaunchsitePage;
 import com.flightready.launchsite.dto.LaunchsiteRequest;
 import com.flightready.launchsite.dto.LaunchsiteResponse;
+import com.flightready.launchsite.error.BadRequestException;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.IntFunction;
 
 @Service
 public class LaunchsiteService {
 
     private static final int SRID_WGS84 = 4326;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final UUID FIRST_PAGE = new UUID(0L, 0L);
     private static final GeometryFactory GEOMETRY_FACTORY =
             new GeometryFactory(new PrecisionModel(), SRID_WGS84);
 
     private final LaunchsiteRepository repository;
-
-    public LaunchsiteService(LaunchsiteRepository repository) {
+    private final LaunchsiteCatalog catalog;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LaunchsiteService(
+            LaunchsiteRepository repository,
+            LaunchsiteCatalog catalog,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.repository = repository;
+        this.catalog = catalog;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from the in-memory {@link LaunchsiteCatalog}.
+     */
     public List<LaunchsiteResponse> findAll() {
-        return repository.findAll()
-                .stream()
+        return catalog.snapshot().sites();
+    }
+
+    @Transactional(readOnly = true)
+    public LaunchsitePage findPage(UUID after, int limit) {
+        UUID cursor = cursor(after);
+        return page(limit, fetch -> repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(fetch)));
+    }
+
+    @Transactional(readOnly = true)
+    public LaunchsitePage findNear(double latitude, double longitude, double radiusKm, UUID after, int limit) {
+        checkCoordinates(latitude, longitude);
+        if (radiusKm <= 0) {
+            throw new BadRequestException("radiusKm must be positive: " + radiusKm);
+        }
+        UUID cursor = cursor(after);
+        return page(limit, fetch ->
+                repository.findWithinRadius(latitude, longitude, radiusKm * 1000.0, cursor, fetch));
+    }
+
+    @Transactional(readOnly = true)
+    public LaunchsitePage findWithin(
+            double minLatitude, double minLongitude,
+            double maxLatitude, double maxLongitude,
+            UUID after, int limit
+    ) {
+        checkCoordinates(minLatitude, minLongitude);
+        checkCoordinates(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new BadRequestException("minLat must not be greater than maxLat");
+        }
+        UUID cursor = cursor(after);
+        if (minLongitude > maxLongitude) {
+            return page(limit, fetch -> repository.findWithinAntimeridianBoundingBox(
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, cursor, fetch));
+        }
+        return page(limit, fetch -> repository.findWithinBoundingBox(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, cursor, fetch));
+    }
+
+    /**
+     * Fetches one row more than requested to know whether another page exists.
+     */
+    private LaunchsitePage page(int limit, IntFunction<List<Launchsite>> query) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Launchsite> rows = query.apply(limit + 1);
+        boolean more = rows.size() > limit;
+        List<LaunchsiteResponse> items = rows.stream()
+                .limit(limit)
                 .map(this::toResponse)
                 .toList();
+        UUID nextCursor = more ? items.get(items.size() - 1).id() : null;
+        return new LaunchsitePage(items, nextCursor);
+    }
+
+    private static UUID cursor(UUID after) {
+        return after == null ? FIRST_PAGE : after;
     }
 
     @Transactional
@@ -46,7 +118,9 @@ public class LaunchsiteService {
         );
 
         Launchsite saved = repository.save(launchsite);
-        return toResponse(saved);
+        LaunchsiteResponse response = toResponse(saved);
+        eventPublisher.publishEvent(new LaunchsiteChangedEvent(response.id(), response));
+        return response;
     }
 
     @Transactional
@@ -63,7 +137,9 @@ public class LaunchsiteService {
                 request.info()
         );
 
-        return toResponse(launchsite);
+        LaunchsiteResponse response = toResponse(launchsite);
+        eventPublisher.publishEvent(new LaunchsiteChangedEvent(id, response));
+        return response;
     }
 
     @Transactional
@@ -71,6 +147,7 @@ public class LaunchsiteService {
         Launchsite launchsite = repository.findById(id)
                 .orElseThrow(() -> new LaunchsiteNotFoundException(id));
         repository.delete(launchsite);
+        eventPublisher.publishEvent(new LaunchsiteChangedEvent(id, null));
     }
 
     private LaunchsiteResponse toResponse(Launchsite launchsite) {
@@ -92,17 +169,22 @@ public class LaunchsiteService {
 
     private Point toPoint(Double latitude, Double longitude) {
         if (latitude == null || longitude == null) {
-            throw new IllegalArgumentException("Latitude and longitude must not be null");
-        }
-        if (latitude < -90.0 || latitude > 90.0) {
-            throw new IllegalArgumentException("Latitude out of range: " + latitude);
-        }
-        if (longitude < -180.0 || longitude > 180.0) {
-            throw new IllegalArgumentException("Longitude out of range: " + longitude);
+            throw new BadRequestException("Latitude and longitude must not be null");
         }
+        checkCoordinates(latitude, longitude);
 
         Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
         point.setSRID(SRID_WGS84);
         return point;
     }
+
+    // written as negated ranges so NaN is rejected too
+    private static void checkCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90.0 && latitude <= 90.0)) {
+            throw new BadRequestException("Latitude out of range: " + latitude);
+        }
+        if (!(longitude >= -180.0 && longitude <= 180.0)) {
+            throw new BadRequestException("Longitude out of range: " + longitude);
+        }
+    }
 }
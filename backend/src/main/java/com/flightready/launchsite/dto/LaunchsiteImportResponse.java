@@ -0,0 +1,3 @@
+package com.flightready.launchsite.dto;
+
+public record LaunchsiteImportResponse(int imported) {}
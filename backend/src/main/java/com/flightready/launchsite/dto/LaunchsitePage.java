@@ -0,0 +1,12 @@
+package com.flightready.launchsite.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One keyset page; pass {@code nextCursor} as {@code after} to get the next page. Null when this is the last page.
+ */
+public record LaunchsitePage(
+        List<LaunchsiteResponse> items,
+        UUID nextCursor
+) {}
@@ -1,6 +1,11 @@
 package com.flightready.launchsite.error;
 
+import com.flightready.flyability.FlyabilityNotFoundException;
+import com.flightready.launchsite.LaunchsiteImportException;
 import com.flightready.launchsite.LaunchsiteNotFoundException;
+import com.flightready.stream.StreamCapacityException;
+import com.flightready.weather.ForecastNotFoundException;
+import com.flightready.weather.sync.SyncRunNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,6 +31,44 @@ public class ApiExceptionHandler {
                 .body(new ApiError(ex.getMessage(), List.of()));
     }
 
+    @ExceptionHandler(LaunchsiteImportException.class)
+    public ResponseEntity<ApiError> handleImport(LaunchsiteImportException ex) {
+        List<ApiError.FieldError> errors = ex.getErrors().stream()
+                .map(error -> new ApiError.FieldError("row " + error.row() + "." + error.field(), error.message()))
+                .toList();
+        return ResponseEntity.badRequest().body(new ApiError(ex.getMessage(), errors));
+    }
+
+    @ExceptionHandler(FlyabilityNotFoundException.class)
+    public ResponseEntity<ApiError> handleFlyabilityNotFound(FlyabilityNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(ex.getMessage(), List.of()));
+    }
+
+    @ExceptionHandler(ForecastNotFoundException.class)
+    public ResponseEntity<ApiError> handleForecastNotFound(ForecastNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(ex.getMessage(), List.of()));
+    }
+
+    @ExceptionHandler(SyncRunNotFoundException.class)
+    public ResponseEntity<ApiError> handleSyncRunNotFound(SyncRunNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(ex.getMessage(), List.of()));
+    }
+
+    @ExceptionHandler(StreamCapacityException.class)
+    public ResponseEntity<ApiError> handleStreamCapacity(StreamCapacityException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiError(ex.getMessage(), List.of()));
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequest(BadRequestException ex) {
+        return ResponseEntity.badRequest()
+                .body(new ApiError(ex.getMessage(), List.of()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,11 @@
+package com.flightready.launchsite.error;
+
+/**
+ * Invalid query or path arguments, answered with 400. Framework and internal {@link IllegalArgumentException}s
+ * keep surfacing as server errors.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.flightready.stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ForecastStreamConfig {
+
+    /**
+     * Writes queued updates to the SSE connections. A client with a full socket buffer blocks one of these threads
+     * (up to the servlet write timeout), never the sync workers that publish the updates.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService forecastStreamDispatcher(@Value("${stream.dispatch-threads:4}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "forecast-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.flightready.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/stream")
+public class ForecastStreamController {
+
+    private final ForecastStreamService service;
+
+    public ForecastStreamController(ForecastStreamService service) {
+        this.service = service;
+    }
+
+    /**
+     * Server-sent events "forecast" and "flyability" with per-site deltas, optionally filtered.
+     * GET /api/stream/forecasts?sites=id1,id2&types=forecast,flyability
+     */
+    @GetMapping(path = "/forecasts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter forecasts(
+            @RequestParam(name = "sites", required = false) List<UUID> sites,
+            @RequestParam(name = "types", required = false) List<String> types
+    ) {
+        return service.subscribe(
+                sites != null ? Set.copyOf(sites) : Set.of(),
+                types != null ? Set.copyOf(types) : Set.of()
+        );
+    }
+}
@@ -0,0 +1,211 @@
+package com.flightready.stream;
+
+import com.flightready.flyability.FlyabilityScore;
+import com.flightready.flyability.FlyabilityScoreRepository;
+import com.flightready.flyability.FlyabilityScoredEvent;
+import com.flightready.launchsite.LaunchsiteChangedEvent;
+import com.flightready.launchsite.error.BadRequestException;
+import com.flightready.stream.dto.FlyabilityUpdate;
+import com.flightready.stream.dto.ForecastUpdate;
+import com.flightready.weather.Modelruns;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.service.ForecastStoredEvent;
+import com.flightready.weather.service.RemoteForecastStoredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes compact per-site deltas to SSE subscribers after each committed forecast store: "forecast" for every
+ * newly stored forecast, "flyability" only when a site's best launch windows actually changed.
+ *
+ * Subscribers get the forecasts stored by every instance: those of other instances arrive through the
+ * {@code forecast_stored} notification, their flyability is read back from the stored score. Forecasts stored while
+ * the notification connection was down are not sent.
+ */
+@Service
+public class ForecastStreamService {
+
+    public static final String FORECAST = "forecast";
+    public static final String FLYABILITY = "flyability";
+
+    private static final Set<String> TYPES = Set.of(FORECAST, FLYABILITY);
+
+    private final FlyabilityScoreRepository scoreRepository;
+    private final Executor dispatcher;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final int maxSitesPerSubscriber;
+
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /** last flyability update sent per site, to suppress unchanged ones */
+    private final ConcurrentHashMap<UUID, FlyabilityUpdate> lastFlyability = new ConcurrentHashMap<>();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private final Counter sent;
+    private final Counter coalesced;
+    private final MeterRegistry registry;
+
+    public ForecastStreamService(
+            FlyabilityScoreRepository scoreRepository,
+            @Qualifier("forecastStreamDispatcher") Executor dispatcher,
+            MeterRegistry registry,
+            @Value("${stream.timeout:PT30M}") Duration timeout,
+            @Value("${stream.max-subscribers:1000}") int maxSubscribers,
+            @Value("${stream.max-pending:2000}") int maxPending,
+            @Value("${stream.max-sites-per-subscriber:500}") int maxSitesPerSubscriber
+    ) {
+        this.scoreRepository = scoreRepository;
+        this.dispatcher = dispatcher;
+        this.timeoutMs = timeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.maxSitesPerSubscriber = maxSitesPerSubscriber;
+        this.registry = registry;
+
+        Gauge.builder("stream.subscribers", subscribers, Set::size)
+                .description("Open SSE forecast stream connections")
+                .register(registry);
+        this.sent = Counter.builder("stream.events.sent").register(registry);
+        this.coalesced = Counter.builder("stream.events.coalesced")
+                .description("Updates replaced by a newer one for the same site before reaching a slow subscriber")
+                .register(registry);
+    }
+
+    /**
+     * @param sites launchsite filter, empty for all sites
+     * @param types event type filter ("forecast", "flyability"), empty for all
+     */
+    public SseEmitter subscribe(Set<UUID> sites, Set<String> types) {
+        if (sites.size() > maxSitesPerSubscriber) {
+            throw new BadRequestException("At most " + maxSitesPerSubscriber + " sites per subscription");
+        }
+        for (String type : types) {
+            if (!TYPES.contains(type)) {
+                throw new BadRequestException("Unknown event type: " + type);
+            }
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new StreamCapacityException(maxSubscribers);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        StreamSubscriber subscriber = new StreamSubscriber(
+                emitter, Set.copyOf(sites), Set.copyOf(types), maxPending, dispatcher, new SubscriberListener());
+        emitter.onCompletion(() -> subscriber.closedByEmitter("completed"));
+        emitter.onTimeout(() -> subscriber.closedByEmitter("timeout"));
+        emitter.onError(ex -> subscriber.closedByEmitter("error"));
+        subscribers.add(subscriber);
+        // flushes the response headers right away, so clients (and proxies) see the stream open
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onForecastStored(ForecastStoredEvent event) {
+        ColumnarForecast forecast = event.forecast();
+        UUID siteId = event.launchsite().getId();
+        ForecastUpdate update = new ForecastUpdate(
+                siteId,
+                event.weatherId(),
+                Modelruns.parse(forecast.modelrunUpdatetimeUtc()).orElse(null),
+                forecast.hours() > 0 ? Instant.ofEpochSecond(forecast.time()[0]) : null,
+                forecast.hours(),
+                event.storedAt()
+        );
+        publish(FORECAST, siteId, update);
+    }
+
+    @TransactionalEventListener
+    public void onScored(FlyabilityScoredEvent event) {
+        publishFlyability(event.score());
+    }
+
+    @EventListener
+    public void onRemoteForecastStored(RemoteForecastStoredEvent event) {
+        UUID siteId = event.launchsiteId();
+        publish(FORECAST, siteId, new ForecastUpdate(siteId, event.weatherId(), event.modelrun(), event.firstHour(),
+                event.hours(), event.storedAt()));
+        if (event.hours() > 0 && !subscribers.isEmpty()) {
+            scoreRepository.findByLaunchsiteId(siteId).ifPresent(this::publishFlyability);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLaunchsiteChanged(LaunchsiteChangedEvent event) {
+        if (event.deleted()) {
+            lastFlyability.remove(event.id());
+        }
+    }
+
+    /**
+     * Comment line to every subscriber: keeps idle connections open through proxies and detects gone clients.
+     */
+    @Scheduled(fixedDelayString = "${stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(StreamSubscriber::heartbeat);
+    }
+
+    private void publishFlyability(FlyabilityScore score) {
+        UUID siteId = score.launchsiteId();
+        FlyabilityUpdate update = new FlyabilityUpdate(siteId, score.weatherId(), List.copyOf(score.windows()));
+        FlyabilityUpdate previous = lastFlyability.put(siteId, update);
+        if (previous != null && previous.windows().equals(update.windows())) {
+            return;
+        }
+        publish(FLYABILITY, siteId, update);
+    }
+
+    private void publish(String type, UUID siteId, Object data) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        StreamSubscriber.Update update = new StreamSubscriber.Update(
+                type + ":" + siteId, type, eventIds.incrementAndGet(), data);
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(type, siteId)) {
+                subscriber.offer(update);
+            }
+        }
+    }
+
+    private final class SubscriberListener implements StreamSubscriber.Listener {
+
+        @Override
+        public void sent(int events) {
+            sent.increment(events);
+        }
+
+        @Override
+        public void coalesced() {
+            coalesced.increment();
+        }
+
+        @Override
+        public void closed(StreamSubscriber subscriber, String reason) {
+            subscribers.remove(subscriber);
+            registry.counter("stream.subscribers.closed", "reason", reason).increment();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.flightready.stream;
+
+public class StreamCapacityException extends RuntimeException {
+    public StreamCapacityException(int maxSubscribers) {
+        super("Too many stream subscribers (max " + maxSubscribers + "), retry later");
+    }
+}
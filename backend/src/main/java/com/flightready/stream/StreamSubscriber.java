@@ -0,0 +1,172 @@
+package com.flightready.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * One SSE connection. Updates are queued per (event type, site) with latest-wins coalescing, so a slow consumer
+ * receives the newest state of each site instead of every intermediate one, and are written by a shared dispatch
+ * pool, never by the publishing (sync) thread. A consumer that still falls behind by more than maxPending
+ * distinct updates is disconnected; it reconnects and reloads the state over REST.
+ */
+final class StreamSubscriber {
+
+    /**
+     * @param key coalescing key, e.g. "forecast:{siteId}"
+     */
+    record Update(String key, String name, long id, Object data) {}
+
+    private final SseEmitter emitter;
+    private final Set<UUID> sites;
+    private final Set<String> types;
+    private final int maxPending;
+    private final Executor dispatcher;
+    private final Listener listener;
+
+    private final LinkedHashMap<String, Update> pending = new LinkedHashMap<>();
+    private boolean heartbeatDue;
+    private boolean scheduled;
+    private volatile boolean closed;
+
+    interface Listener {
+        void sent(int events);
+
+        void coalesced();
+
+        void closed(StreamSubscriber subscriber, String reason);
+    }
+
+    /**
+     * @param sites empty for all sites
+     * @param types empty for all event types
+     */
+    StreamSubscriber(SseEmitter emitter, Set<UUID> sites, Set<String> types, int maxPending, Executor dispatcher,
+                     Listener listener) {
+        this.emitter = emitter;
+        this.sites = sites;
+        this.types = types;
+        this.maxPending = maxPending;
+        this.dispatcher = dispatcher;
+        this.listener = listener;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean accepts(String type, UUID siteId) {
+        return (sites.isEmpty() || sites.contains(siteId)) && (types.isEmpty() || types.contains(type));
+    }
+
+    void offer(Update update) {
+        if (closed) {
+            return;
+        }
+        boolean overflow;
+        boolean schedule;
+        synchronized (this) {
+            // re-insert so a coalesced update moves behind the others instead of keeping its old position
+            if (pending.remove(update.key()) != null) {
+                listener.coalesced();
+            }
+            pending.put(update.key(), update);
+            overflow = pending.size() > maxPending;
+            schedule = !overflow && markScheduled();
+        }
+        if (overflow) {
+            close("lagging");
+        } else if (schedule) {
+            dispatch();
+        }
+    }
+
+    void heartbeat() {
+        if (closed) {
+            return;
+        }
+        boolean schedule;
+        synchronized (this) {
+            heartbeatDue = true;
+            schedule = markScheduled();
+        }
+        if (schedule) {
+            dispatch();
+        }
+    }
+
+    void close(String reason) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (this) {
+            pending.clear();
+        }
+        listener.closed(this, reason);
+        emitter.complete();
+    }
+
+    /** Marks that the subscriber got closed by the emitter (timeout, client gone), without completing it again. */
+    void closedByEmitter(String reason) {
+        if (!closed) {
+            closed = true;
+            listener.closed(this, reason);
+        }
+    }
+
+    private boolean markScheduled() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    private void dispatch() {
+        try {
+            dispatcher.execute(this::drain);
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                scheduled = false;
+            }
+            close("rejected");
+        }
+    }
+
+    private void drain() {
+        while (!closed) {
+            List<Update> batch;
+            boolean heartbeat;
+            synchronized (this) {
+                if (pending.isEmpty() && !heartbeatDue) {
+                    scheduled = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                heartbeat = heartbeatDue;
+                heartbeatDue = false;
+            }
+            try {
+                for (Update update : batch) {
+                    emitter.send(SseEmitter.event().id(Long.toString(update.id())).name(update.name()).data(update.data()));
+                }
+                if (heartbeat && batch.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                listener.sent(batch.size());
+            } catch (IOException | IllegalStateException ex) {
+                closedByEmitter("error");
+                emitter.completeWithError(ex);
+                return;
+            }
+        }
+    }
+}
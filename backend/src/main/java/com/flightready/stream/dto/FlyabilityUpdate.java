@@ -0,0 +1,16 @@
+package com.flightready.stream.dto;
+
+import com.flightready.flyability.FlyabilityScorer.FlyabilityWindow;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SSE event "flyability": the best launch windows of a site changed. Hourly scores stay behind
+ * {@code /api/launchsites/{id}/flyability}.
+ */
+public record FlyabilityUpdate(
+        UUID launchsiteId,
+        UUID weatherId,
+        List<FlyabilityWindow> windows
+) {}
@@ -0,0 +1,19 @@
+package com.flightready.stream.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * SSE event "forecast": a new forecast was stored for a launchsite. Fetch it from
+ * {@code /api/launchsites/{id}/forecast/latest} when needed.
+ *
+ * @param modelrun model run of the stored forecast, null if unknown
+ */
+public record ForecastUpdate(
+        UUID launchsiteId,
+        UUID weatherId,
+        Instant modelrun,
+        Instant firstHour,
+        int hours,
+        Instant storedAt
+) {}
@@ -0,0 +1,44 @@
+package com.flightready.tile;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/tiles")
+public class TileController {
+
+    static final String MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+
+    private final TileService tileService;
+
+    public TileController(TileService tileService) {
+        this.tileService = tileService;
+    }
+
+    /**
+     * Mapbox Vector Tile with layer {@code launchsites}, see {@link TileRepository} for the feature attributes.
+     * Supports If-None-Match.
+     * GET /api/tiles/{z}/{x}/{y}.mvt
+     */
+    @GetMapping(path = "/{z}/{x}/{y}.mvt", produces = MEDIA_TYPE)
+    public ResponseEntity<byte[]> tile(
+            @PathVariable("z") int z,
+            @PathVariable("x") int x,
+            @PathVariable("y") int y,
+            WebRequest request
+    ) {
+        TileService.Tile tile = tileService.tile(z, x, y);
+        if (request.checkNotModified(tile.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(tile.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(tile.bytes());
+    }
+}
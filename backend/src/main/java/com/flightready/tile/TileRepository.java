@@ -0,0 +1,100 @@
+package com.flightready.tile;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Builds Mapbox Vector Tiles in PostGIS ({@code ST_AsMVT}) with one layer, {@code launchsites}.
+ *
+ * Every feature carries the flyability of the site's latest forecast relative to {@code hour}: {@code score_now},
+ * {@code score_max_24h} and {@code flyable_hours_24h} (hours scoring at least the window threshold); all null when
+ * the site has no score. Clustered tiles merge the sites of each grid cell of {@code clusterCell} tile units into one
+ * feature with {@code point_count} and the best flyability of its sites; {@code id} and {@code name} are only set for
+ * cells holding a single site.
+ */
+@Repository
+public class TileRepository {
+
+    static final int EXTENT = 4096;
+    static final String LAYER = "launchsites";
+
+    /**
+     * Candidates come from the planar GiST index (V12), then are projected into tile coordinates.
+     * Parameters: hour, threshold, z, x, y, buffer (tile units), z, x, y, margin (fraction of the tile).
+     */
+    private static final String SITES_CTE = """
+            WITH params AS (
+                SELECT ?::timestamptz AS hour, ?::real AS threshold,
+                       ST_TileEnvelope(?, ?, ?) AS tile, ?::int AS buffer,
+                       ST_Transform(ST_TileEnvelope(?, ?, ?, margin => ?), 4326) AS area
+            ), sites AS (
+                SELECT ST_AsMVTGeom(ST_Transform(l.location::geometry, 3857), p.tile, %d, p.buffer, true) AS geom,
+                       l.id::text AS id, l.name, l.asl, l.direction_start, l.direction_end,
+                       f.scores[i.idx] AS score_now,
+                       CASE WHEN f.launchsite_id IS NOT NULL THEN
+                           (SELECT max(s) FROM unnest(f.scores[i.idx:i.idx + 23]) s) END AS score_max_24h,
+                       CASE WHEN f.launchsite_id IS NOT NULL THEN
+                           (SELECT count(*) FROM unnest(f.scores[i.idx:i.idx + 23]) s WHERE s >= p.threshold)
+                       END AS flyable_hours_24h
+                FROM params p
+                JOIN launchsite l ON l.location::geometry && p.area
+                LEFT JOIN flyability_score f ON f.launchsite_id = l.id
+                LEFT JOIN LATERAL (
+                    SELECT (extract(epoch FROM p.hour - f.first_hour) / 3600)::int + 1 AS idx
+                ) i ON true
+            )
+            """.formatted(EXTENT);
+
+    private static final String SITES_SQL = SITES_CTE + """
+            SELECT ST_AsMVT(t, '%s', %d, 'geom')
+            FROM (SELECT * FROM sites WHERE geom IS NOT NULL) t
+            """.formatted(LAYER, EXTENT);
+
+    /**
+     * Extra parameter: cluster cell size in tile units.
+     */
+    private static final String CLUSTERS_SQL = SITES_CTE + """
+            SELECT ST_AsMVT(t, '%s', %d, 'geom')
+            FROM (
+                SELECT ST_SnapToGrid(ST_Centroid(ST_Collect(geom)), 1) AS geom,
+                       count(*) AS point_count,
+                       CASE WHEN count(*) = 1 THEN min(id) END AS id,
+                       CASE WHEN count(*) = 1 THEN min(name) END AS name,
+                       max(score_now) AS score_now,
+                       max(score_max_24h) AS score_max_24h,
+                       max(flyable_hours_24h) AS flyable_hours_24h
+                FROM sites
+                WHERE geom IS NOT NULL
+                GROUP BY floor(ST_X(geom) / ?), floor(ST_Y(geom) / ?)
+            ) t
+            """.formatted(LAYER, EXTENT);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TileRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param buffer tile units around the tile that are included, so symbols at tile edges are not cut off
+     */
+    public byte[] sites(int z, int x, int y, Instant hour, double threshold, int buffer) {
+        return orEmpty(jdbcTemplate.queryForObject(SITES_SQL, byte[].class,
+                Timestamp.from(hour), threshold, z, x, y, buffer, z, x, y, (double) buffer / EXTENT));
+    }
+
+    /**
+     * Clusters are computed per tile without buffer, so every site is counted in exactly one tile.
+     */
+    public byte[] clusters(int z, int x, int y, Instant hour, double threshold, int clusterCell) {
+        return orEmpty(jdbcTemplate.queryForObject(CLUSTERS_SQL, byte[].class,
+                Timestamp.from(hour), threshold, z, x, y, 0, z, x, y, 0.0, clusterCell, clusterCell));
+    }
+
+    private static byte[] orEmpty(byte[] tile) {
+        return tile == null ? new byte[0] : tile;
+    }
+}
@@ -0,0 +1,170 @@
+package com.flightready.tile;
+
+import com.flightready.flyability.FlyabilityScoredEvent;
+import com.flightready.launchsite.LaunchsiteCatalog;
+import com.flightready.launchsite.LaunchsiteChangedEvent;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import com.flightready.launchsite.error.BadRequestException;
+import com.flightready.weather.service.RemoteForecastStoredEvent;
+import com.flightready.weather.service.RemoteForecastsMissedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vector tiles of launchsites with flyability, cached by tile and data version.
+ *
+ * A flyability score committed on this instance, or a forecast stored by another instance ({@code forecast_stored}
+ * notification), only invalidates the tiles that show the site: its tile on every zoom, plus the neighbours whose
+ * buffer reaches it. During a sync this keeps the rest of the cache warm. The data version moves with every committed
+ * launchsite change, with missed notifications, with every catalog reload (which also covers launchsite changes made
+ * elsewhere, see {@link LaunchsiteCatalog}) and with the hour the flyability attributes refer to. Tiles of older
+ * versions are never served again and age out of the cache, at the latest after {@code tiles.cache.ttl}.
+ *
+ * Up to {@code tiles.cluster-max-zoom} sites are clustered on a grid of {@code tiles.cluster-cell} tile units.
+ */
+@Service
+public class TileService {
+
+    public static final int MAX_ZOOM = 22;
+
+    private final TileRepository repository;
+    private final LaunchsiteCatalog catalog;
+    private final Cache<TileKey, Tile> tiles;
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final int clusterMaxZoom;
+    private final int clusterCell;
+    private final int buffer;
+    private final double threshold;
+
+    public TileService(
+            TileRepository repository,
+            LaunchsiteCatalog catalog,
+            MeterRegistry meterRegistry,
+            @Value("${tiles.cluster-max-zoom:9}") int clusterMaxZoom,
+            @Value("${tiles.cluster-cell:256}") int clusterCell,
+            @Value("${tiles.buffer:64}") int buffer,
+            @Value("${flyability.window-threshold:0.6}") double threshold,
+            @Value("${tiles.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${tiles.cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.repository = repository;
+        this.catalog = catalog;
+        this.clusterMaxZoom = clusterMaxZoom;
+        this.clusterCell = clusterCell;
+        this.buffer = buffer;
+        this.threshold = threshold;
+        this.tiles = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((TileKey key, Tile tile) -> tile.bytes().length + 64)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tiles, "tiles");
+    }
+
+    public Tile tile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new BadRequestException("z must be between 0 and " + MAX_ZOOM);
+        }
+        int size = 1 << z;
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw new BadRequestException("x and y must be between 0 and " + (size - 1) + " at zoom " + z);
+        }
+
+        Instant hour = currentHour();
+        TileKey key = new TileKey(z, x, y, dataVersion.get(), catalog.snapshot().version(), hour.getEpochSecond());
+        return tiles.get(key, k -> Tile.of(z <= clusterMaxZoom
+                ? repository.clusters(z, x, y, hour, threshold, clusterCell)
+                : repository.sites(z, x, y, hour, threshold, buffer)));
+    }
+
+    @TransactionalEventListener
+    public void onLaunchsiteChanged(LaunchsiteChangedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onScored(FlyabilityScoredEvent event) {
+        Point location = event.launchsite().getLocation();
+        invalidate(location.getY(), location.getX());
+    }
+
+    @EventListener
+    public void onRemoteForecastStored(RemoteForecastStoredEvent event) {
+        LaunchsiteResponse site = catalog.snapshot().find(event.launchsiteId());
+        if (site == null) {
+            // not in the catalog yet; its reload moves the catalog version anyway
+            dataVersion.incrementAndGet();
+            return;
+        }
+        invalidate(site.latitude(), site.longitude());
+    }
+
+    @EventListener
+    public void onRemoteForecastsMissed(RemoteForecastsMissedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * Drops the cached tiles of the current versions that can show a site at the given position. Invalidating
+     * waits for a load of the same tile in progress, so a tile read before the change is not kept.
+     */
+    void invalidate(double latitude, double longitude) {
+        long version = dataVersion.get();
+        long catalogVersion = catalog.snapshot().version();
+        long hour = currentHour().getEpochSecond();
+        double mercatorX = (longitude + 180) / 360;
+        double sinLatitude = Math.sin(Math.toRadians(latitude));
+        double mercatorY = 0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI);
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            int size = 1 << z;
+            // clustered tiles have no buffer; one tile unit covers sites on the tile border
+            double margin = (double) (z <= clusterMaxZoom ? 1 : Math.max(buffer, 1)) / TileRepository.EXTENT;
+            int minX = tileIndex(mercatorX * size - margin, size);
+            int maxX = tileIndex(mercatorX * size + margin, size);
+            int minY = tileIndex(mercatorY * size - margin, size);
+            int maxY = tileIndex(mercatorY * size + margin, size);
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    tiles.invalidate(new TileKey(z, x, y, version, catalogVersion, hour));
+                }
+            }
+        }
+    }
+
+    private static int tileIndex(double coordinate, int size) {
+        if (Double.isNaN(coordinate)) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(size - 1, Math.floor(coordinate)));
+    }
+
+    private static Instant currentHour() {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    record TileKey(int z, int x, int y, long dataVersion, long catalogVersion, long hour) {}
+
+    /**
+     * @param etag strong entity tag derived from the content, so it is the same on every instance
+     */
+    public record Tile(byte[] bytes, String etag) {
+
+        static Tile of(byte[] bytes) {
+            return new Tile(bytes, "\"t-" + Integer.toHexString(Arrays.hashCode(bytes)) + "-" + bytes.length + "\"");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.flightready.weather;
+
+import java.util.UUID;
+
+public class ForecastNotFoundException extends RuntimeException {
+    public ForecastNotFoundException(UUID launchsiteId) {
+        super("No forecast stored yet for launchsite: " + launchsiteId);
+    }
+}
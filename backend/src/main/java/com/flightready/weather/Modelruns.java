@@ -0,0 +1,32 @@
+package com.flightready.weather;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Model run identifiers as stored in {@code weather.modelrun_updatetime_utc} ("yyyy-MM-dd HH:mm", UTC).
+ */
+public final class Modelruns {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private Modelruns() {}
+
+    /**
+     * @return empty for null or unparsable values
+     */
+    public static Optional<Instant> parse(String modelrunUpdatetimeUtc) {
+        if (modelrunUpdatetimeUtc == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDateTime.parse(modelrunUpdatetimeUtc, FORMAT).toInstant(ZoneOffset.UTC));
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+}
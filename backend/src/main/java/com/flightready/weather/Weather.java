@@ -1,12 +1,13 @@
 package com.flightready.weather;
 
 import com.flightready.launchsite.Launchsite;
-import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -22,10 +23,10 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EqualsAndHashCode(of = "id")
 @ToString(exclude = "launchsite")
-public class Weather {
+public class Weather implements Persistable<UUID> {
 
+    /** Assigned on construction, so rows can be inserted in JDBC batches without a round trip for the key. */
     @Id
-    @GeneratedValue
     @Column(nullable = false, updatable = false)
     private UUID id;
 
@@ -39,26 +40,49 @@ public class Weather {
     @JoinColumn(name = "launchsite_id", nullable = false)
     private Launchsite launchsite;
 
+    /**
+     * Raw provider payload, shaped as the provider returned it; null when raw payload storage is disabled
+     * (hourly values live in forecast_hour).
+     */
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(nullable = false, columnDefinition = "jsonb")
-    private MeteoblueWeatherResponse payload;
+    @Column(columnDefinition = "jsonb")
+    private JsonNode payload;
+
+    /** Identifies the upstream model run; copied out of the payload so it can be read without touching jsonb. */
+    @Column(name = "modelrun_updatetime_utc", updatable = false)
+    private String modelrunUpdatetimeUtc;
 
     @CreationTimestamp
     @Column(name = "fetched_at", nullable = false, updatable = false)
     private OffsetDateTime fetchedAt;
 
-    private Weather(String provider, String schemaVersion, Launchsite launchsite, MeteoblueWeatherResponse payload) {
+    /** Lets save() persist instead of merge (which would SELECT first), since the id is never null. */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    private Weather(String provider, String schemaVersion, Launchsite launchsite, JsonNode payload,
+                    String modelrunUpdatetimeUtc) {
+        this.id = UUID.randomUUID();
         this.provider = provider;
         this.schemaVersion = (schemaVersion == null ? "v1" : schemaVersion);
         this.launchsite = launchsite;
         this.payload = payload;
+        this.modelrunUpdatetimeUtc = modelrunUpdatetimeUtc;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
     }
 
-    public static Weather meteoblue(Launchsite site,MeteoblueWeatherResponse payload) {
-        return new Weather("meteoblue", "v1", site, payload);
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
     }
 
-    public static Weather of(String provider, Launchsite site,MeteoblueWeatherResponse payload) {
-        return new Weather(provider, "v1", site, payload);
+    public static Weather of(String provider, Launchsite site, JsonNode payload, String modelrunUpdatetimeUtc) {
+        return new Weather(provider, "v1", site, payload, modelrunUpdatetimeUtc);
     }
 }
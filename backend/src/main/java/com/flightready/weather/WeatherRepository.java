@@ -1,5 +1,66 @@
 package com.flightready.weather;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface WeatherRepository extends JpaRepository<Weather, String> { }
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WeatherRepository extends JpaRepository<Weather, UUID> {
+
+    /**
+     * Latest weather row of a site without loading the payload (served by idx_weather_location_fetched).
+     */
+    Optional<LatestWeather> findFirstByLaunchsite_IdOrderByFetchedAtDesc(UUID launchsiteId);
+
+    /**
+     * Model run of each site's latest weather row; one index probe per launchsite.
+     */
+    @Query(value = """
+            SELECT l.id AS launchsiteId, w.modelrun_updatetime_utc AS modelrunUpdatetimeUtc
+            FROM launchsite l
+            CROSS JOIN LATERAL (
+                SELECT modelrun_updatetime_utc
+                FROM weather
+                WHERE launchsite_id = l.id
+                ORDER BY fetched_at DESC
+                LIMIT 1
+            ) w
+            """, nativeQuery = true)
+    List<LatestModelrun> findLatestModelrunPerSite();
+
+    /**
+     * {@link #findLatestModelrunPerSite()} restricted to the given launchsites.
+     */
+    @Query(value = """
+            SELECT l.id AS launchsiteId, w.modelrun_updatetime_utc AS modelrunUpdatetimeUtc
+            FROM launchsite l
+            CROSS JOIN LATERAL (
+                SELECT modelrun_updatetime_utc
+                FROM weather
+                WHERE launchsite_id = l.id
+                ORDER BY fetched_at DESC
+                LIMIT 1
+            ) w
+            WHERE l.id IN (:launchsiteIds)
+            """, nativeQuery = true)
+    List<LatestModelrun> findLatestModelrunForSites(@Param("launchsiteIds") Collection<UUID> launchsiteIds);
+
+    interface LatestModelrun {
+        UUID getLaunchsiteId();
+
+        String getModelrunUpdatetimeUtc();
+    }
+
+    interface LatestWeather {
+        UUID getId();
+
+        OffsetDateTime getFetchedAt();
+
+        String getModelrunUpdatetimeUtc();
+    }
+}
@@ -0,0 +1,116 @@
+package com.flightready.weather.api;
+
+import com.flightready.weather.dto.ForecastBinaryEncoder;
+import com.flightready.weather.dto.EnsembleResponse;
+import com.flightready.weather.dto.ForecastResponse;
+import com.flightready.weather.dto.ModelSkillResponse;
+import com.flightready.weather.ensemble.EnsembleService;
+import com.flightready.weather.ensemble.EnsembleService.LatestEnsemble;
+import com.flightready.weather.service.ForecastQueryService;
+import com.flightready.weather.service.ForecastQueryService.LatestForecast;
+import com.flightready.weather.service.ForecastVersion;
+import com.flightready.weather.verification.ModelSkillService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/launchsites")
+public class ForecastController {
+
+    private final ForecastQueryService forecastQueryService;
+    private final EnsembleService ensembleService;
+    private final ModelSkillService modelSkillService;
+
+    public ForecastController(
+            ForecastQueryService forecastQueryService,
+            EnsembleService ensembleService,
+            ModelSkillService modelSkillService
+    ) {
+        this.forecastQueryService = forecastQueryService;
+        this.ensembleService = ensembleService;
+        this.modelSkillService = modelSkillService;
+    }
+
+    /**
+     * Latest stored forecast of a launchsite. Supports If-None-Match / If-Modified-Since; an unchanged
+     * forecast is answered with 304 without loading its hours.
+     * GET /api/launchsites/{id}/forecast/latest
+     */
+    @GetMapping(path = "/{id}/forecast/latest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ForecastResponse> latest(@PathVariable("id") UUID id, WebRequest request) {
+        ForecastVersion version = forecastQueryService.latestVersion(id);
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        LatestForecast latest = forecastQueryService.latest(id);
+        return ok(latest.version(), latest.version().etag()).body(latest.body());
+    }
+
+    /**
+     * Same forecast in the compact columnar binary format, see {@link ForecastBinaryEncoder}.
+     * GET /api/launchsites/{id}/forecast/latest with Accept: application/vnd.flightready.forecast.v1
+     */
+    @GetMapping(path = "/{id}/forecast/latest", produces = ForecastBinaryEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> latestBinary(@PathVariable("id") UUID id, WebRequest request) {
+        ForecastVersion version = forecastQueryService.latestVersion(id);
+        if (request.checkNotModified(suffixedEtag(version, "b"), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        LatestForecast latest = forecastQueryService.latest(id);
+        return ok(latest.version(), suffixedEtag(latest.version(), "b")).body(latest.binary());
+    }
+
+    /**
+     * Cross-model mean, spread, percentiles, circular wind direction and agreement flags of the latest forecast,
+     * precomputed at ingest.
+     * GET /api/launchsites/{id}/forecast/latest/ensemble
+     */
+    @GetMapping("/{id}/forecast/latest/ensemble")
+    public ResponseEntity<EnsembleResponse> latestEnsemble(@PathVariable("id") UUID id, WebRequest request) {
+        ForecastVersion version = forecastQueryService.latestVersion(id);
+        String etag = suffixedEtag(version, "e");
+        if (request.checkNotModified(etag, version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        LatestEnsemble latest = ensembleService.latest(id);
+        return ok(latest.version(), suffixedEtag(latest.version(), "e")).body(EnsembleResponse.of(
+                latest.ensemble(), latest.version().fetchedAt(), latest.version().modelrunUpdatetimeUtc()));
+    }
+
+    /**
+     * Per-model forecast errors at the launchsite, measured by the verification job, and the resulting weights.
+     * GET /api/launchsites/{id}/forecast/skill
+     */
+    @GetMapping("/{id}/forecast/skill")
+    public ModelSkillResponse skill(@PathVariable("id") UUID id) {
+        return ModelSkillResponse.of(id, modelSkillService.skill(id), modelSkillService::weight);
+    }
+
+    private static ResponseEntity.BodyBuilder ok(ForecastVersion version, String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * Representations and views of the same forecast differ in their bytes, so they need distinct entity tags.
+     */
+    private static String suffixedEtag(ForecastVersion version, String suffix) {
+        String etag = version.etag();
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+}
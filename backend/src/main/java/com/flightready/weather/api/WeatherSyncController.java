@@ -1,33 +1,101 @@
 package com.flightready.weather.api;
 
-import com.flightready.weather.service.WeatherIngestionService;
+import com.flightready.weather.service.SiteSyncResult;
+import com.flightready.weather.sync.SyncRun;
+import com.flightready.weather.sync.SyncRunService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/weather-sync")
 public class WeatherSyncController {
 
-    private final WeatherIngestionService weatherIngestionService;
+    private final SyncRunService syncRunService;
 
-    public WeatherSyncController(WeatherIngestionService weatherIngestionService) {
-        this.weatherIngestionService = weatherIngestionService;
+    public WeatherSyncController(SyncRunService syncRunService) {
+        this.syncRunService = syncRunService;
     }
 
     /**
-     * Triggers one sync cycle manually.
+     * Starts a sync run in the background, or returns the one already queued/running.
      * POST /api/weather-sync
      */
     @PostMapping
-    public ResponseEntity<SyncResponse> triggerSync() {
-        int processed = weatherIngestionService.syncOnce(); // returns number of items processed (per your earlier example)
-        return ResponseEntity.accepted().body(new SyncResponse(processed, OffsetDateTime.now(ZoneOffset.UTC)));
+    public ResponseEntity<SyncRunResponse> triggerSync() {
+        SyncRunService.Triggered triggered = syncRunService.trigger("manual");
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{runId}")
+                .buildAndExpand(triggered.run().id())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(SyncRunResponse.of(triggered.run(), triggered.alreadyActive(), List.of()));
     }
 
-    public record SyncResponse(int processedItems, OffsetDateTime triggeredAt) {}
+    /**
+     * Progress of one run, with the per-site results recorded so far.
+     * GET /api/weather-sync/{runId}
+     */
+    @GetMapping("/{runId}")
+    public SyncRunResponse getRun(@PathVariable("runId") UUID runId) {
+        SyncRun run = syncRunService.find(runId);
+        return SyncRunResponse.of(run, false, syncRunService.findSites(runId));
+    }
+
+    /**
+     * GET /api/weather-sync?limit=20
+     */
+    @GetMapping
+    public List<SyncRunResponse> recentRuns(@RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return syncRunService.findRecent(limit).stream()
+                .map(run -> SyncRunResponse.of(run, false, List.of()))
+                .toList();
+    }
+
+    /**
+     * @param alreadyRunning true when a POST was deduplicated onto an existing run
+     */
+    public record SyncRunResponse(
+            UUID runId,
+            SyncRun.Status status,
+            String trigger,
+            boolean alreadyRunning,
+            Instant requestedAt,
+            Instant startedAt,
+            Instant finishedAt,
+            Long durationMs,
+            Integer totalSites,
+            int processedItems,
+            int succeeded,
+            int skipped,
+            int failed,
+            String error,
+            List<SiteSyncResult> sites
+    ) {
+
+        static SyncRunResponse of(SyncRun run, boolean alreadyRunning, List<SiteSyncResult> sites) {
+            Long durationMs = null;
+            if (run.startedAt() != null) {
+                Instant end = run.finishedAt() != null ? run.finishedAt() : Instant.now();
+                durationMs = end.toEpochMilli() - run.startedAt().toEpochMilli();
+            }
+            return new SyncRunResponse(
+                    run.id(), run.status(), run.trigger(), alreadyRunning,
+                    run.requestedAt(), run.startedAt(), run.finishedAt(), durationMs,
+                    run.totalSites(), run.processed(), run.succeeded(), run.skipped(), run.failed(),
+                    run.error(), sites
+            );
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.flightready.weather.client;
+
+/**
+ * Quantized (lat, lon, asl) cell. Launchsites that fall into the same bucket share one upstream forecast.
+ *
+ * @param latIndex latitude / gridDegrees, floored
+ * @param lonIndex longitude / gridDegrees, floored
+ * @param aslIndex asl / aslStep, floored
+ */
+public record ForecastBucket(int latIndex, int lonIndex, int aslIndex) {
+
+    public static ForecastBucket of(double latitude, double longitude, int asl, double gridDegrees, int aslStep) {
+        return new ForecastBucket(
+                (int) Math.floor(latitude / gridDegrees),
+                (int) Math.floor(longitude / gridDegrees),
+                Math.floorDiv(asl, aslStep)
+        );
+    }
+
+    /** Latitude of the bucket center, used as the representative point for the upstream request. */
+    public double latitude(double gridDegrees) {
+        return (latIndex + 0.5) * gridDegrees;
+    }
+
+    /** Longitude of the bucket center, used as the representative point for the upstream request. */
+    public double longitude(double gridDegrees) {
+        return (lonIndex + 0.5) * gridDegrees;
+    }
+
+    public int asl(int aslStep) {
+        return aslIndex * aslStep + aslStep / 2;
+    }
+}
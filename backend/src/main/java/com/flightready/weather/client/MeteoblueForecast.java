@@ -0,0 +1,62 @@
+package com.flightready.weather.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.provider.ProviderForecast;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One fetched multimodel-1h document: the raw body, its columnar form (decoded eagerly), and the record form,
+ * which is only databound when somebody asks for it (e.g. to store the raw payload).
+ */
+public final class MeteoblueForecast implements ProviderForecast {
+
+    private final byte[] json;
+    private final ColumnarForecast columnar;
+    private final ObjectMapper objectMapper;
+    private volatile MeteoblueWeatherResponse response;
+
+    MeteoblueForecast(byte[] json, ColumnarForecast columnar, ObjectMapper objectMapper) {
+        this.json = json;
+        this.columnar = columnar;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ColumnarForecast columnar() {
+        return columnar;
+    }
+
+    public int sizeBytes() {
+        return json.length;
+    }
+
+    /**
+     * The document as a tree, for storing it as jsonb; cheaper than binding the records.
+     */
+    @Override
+    public JsonNode payload() {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not parse Meteoblue payload", ex);
+        }
+    }
+
+    public MeteoblueWeatherResponse response() {
+        MeteoblueWeatherResponse result = response;
+        if (result == null) {
+            try {
+                result = objectMapper.readValue(json, MeteoblueWeatherResponse.class);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not parse Meteoblue payload", ex);
+            }
+            response = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+package com.flightready.weather.client;
+
+import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicating cache in front of {@link MeteoblueWeatherClient}.
+ *
+ * Requests are quantized into {@link ForecastBucket}s; all launchsites inside one bucket share a single upstream
+ * call (concurrent callers for the same bucket wait for the in-flight request) and a single parsed response.
+ * The upstream call runs on the first caller's thread outside the cache, so its rate-limiter waits and retries
+ * never hold a cache lock that loads of other buckets could be waiting on.
+ * Parsed responses are additionally keyed by the model runs they were computed from, so a refresh that returns
+ * an unchanged model run keeps handing out the instance that is already on the heap.
+ */
+@Component
+public class MeteoblueForecastCache {
+
+    private final MeteoblueWeatherClient client;
+    private final double gridDegrees;
+    private final int aslStep;
+
+    /** bucket -> forecast of the latest known model run; entries expire after the TTL to pick up new runs */
+    private final Cache<ForecastBucket, CachedForecast> currentForecasts;
+
+    /** bucket fetches under way, at most one per bucket; removed when done */
+    private final ConcurrentHashMap<ForecastBucket, CompletableFuture<CachedForecast>> fetching =
+            new ConcurrentHashMap<>();
+
+    /** (bucket, model run) -> parsed forecast; bounded by size only */
+    private final Cache<ForecastKey, MeteoblueForecast> forecastsByRun;
+
+    public MeteoblueForecastCache(
+            MeteoblueWeatherClient client,
+            @Value("${weather.meteoblue.cache.ttl:PT1H}") Duration ttl,
+            @Value("${weather.meteoblue.cache.max-entries:10000}") long maxEntries,
+            @Value("${weather.meteoblue.cache.grid-degrees:0.01}") double gridDegrees,
+            @Value("${weather.meteoblue.cache.asl-step:50}") int aslStep
+    ) {
+        if (gridDegrees <= 0 || aslStep <= 0) {
+            throw new IllegalArgumentException("grid-degrees and asl-step must be positive");
+        }
+        this.client = client;
+        this.gridDegrees = gridDegrees;
+        this.aslStep = aslStep;
+        this.currentForecasts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+        this.forecastsByRun = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public MeteoblueWeatherResponse fetchCurrentForecast(double latitude, double longitude, int asl) {
+        return fetch(latitude, longitude, asl).forecast().response();
+    }
+
+    public CachedForecast fetch(double latitude, double longitude, int asl) {
+        ForecastBucket bucket = bucketOf(latitude, longitude, asl);
+        CachedForecast cached = currentForecasts.getIfPresent(bucket);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<CachedForecast> fetch = new CompletableFuture<>();
+        CompletableFuture<CachedForecast> running = fetching.putIfAbsent(bucket, fetch);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        try {
+            // another thread may have finished this bucket between the cache lookup and the claim
+            CachedForecast forecast = currentForecasts.getIfPresent(bucket);
+            if (forecast == null) {
+                forecast = load(bucket);
+                currentForecasts.put(bucket, forecast);
+            }
+            fetch.complete(forecast);
+            return forecast;
+        } catch (RuntimeException | Error ex) {
+            // callers waiting for this bucket fail with the same error; the next fetch tries again
+            fetch.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            fetching.remove(bucket, fetch);
+        }
+    }
+
+    public ForecastBucket bucketOf(double latitude, double longitude, int asl) {
+        return ForecastBucket.of(latitude, longitude, asl, gridDegrees, aslStep);
+    }
+
+    public void invalidate(ForecastBucket bucket) {
+        currentForecasts.invalidate(bucket);
+    }
+
+    private CachedForecast load(ForecastBucket bucket) {
+        MeteoblueForecast fetched = client.fetchForecast(
+                bucket.latitude(gridDegrees),
+                bucket.longitude(gridDegrees),
+                bucket.asl(aslStep)
+        );
+
+        ForecastKey key = new ForecastKey(bucket, String.join(",", fetched.columnar().modelrunUtc()));
+        MeteoblueForecast shared = forecastsByRun.asMap().putIfAbsent(key, fetched);
+        return new CachedForecast(key, shared != null ? shared : fetched);
+    }
+
+    public record ForecastKey(ForecastBucket bucket, String modelRun) {}
+
+    public record CachedForecast(ForecastKey key, MeteoblueForecast forecast) {}
+}
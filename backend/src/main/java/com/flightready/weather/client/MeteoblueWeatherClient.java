@@ -1,25 +1,163 @@
 package com.flightready.weather.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.dto.meteoblue.MeteoblueColumnarDecoder;
 import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.metrics.WeatherMetrics;
+import com.flightready.weather.metrics.WeatherMetrics.UpstreamOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meteoblue multimodel client. Every request passes a circuit breaker and a token-bucket rate limiter
+ * sized to our API quota; timeouts, I/O errors, 429 and 5xx are retried with full-jitter exponential backoff
+ * (honouring Retry-After), other 4xx and parse errors fail immediately.
+ */
 @Component
 public class MeteoblueWeatherClient {
 
+    private static final Logger log = LoggerFactory.getLogger(MeteoblueWeatherClient.class);
+
     private final RestClient restClient;
     private final String apiKey;
+    private final ObjectMapper objectMapper;
+    private final MeteoblueColumnarDecoder decoder;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration maxRateLimitWait;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final WeatherMetrics metrics;
 
-    public MeteoblueWeatherClient(RestClient meteoblueWeatherRestClient, @Value("${meteoblue.api-key}") String apiKey) {
+    public MeteoblueWeatherClient(
+            RestClient meteoblueWeatherRestClient,
+            @Value("${weather.meteoblue.token}") String apiKey,
+            ObjectMapper objectMapper,
+            WeatherMetrics metrics,
+            RateLimiter meteoblueRateLimiter,
+            @Value("${weather.meteoblue.rate-limit.max-wait:PT2M}") Duration maxRateLimitWait,
+            @Value("${weather.meteoblue.retry.max-attempts:4}") int maxAttempts,
+            @Value("${weather.meteoblue.retry.initial-backoff:PT0.5S}") Duration initialBackoff,
+            @Value("${weather.meteoblue.retry.max-backoff:PT20S}") Duration maxBackoff,
+            @Value("${weather.meteoblue.circuit-breaker.failure-threshold:10}") int failureThreshold,
+            @Value("${weather.meteoblue.circuit-breaker.open-duration:PT1M}") Duration openDuration
+    ) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("weather.meteoblue.retry.max-attempts must be >= 1");
+        }
         this.restClient = meteoblueWeatherRestClient;
         this.apiKey = apiKey;
+        this.objectMapper = objectMapper;
+        this.decoder = new MeteoblueColumnarDecoder(objectMapper);
+        this.rateLimiter = meteoblueRateLimiter;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.maxRateLimitWait = maxRateLimitWait;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.metrics = metrics;
     }
 
     public MeteoblueWeatherResponse fetchCurrentForecast(double latitude, double longitude, int asl) {
+        return fetchForecast(latitude, longitude, asl).response();
+    }
+
+    /**
+     * Fetches the raw body and decodes it into columnar form with the streaming decoder.
+     */
+    public MeteoblueForecast fetchForecast(double latitude, double longitude, int asl) {
+        byte[] body = fetchBodyWithRetry(latitude, longitude, asl);
+        long start = System.nanoTime();
+        try {
+            ColumnarForecast columnar = decoder.decode(body);
+            metrics.decoded(System.nanoTime() - start);
+            return new MeteoblueForecast(body, columnar, objectMapper);
+        } catch (IOException ex) {
+            throw new MeteoblueClientException("Meteoblue parse failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private byte[] fetchBodyWithRetry(double latitude, double longitude, int asl) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return fetchBodyGuarded(latitude, longitude, asl);
+            } catch (MeteoblueClientException ex) {
+                if (!ex.isRetryable() || attempt >= maxAttempts) {
+                    throw ex;
+                }
+                long backoff = backoffMillis(attempt, ex.getRetryAfter());
+                metrics.upstreamRetry();
+                log.debug("Meteoblue attempt {}/{} failed ({}), retrying in {} ms",
+                        attempt, maxAttempts, ex.getMessage(), backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    private byte[] fetchBodyGuarded(double latitude, double longitude, int asl) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            metrics.upstreamRequest(UpstreamOutcome.REJECTED, 0);
+            throw new MeteoblueClientException("Meteoblue circuit breaker is open", false, null);
+        }
+        boolean reported = false;
+        try {
+            try {
+                if (!rateLimiter.acquire(maxRateLimitWait)) {
+                    metrics.upstreamRequest(UpstreamOutcome.REJECTED, 0);
+                    throw new MeteoblueClientException(
+                            "Meteoblue rate limit: no permit within " + maxRateLimitWait, false, null);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MeteoblueClientException("Interrupted while waiting for a Meteoblue permit", ex);
+            }
+
+            long start = System.nanoTime();
+            try {
+                byte[] body = fetchBody(latitude, longitude, asl);
+                metrics.upstreamRequest(UpstreamOutcome.SUCCESS, System.nanoTime() - start);
+                metrics.payloadSize(body.length);
+                circuitBreaker.onSuccess();
+                reported = true;
+                return body;
+            } catch (MeteoblueClientException ex) {
+                metrics.upstreamRequest(outcomeOf(ex), System.nanoTime() - start);
+                if (ex.isRetryable()) {
+                    circuitBreaker.onFailure();
+                    reported = true;
+                }
+                throw ex;
+            }
+        } finally {
+            // everything but a success or an upstream failure (client errors, rate limit, interrupts, unexpected
+            // exceptions) says nothing about upstream health, but must not leave a half-open trial in flight
+            if (!reported) {
+                circuitBreaker.onIgnored();
+            }
+        }
+    }
+
+    private byte[] fetchBody(double latitude, double longitude, int asl) {
         try {
             return restClient.get()
                     .uri(uriBuilder -> uriBuilder.path("/packages/multimodel-1h")
@@ -38,25 +176,116 @@ public class MeteoblueWeatherClient {
                     .retrieve()
                     .onStatus(HttpStatusCode::isError,
                             (request, response) -> {
+                                HttpStatusCode status = response.getStatusCode();
+                                boolean retryable = status.is5xxServerError()
+                                        || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
                                 throw new MeteoblueClientException(
-                                        "Meteoblue request failed: " + response.getStatusCode());
+                                        "Meteoblue request failed: " + status,
+                                        status,
+                                        retryable,
+                                        retryAfter(response.getHeaders()));
                             })
-                    .body(MeteoblueWeatherResponse.class);
+                    .body(byte[].class);
+        } catch (ResourceAccessException ex) {
+            // connect/read timeouts and other I/O errors
+            throw new MeteoblueClientException("Meteoblue request failed: " + ex.getMessage(), true, null, ex);
         } catch (RestClientException ex) {
-            // Covers: IO errors, timeouts, AND JSON mapping issues on 200 responses
             throw new MeteoblueClientException("Meteoblue request/parse failed: " + ex.getMessage(),
                     ex);
         }
     }
 
+    private static UpstreamOutcome outcomeOf(MeteoblueClientException ex) {
+        HttpStatusCode status = ex.getStatus();
+        if (status == null) {
+            return UpstreamOutcome.IO_ERROR;
+        }
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return UpstreamOutcome.THROTTLED;
+        }
+        return status.is5xxServerError() ? UpstreamOutcome.SERVER_ERROR : UpstreamOutcome.CLIENT_ERROR;
+    }
+
+    /**
+     * Full jitter: uniform in [0, min(max, initial * 2^(attempt-1))], but never shorter than Retry-After.
+     */
+    private long backoffMillis(int attempt, Duration retryAfter) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (retryAfter != null) {
+            backoff = Math.max(backoff, Math.min(retryAfter.toMillis(), maxBackoffMillis));
+        }
+        return backoff;
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            // HTTP-date form is not used by Meteoblue
+            return null;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MeteoblueClientException("Interrupted while backing off", ex);
+        }
+    }
+
     public static class MeteoblueClientException extends RuntimeException {
+
+        private final HttpStatusCode status;
+        private final boolean retryable;
+        private final Duration retryAfter;
+
         public MeteoblueClientException(String message) {
-            super(message);
+            this(message, false, null);
         }
 
         public MeteoblueClientException(String message, Throwable cause) {
+            this(message, false, null, cause);
+        }
+
+        public MeteoblueClientException(String message, boolean retryable, Duration retryAfter) {
+            this(message, null, retryable, retryAfter);
+        }
+
+        public MeteoblueClientException(String message, HttpStatusCode status, boolean retryable, Duration retryAfter) {
+            super(message);
+            this.status = status;
+            this.retryable = retryable;
+            this.retryAfter = retryAfter;
+        }
+
+        public MeteoblueClientException(String message, boolean retryable, Duration retryAfter, Throwable cause) {
             super(message,
                     cause);
+            this.status = null;
+            this.retryable = retryable;
+            this.retryAfter = retryAfter;
+        }
+
+        /**
+         * HTTP status of an error response; null when no response was received.
+         */
+        public HttpStatusCode getStatus() {
+            return status;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
         }
     }
 }
@@ -1,27 +1,104 @@
 package com.flightready.weather.client;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Configuration
 public class MeteoblueWeatherClientConfig {
 
+    /**
+     * Pooled keep-alive connections to Meteoblue. All requests go to one route, so the per-route limit is the
+     * pool size; it should be at least {@code weather.sync.concurrency}.
+     */
+    @Bean(destroyMethod = "close")
+    CloseableHttpClient meteoblueHttpClient(
+            @Value("${weather.meteoblue.http.max-connections:16}") int maxConnections,
+            @Value("${weather.meteoblue.http.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${weather.meteoblue.http.read-timeout:PT30S}") Duration readTimeout,
+            @Value("${weather.meteoblue.http.connection-request-timeout:PT30S}") Duration connectionRequestTimeout,
+            @Value("${weather.meteoblue.http.keep-alive:PT30S}") Duration keepAlive
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(Duration.ofMinutes(5)))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                // retries are done by MeteoblueWeatherClient, with backoff and circuit breaker
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
     RestClient meteoblueWeatherRestClient(
             @Value("${weather.meteoblue.base-url}") String baseUrl,
-            @Value("${weather.meteoblue.token}") String apiKey
+            CloseableHttpClient meteoblueHttpClient
     ) {
         return RestClient.builder()
                 .baseUrl(baseUrl)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(meteoblueHttpClient))
                 .defaultHeader(HttpHeaders.ACCEPT, "application/json")
-                .defaultUriVariables(Map.of(
-                        "apikey", apiKey,
-                        "format", "json"
-                ))
                 .build();
     }
+
+    /**
+     * {@code GET /actuator/info}: the sync provider and the Meteoblue endpoint it calls (never the token), so load
+     * tests can check they talk to a stub before starting a sync.
+     */
+    @Bean
+    InfoContributor weatherInfoContributor(
+            @Value("${weather.provider:meteoblue}") String provider,
+            @Value("${weather.meteoblue.base-url}") String baseUrl
+    ) {
+        return builder -> builder.withDetail("weather", Map.of("provider", provider, "meteoblueBaseUrl", baseUrl));
+    }
+
+    /**
+     * {@code cluster}: one bucket in the database for all instances, so the quota is not multiplied by the replica
+     * count. {@code instance}: an in-process bucket, for a single instance or when each one has its own API key.
+     */
+    @Bean
+    RateLimiter meteoblueRateLimiter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${weather.meteoblue.rate-limit.scope:cluster}") String scope,
+            @Value("${weather.meteoblue.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${weather.meteoblue.rate-limit.burst:10}") int burst
+    ) {
+        return switch (scope) {
+            case "cluster" -> new SharedTokenBucketRateLimiter(jdbcTemplate, "meteoblue", requestsPerSecond, burst);
+            case "instance" -> new TokenBucketRateLimiter(requestsPerSecond, burst);
+            default -> throw new IllegalArgumentException(
+                    "weather.meteoblue.rate-limit.scope must be 'cluster' or 'instance'");
+        };
+    }
 }
@@ -0,0 +1,32 @@
+package com.flightready.weather.client;
+
+import com.flightready.weather.provider.ForecastPoint;
+import com.flightready.weather.provider.ProviderForecast;
+import com.flightready.weather.provider.WeatherProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meteoblue multimodel-1h behind the provider SPI. Goes through {@link MeteoblueForecastCache}, so points in the
+ * same bucket share one upstream call; the API takes one point per request, hence no batching.
+ */
+@Component
+public class MeteoblueWeatherProvider implements WeatherProvider {
+
+    public static final String ID = "meteoblue";
+
+    private final MeteoblueForecastCache forecastCache;
+
+    public MeteoblueWeatherProvider(MeteoblueForecastCache forecastCache) {
+        this.forecastCache = forecastCache;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public ProviderForecast fetch(ForecastPoint point) {
+        return forecastCache.fetch(point.latitude(), point.longitude(), point.asl()).forecast();
+    }
+}
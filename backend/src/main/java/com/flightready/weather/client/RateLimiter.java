@@ -0,0 +1,13 @@
+package com.flightready.weather.client;
+
+import java.time.Duration;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one permit, waiting up to {@code maxWait} for it.
+     *
+     * @return false if no permit becomes available within {@code maxWait}; nothing is consumed in that case
+     */
+    boolean acquire(Duration maxWait) throws InterruptedException;
+}
@@ -0,0 +1,63 @@
+package com.flightready.weather.client;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket kept in a {@code rate_limit_bucket} row, so every instance draws from the same quota. Each permit is
+ * reserved with one UPDATE under the row lock, refilled by the database clock; the caller sleeps off a deficit
+ * outside the database, like {@link TokenBucketRateLimiter}. At upstream request rates the extra round trip per
+ * request is negligible.
+ */
+public final class SharedTokenBucketRateLimiter implements RateLimiter {
+
+    private static final String REFILLED = """
+            LEAST(?, tokens + GREATEST(0, extract(epoch FROM clock_timestamp() - refilled_at)) * ?)""";
+
+    private static final String RESERVE_SQL = """
+            UPDATE rate_limit_bucket
+            SET tokens = %1$s - 1,
+                refilled_at = GREATEST(refilled_at, clock_timestamp())
+            WHERE name = ? AND %1$s - 1 >= ?
+            RETURNING tokens
+            """.formatted(REFILLED);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String name;
+    private final double permitsPerSecond;
+    private final double burst;
+
+    public SharedTokenBucketRateLimiter(JdbcTemplate jdbcTemplate, String name, double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        jdbcTemplate.update("""
+                INSERT INTO rate_limit_bucket (name, tokens, refilled_at)
+                VALUES (?, ?, clock_timestamp())
+                ON CONFLICT (name) DO NOTHING
+                """, name, this.burst);
+    }
+
+    @Override
+    public boolean acquire(Duration maxWait) throws InterruptedException {
+        // a reservation is granted while the deficit it leaves can be refilled within maxWait
+        double minTokens = -maxWait.toNanos() / 1e9 * permitsPerSecond;
+        List<Double> left = jdbcTemplate.queryForList(RESERVE_SQL, Double.class,
+                burst, permitsPerSecond, name, burst, permitsPerSecond, minTokens);
+        if (left.isEmpty()) {
+            return false;
+        }
+        double deficit = -left.get(0);
+        if (deficit > 0) {
+            TimeUnit.NANOSECONDS.sleep((long) Math.ceil(deficit / permitsPerSecond * 1e9));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.flightready.weather.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.flightready.weather.ensemble.EnsembleForecast;
+import com.flightready.weather.ensemble.EnsembleForecast.CircularStats;
+import com.flightready.weather.ensemble.EnsembleForecast.SeriesStats;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cross-model statistics of the latest stored forecast, per hour. {@code agreement} holds bit masks of
+ * {@link EnsembleForecast.Agreement} (1 temperature, 2 precipitation, 4 cloud cover, 8 wind direction).
+ */
+public record EnsembleResponse(
+        UUID launchsiteId,
+        UUID weatherId,
+        OffsetDateTime fetchedAt,
+        String modelrunUpdatetimeUtc,
+        List<String> models,
+        long[] time,
+        int[] modelCount,
+        SeriesStats temperature,
+        SeriesStats precipitation,
+
+        @JsonSerialize(using = MissingAsNullSerializers.Doubles.class)
+        double[] precipitationProbability,
+
+        SeriesStats cloudcover,
+        CircularStats winddirection,
+        int[] agreement
+) {
+
+    public static EnsembleResponse of(EnsembleForecast ensemble, OffsetDateTime fetchedAt, String modelrunUpdatetimeUtc) {
+        return new EnsembleResponse(
+                ensemble.launchsiteId(),
+                ensemble.weatherId(),
+                fetchedAt,
+                modelrunUpdatetimeUtc,
+                ensemble.models(),
+                ensemble.time(),
+                ensemble.modelCount(),
+                ensemble.temperature(),
+                ensemble.precipitation(),
+                ensemble.precipitationProbability(),
+                ensemble.cloudcover(),
+                ensemble.winddirection(),
+                ensemble.agreement()
+        );
+    }
+}
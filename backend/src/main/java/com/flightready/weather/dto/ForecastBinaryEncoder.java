@@ -0,0 +1,178 @@
+package com.flightready.weather.dto;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact columnar binary form of a {@link ForecastResponse}, served for {@value #MEDIA_TYPE}.
+ *
+ * Little-endian layout; every array starts 4-byte aligned so browsers can wrap it in a typed array without copying:
+ * <pre>
+ * "FRF1"                         magic
+ * u16 modelCount, u16 hourCount
+ * i64 firstHour                  epoch seconds
+ * i32 step                       seconds between hours; 0 = irregular, then i32[hourCount] offsets from firstHour
+ * u8[16] launchsiteId, u8[16] weatherId
+ * i64 fetchedAt                  epoch millis
+ * str modelrunUpdatetimeUtc, str[modelCount] models     (str = u16 byte length + UTF-8)
+ * u16 variableCount, then per variable:
+ *   str name, u8 encoding (1 = int16, 2 = uint8), f32 scale, pad to 4, values [model][hour]
+ * </pre>
+ * Values are quantized: value = raw * scale. Missing values are {@link #MISSING_INT16} / {@link #MISSING_UINT8}.
+ */
+public final class ForecastBinaryEncoder {
+
+    public static final String MEDIA_TYPE = "application/vnd.flightready.forecast.v1";
+
+    public static final short MISSING_INT16 = Short.MIN_VALUE;
+    public static final int MISSING_UINT8 = 0xFF;
+
+    private static final byte[] MAGIC = {'F', 'R', 'F', '1'};
+    private static final byte INT16 = 1;
+    private static final byte UINT8 = 2;
+
+    private static final float TEMPERATURE_SCALE = 0.01f;
+    private static final float PRECIPITATION_SCALE = 0.01f;
+
+    private ForecastBinaryEncoder() {}
+
+    public static byte[] encode(ForecastResponse forecast) {
+        List<String> models = forecast.models();
+        long[] time = forecast.time();
+        int hours = time.length;
+        long firstHour = hours > 0 ? time[0] : 0;
+        int step = uniformStep(time);
+
+        byte[] modelrun = utf8(forecast.modelrunUpdatetimeUtc());
+        byte[][] modelNames = new byte[models.size()][];
+        int headerSize = 4 + 2 + 2 + 8 + 4 + (step == 0 ? 4 * hours : 0) + 16 + 16 + 8 + 2 + modelrun.length;
+        for (int m = 0; m < modelNames.length; m++) {
+            modelNames[m] = utf8(models.get(m));
+            headerSize += 2 + modelNames[m].length;
+        }
+        int values = models.size() * hours;
+        int size = align(headerSize + 2)
+                + variableSize("temperature", 2 * values)
+                + variableSize("precipitation", 2 * values)
+                + variableSize("cloudcover", values)
+                + variableSize("winddirection", 2 * values);
+
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(MAGIC);
+        out.putShort((short) models.size());
+        out.putShort((short) hours);
+        out.putLong(firstHour);
+        out.putInt(step);
+        if (step == 0) {
+            for (long t : time) {
+                out.putInt((int) (t - firstHour));
+            }
+        }
+        putUuid(out, forecast.launchsiteId());
+        putUuid(out, forecast.weatherId());
+        out.putLong(forecast.fetchedAt() != null ? forecast.fetchedAt().toInstant().toEpochMilli() : 0);
+        putString(out, modelrun);
+        for (byte[] name : modelNames) {
+            putString(out, name);
+        }
+        out.putShort((short) 4);
+        pad(out);
+
+        putHeader(out, "temperature", INT16, TEMPERATURE_SCALE);
+        for (double[] series : forecast.temperature()) {
+            for (double value : series) {
+                out.putShort(quantize(value, TEMPERATURE_SCALE));
+            }
+        }
+        pad(out);
+        putHeader(out, "precipitation", INT16, PRECIPITATION_SCALE);
+        for (double[] series : forecast.precipitation()) {
+            for (double value : series) {
+                out.putShort(quantize(value, PRECIPITATION_SCALE));
+            }
+        }
+        pad(out);
+        putHeader(out, "cloudcover", UINT8, 1f);
+        for (int[] series : forecast.cloudcover()) {
+            for (int value : series) {
+                out.put((byte) (value < 0 || value > 100 ? MISSING_UINT8 : value));
+            }
+        }
+        pad(out);
+        putHeader(out, "winddirection", INT16, 1f);
+        for (int[] series : forecast.winddirection()) {
+            for (int value : series) {
+                out.putShort(value < 0 || value > 360 ? MISSING_INT16 : (short) value);
+            }
+        }
+        pad(out);
+        return out.array();
+    }
+
+    private static int uniformStep(long[] time) {
+        if (time.length < 2) {
+            return 3600;
+        }
+        long step = time[1] - time[0];
+        for (int i = 2; i < time.length; i++) {
+            if (time[i] - time[i - 1] != step) {
+                return 0;
+            }
+        }
+        return step > 0 && step <= Integer.MAX_VALUE ? (int) step : 0;
+    }
+
+    private static short quantize(double value, float scale) {
+        if (Double.isNaN(value)) {
+            return MISSING_INT16;
+        }
+        long raw = Math.round(value / scale);
+        // MISSING_INT16 itself is reserved
+        return (short) Math.max(Short.MIN_VALUE + 1, Math.min(Short.MAX_VALUE, raw));
+    }
+
+    private static int variableSize(String name, int valueBytes) {
+        return align(2 + utf8(name).length + 1 + 4) + align(valueBytes);
+    }
+
+    private static void putHeader(ByteBuffer out, String name, byte encoding, float scale) {
+        putString(out, utf8(name));
+        out.put(encoding);
+        out.putFloat(scale);
+        pad(out);
+    }
+
+    private static void putString(ByteBuffer out, byte[] utf8) {
+        out.putShort((short) utf8.length);
+        out.put(utf8);
+    }
+
+    private static void putUuid(ByteBuffer out, UUID id) {
+        // big-endian, the canonical byte order of a UUID
+        long most = id != null ? id.getMostSignificantBits() : 0;
+        long least = id != null ? id.getLeastSignificantBits() : 0;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.put((byte) (most >>> shift));
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.put((byte) (least >>> shift));
+        }
+    }
+
+    private static void pad(ByteBuffer out) {
+        while ((out.position() & 3) != 0) {
+            out.put((byte) 0);
+        }
+    }
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+}
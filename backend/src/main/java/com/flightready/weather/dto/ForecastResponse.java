@@ -0,0 +1,32 @@
+package com.flightready.weather.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stored hourly forecast of one launchsite. Series are indexed {@code [model][hour]}; {@code time} holds the
+ * epoch seconds (UTC) of each hour. Missing values are null.
+ */
+public record ForecastResponse(
+        UUID launchsiteId,
+        UUID weatherId,
+        OffsetDateTime fetchedAt,
+        String modelrunUpdatetimeUtc,
+        List<String> models,
+        long[] time,
+
+        @JsonSerialize(contentUsing = MissingAsNullSerializers.Doubles.class)
+        double[][] temperature,
+
+        @JsonSerialize(contentUsing = MissingAsNullSerializers.Doubles.class)
+        double[][] precipitation,
+
+        @JsonSerialize(contentUsing = MissingAsNullSerializers.Ints.class)
+        int[][] cloudcover,
+
+        @JsonSerialize(contentUsing = MissingAsNullSerializers.Ints.class)
+        int[][] winddirection
+) {}
@@ -0,0 +1,59 @@
+package com.flightready.weather.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.flightready.weather.forecast.ColumnarForecast;
+
+import java.io.IOException;
+
+/**
+ * Writes primitive forecast series as JSON arrays with {@code null} for missing values
+ * ({@code NaN} / {@link ColumnarForecast#MISSING_INT}) instead of Jackson's quoted "NaN".
+ * Values are written with float precision, which is what forecast_hour stores.
+ */
+public final class MissingAsNullSerializers {
+
+    private MissingAsNullSerializers() {
+    }
+
+    public static class Doubles extends StdSerializer<double[]> {
+
+        public Doubles() {
+            super(double[].class);
+        }
+
+        @Override
+        public void serialize(double[] values, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(values, values.length);
+            for (double value : values) {
+                if (Double.isNaN(value)) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber((float) value);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static class Ints extends StdSerializer<int[]> {
+
+        public Ints() {
+            super(int[].class);
+        }
+
+        @Override
+        public void serialize(int[] values, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(values, values.length);
+            for (int value : values) {
+                if (value == ColumnarForecast.MISSING_INT) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+}
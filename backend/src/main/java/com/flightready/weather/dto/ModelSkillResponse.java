@@ -0,0 +1,41 @@
+package com.flightready.weather.dto;
+
+import com.flightready.weather.verification.ModelSkill;
+import com.flightready.weather.verification.ModelSkill.Variable;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Measured accuracy of each model at a launchsite, best weighted first. {@code weight} is null until a model has
+ * enough verified hours.
+ */
+public record ModelSkillResponse(UUID launchsiteId, List<ModelEntry> models) {
+
+    public record ModelEntry(String model, Double weight, Map<String, Stats> variables) {}
+
+    public record Stats(double samples, double bias, double meanAbsError, double rmse, Instant verifiedUntil) {}
+
+    public interface Weighting {
+        Double weight(Map<Variable, ModelSkill> model);
+    }
+
+    public static ModelSkillResponse of(UUID launchsiteId, Map<String, Map<Variable, ModelSkill>> skill,
+                                        Weighting weighting) {
+        List<ModelEntry> models = skill.entrySet().stream()
+                .map(entry -> {
+                    Map<String, Stats> variables = new LinkedHashMap<>();
+                    entry.getValue().forEach((variable, s) -> variables.put(variable.column(),
+                            new Stats(s.samples(), s.bias(), s.meanAbsError(), s.rmse(), s.verifiedUntil())));
+                    return new ModelEntry(entry.getKey(), weighting.weight(entry.getValue()), variables);
+                })
+                .sorted(Comparator.comparing(ModelEntry::weight, Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(ModelEntry::model))
+                .toList();
+        return new ModelSkillResponse(launchsiteId, models);
+    }
+}
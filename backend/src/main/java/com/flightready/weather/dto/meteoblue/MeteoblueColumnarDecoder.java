@@ -0,0 +1,394 @@
+package com.flightready.weather.dto.meteoblue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.forecast.ColumnarForecast;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes a Meteoblue multimodel-1h document straight into a {@link ColumnarForecast}.
+ *
+ * The hourly series are read with Jackson's token API into growable primitive buffers, so no boxed
+ * {@code Double}/{@code Integer} or intermediate {@code List} is created for them. Only the small
+ * {@code metadata} object goes through databind. Instances are thread-safe.
+ */
+public class MeteoblueColumnarDecoder {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+    private static final int MAX_SCALE = POWERS_OF_TEN.length - 1;
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+
+    public MeteoblueColumnarDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public ColumnarForecast decode(byte[] json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return decode(parser);
+        }
+    }
+
+    public ColumnarForecast decode(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return decode(parser);
+        }
+    }
+
+    private ColumnarForecast decode(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+        Metadata metadata = null;
+        HourlySeries series = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("metadata".equals(field) && value == JsonToken.START_OBJECT) {
+                metadata = objectMapper.readValue(parser, Metadata.class);
+            } else if ("multimodel".equals(field) && value == JsonToken.START_OBJECT) {
+                series = readMultimodel(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (series == null) {
+            series = new HourlySeries();
+        }
+        long offsetSeconds = metadata == null ? 0 : Math.round(metadata.utcTimeOffset() * 3600);
+        return series.toForecast(metadata, offsetSeconds);
+    }
+
+    private HourlySeries readMultimodel(JsonParser parser) throws IOException {
+        HourlySeries series = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data_1h".equals(field) && value == JsonToken.START_OBJECT) {
+                series = readData(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return series;
+    }
+
+    private HourlySeries readData(JsonParser parser) throws IOException {
+        HourlySeries series = new HourlySeries();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "time" -> series.localTime = readLocalTimes(parser);
+                case "temperature_spread" -> series.temperatureSpread = readDoubles(parser, new DoubleBuffer());
+                case "temperature" -> series.temperature = readDoubleMatrix(parser);
+                case "precipitation" -> series.precipitation = readDoubleMatrix(parser);
+                case "cloudcover" -> series.cloudcover = readIntMatrix(parser);
+                case "winddirection" -> series.winddirection = readIntMatrix(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return series;
+    }
+
+    private static long[] readLocalTimes(JsonParser parser) throws IOException {
+        LongBuffer buffer = new LongBuffer();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(token, JsonToken.VALUE_STRING, parser);
+            buffer.add(parseLocalEpochSeconds(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+        }
+        return buffer.toArray();
+    }
+
+    private static double[] readDoubles(JsonParser parser, DoubleBuffer buffer) throws IOException {
+        buffer.clear();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            buffer.add(token == JsonToken.VALUE_NULL ? Double.NaN : readDouble(parser, token));
+        }
+        return buffer.toArray();
+    }
+
+    private static int[] readInts(JsonParser parser, IntBuffer buffer) throws IOException {
+        buffer.clear();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_NULL) {
+                buffer.add(ColumnarForecast.MISSING_INT);
+            } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                buffer.add(parser.getIntValue());
+            } else {
+                buffer.add((int) Math.round(readDouble(parser, token)));
+            }
+        }
+        return buffer.toArray();
+    }
+
+    /**
+     * Reads a number without going through {@code String}/{@code BigDecimal}: plain decimals with at most
+     * 15 significant digits are exact as {@code mantissa / 10^scale}, which covers everything Meteoblue sends.
+     * Anything else falls back to Jackson.
+     */
+    private static double readDouble(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int end = offset + parser.getTextLength();
+
+        boolean negative = chars[offset] == '-';
+        int i = negative ? offset + 1 : offset;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || digits == 15 || scale == MAX_SCALE) {
+                return parser.getDoubleValue();
+            }
+            mantissa = mantissa * 10 + digit;
+            if (mantissa != 0) {
+                digits++;
+            }
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        double value = scale <= 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static double[][] readDoubleMatrix(JsonParser parser) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        DoubleBuffer buffer = new DoubleBuffer();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_ARRAY) {
+                rows.add(readDoubles(parser, buffer));
+            } else {
+                rows.add(new double[0]);
+            }
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    private static int[][] readIntMatrix(JsonParser parser) throws IOException {
+        List<int[]> rows = new ArrayList<>();
+        IntBuffer buffer = new IntBuffer();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_ARRAY) {
+                rows.add(readInts(parser, buffer));
+            } else {
+                rows.add(new int[0]);
+            }
+        }
+        return rows.toArray(new int[0][]);
+    }
+
+    /**
+     * Builds the columnar form from an already databound response.
+     */
+    public static ColumnarForecast fromResponse(MeteoblueWeatherResponse response) {
+        Metadata metadata = response.metadata();
+        Data data = response.multimodel() == null ? null : response.multimodel().data();
+
+        HourlySeries series = new HourlySeries();
+        if (data != null) {
+            if (data.time() != null) {
+                series.localTime = data.time().stream()
+                        .mapToLong(time -> parseLocalEpochSeconds(time.toCharArray(), 0, time.length()))
+                        .toArray();
+            }
+            series.temperatureSpread = toDoubles(data.temperature_spread());
+            series.temperature = toDoubleMatrix(data.temperature());
+            series.precipitation = toDoubleMatrix(data.precipitation());
+            series.cloudcover = toIntMatrix(data.cloudcover());
+            series.winddirection = toIntMatrix(data.winddirection());
+        }
+        long offsetSeconds = metadata == null ? 0 : Math.round(metadata.utcTimeOffset() * 3600);
+        return series.toForecast(metadata, offsetSeconds);
+    }
+
+    private static double[] toDoubles(List<Double> values) {
+        if (values == null) {
+            return new double[0];
+        }
+        double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Double value = values.get(i);
+            result[i] = value == null ? Double.NaN : value;
+        }
+        return result;
+    }
+
+    private static double[][] toDoubleMatrix(List<List<Double>> rows) {
+        return rows == null ? new double[0][] : rows.stream().map(MeteoblueColumnarDecoder::toDoubles).toArray(double[][]::new);
+    }
+
+    private static int[][] toIntMatrix(List<List<Integer>> rows) {
+        if (rows == null) {
+            return new int[0][];
+        }
+        int[][] result = new int[rows.size()][];
+        for (int r = 0; r < result.length; r++) {
+            List<Integer> row = rows.get(r);
+            int[] values = new int[row == null ? 0 : row.size()];
+            for (int i = 0; i < values.length; i++) {
+                Integer value = row.get(i);
+                values[i] = value == null ? ColumnarForecast.MISSING_INT : value;
+            }
+            result[r] = values;
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm} (or ISO {@code T} separator) without allocating, treating the value as UTC.
+     */
+    static long parseLocalEpochSeconds(char[] chars, int offset, int length) {
+        if (length < 16) {
+            throw new IllegalArgumentException("Unsupported time value: " + new String(chars, offset, length));
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        return LocalDateTime.of(year, month, day, hour, minute).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Unsupported time value: " + new String(chars, offset, count));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but got " + actual + " at " + parser.currentLocation());
+        }
+    }
+
+    private static final class HourlySeries {
+        long[] localTime = new long[0];
+        double[] temperatureSpread = new double[0];
+        double[][] temperature = new double[0][];
+        double[][] precipitation = new double[0][];
+        int[][] cloudcover = new int[0][];
+        int[][] winddirection = new int[0][];
+
+        ColumnarForecast toForecast(Metadata metadata, long offsetSeconds) {
+            long[] time = localTime;
+            for (int i = 0; i < time.length; i++) {
+                time[i] -= offsetSeconds;
+            }
+
+            List<String> models = metadata == null || metadata.models() == null ? List.of() : List.copyOf(metadata.models());
+            List<String> modelrunUtc = metadata == null || metadata.modelrunUtc() == null ? List.of() : List.copyOf(metadata.modelrunUtc());
+            int[] elevation = metadata == null || metadata.gridpointElevation() == null
+                    ? new int[0]
+                    : metadata.gridpointElevation().stream().mapToInt(e -> e == null ? ColumnarForecast.MISSING_INT : e).toArray();
+
+            return new ColumnarForecast(
+                    metadata == null ? null : metadata.modelrunUpdatetimeUtc(),
+                    modelrunUtc,
+                    models,
+                    elevation,
+                    time,
+                    temperatureSpread,
+                    temperature,
+                    precipitation,
+                    cloudcover,
+                    winddirection
+            );
+        }
+    }
+
+    private static final class DoubleBuffer {
+        private double[] values = new double[256];
+        private int size;
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class IntBuffer {
+        private int[] values = new int[256];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongBuffer {
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.flightready.weather.dto.meteoblue;
 
+import com.flightready.weather.forecast.ColumnarForecast;
+
 public record MeteoblueWeatherResponse(
         Metadata metadata,
         Units units,
         Multimodel multimodel
-) {}
\ No newline at end of file
+) {
+
+    /**
+     * Primitive, column-oriented view of the hourly series. Computed on each call.
+     */
+    public ColumnarForecast columnar() {
+        return MeteoblueColumnarDecoder.fromResponse(this);
+    }
+}
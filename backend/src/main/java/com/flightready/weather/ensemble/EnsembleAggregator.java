@@ -0,0 +1,187 @@
+package com.flightready.weather.ensemble;
+
+import com.flightready.weather.ensemble.EnsembleForecast.Agreement;
+import com.flightready.weather.ensemble.EnsembleForecast.CircularStats;
+import com.flightready.weather.ensemble.EnsembleForecast.SeriesStats;
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Computes {@link EnsembleForecast}s in one pass per hour over the primitive model matrices. Per hour the model
+ * values are collected into small scratch arrays (sorted for the percentiles); no boxing, no per-hour allocation.
+ */
+@Component
+public class EnsembleAggregator {
+
+    /** precipitation per hour from which a model counts as wet */
+    public static final double WET_THRESHOLD_MM = 0.1;
+
+    private static final double TEMPERATURE_AGREEMENT_STDDEV = 1.5;
+    private static final double CLOUDCOVER_AGREEMENT_STDDEV = 15;
+    private static final double WIND_DIRECTION_AGREEMENT_VARIANCE = 0.15;
+
+    public EnsembleForecast aggregate(UUID weatherId, UUID launchsiteId, ColumnarForecast forecast) {
+        int models = forecast.modelCount();
+        int hours = forecast.hours();
+
+        int[] modelCount = new int[hours];
+        SeriesStats temperature = SeriesStats.ofHours(hours);
+        SeriesStats precipitation = SeriesStats.ofHours(hours);
+        SeriesStats cloudcover = SeriesStats.ofHours(hours);
+        double[] precipitationProbability = new double[hours];
+        CircularStats winddirection = new CircularStats(new double[hours], new double[hours]);
+        int[] agreement = new int[hours];
+
+        double[] temperatureValues = new double[models];
+        double[] precipitationValues = new double[models];
+        double[] cloudcoverValues = new double[models];
+
+        for (int h = 0; h < hours; h++) {
+            int nTemperature = 0;
+            int nPrecipitation = 0;
+            int nCloudcover = 0;
+            int nDirection = 0;
+            int wet = 0;
+            double sin = 0;
+            double cos = 0;
+            int present = 0;
+
+            for (int m = 0; m < models; m++) {
+                boolean any = false;
+                double t = forecast.temperature()[m][h];
+                if (!Double.isNaN(t)) {
+                    temperatureValues[nTemperature++] = t;
+                    any = true;
+                }
+                double p = forecast.precipitation()[m][h];
+                if (!Double.isNaN(p)) {
+                    precipitationValues[nPrecipitation++] = p;
+                    if (p >= WET_THRESHOLD_MM) {
+                        wet++;
+                    }
+                    any = true;
+                }
+                int c = forecast.cloudcover()[m][h];
+                if (c != ColumnarForecast.MISSING_INT) {
+                    cloudcoverValues[nCloudcover++] = c;
+                    any = true;
+                }
+                int d = forecast.winddirection()[m][h];
+                if (d != ColumnarForecast.MISSING_INT) {
+                    double radians = Math.toRadians(d);
+                    sin += Math.sin(radians);
+                    cos += Math.cos(radians);
+                    nDirection++;
+                    any = true;
+                }
+                if (any) {
+                    present++;
+                }
+            }
+
+            modelCount[h] = present;
+            describe(temperatureValues, nTemperature, temperature, h);
+            describe(precipitationValues, nPrecipitation, precipitation, h);
+            describe(cloudcoverValues, nCloudcover, cloudcover, h);
+            precipitationProbability[h] = nPrecipitation == 0 ? Double.NaN : (double) wet / nPrecipitation;
+
+            if (nDirection == 0) {
+                winddirection.mean()[h] = Double.NaN;
+                winddirection.variance()[h] = Double.NaN;
+            } else {
+                double resultant = Math.sqrt(sin * sin + cos * cos) / nDirection;
+                // tiny negative angles would round to 360 after adding 360
+                double mean = (Math.toDegrees(Math.atan2(sin, cos)) + 360) % 360;
+                winddirection.mean()[h] = mean >= 359.995 ? 0 : mean;
+                winddirection.variance()[h] = Math.max(0, 1 - resultant);
+            }
+
+            int flags = 0;
+            if (nTemperature >= 2 && temperature.stddev()[h] <= TEMPERATURE_AGREEMENT_STDDEV) {
+                flags |= Agreement.TEMPERATURE.bit();
+            }
+            if (nPrecipitation >= 2 && (wet == 0 || wet == nPrecipitation)) {
+                flags |= Agreement.PRECIPITATION.bit();
+            }
+            if (nCloudcover >= 2 && cloudcover.stddev()[h] <= CLOUDCOVER_AGREEMENT_STDDEV) {
+                flags |= Agreement.CLOUDCOVER.bit();
+            }
+            if (nDirection >= 2 && winddirection.variance()[h] <= WIND_DIRECTION_AGREEMENT_VARIANCE) {
+                flags |= Agreement.WIND_DIRECTION.bit();
+            }
+            agreement[h] = flags;
+        }
+
+        return new EnsembleForecast(
+                weatherId,
+                launchsiteId,
+                forecast.models(),
+                forecast.time(),
+                modelCount,
+                temperature,
+                precipitation,
+                precipitationProbability,
+                cloudcover,
+                winddirection,
+                agreement
+        );
+    }
+
+    /**
+     * Fills hour {@code h} of {@code stats} from the first {@code n} values; sorts them in place.
+     */
+    private static void describe(double[] values, int n, SeriesStats stats, int h) {
+        if (n == 0) {
+            stats.mean()[h] = Double.NaN;
+            stats.stddev()[h] = Double.NaN;
+            stats.min()[h] = Double.NaN;
+            stats.max()[h] = Double.NaN;
+            stats.p10()[h] = Double.NaN;
+            stats.p50()[h] = Double.NaN;
+            stats.p90()[h] = Double.NaN;
+            return;
+        }
+
+        // insertion sort: a handful of models per hour
+        for (int i = 1; i < n; i++) {
+            double value = values[i];
+            int j = i - 1;
+            while (j >= 0 && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += values[i];
+        }
+        double mean = sum / n;
+        double squares = 0;
+        for (int i = 0; i < n; i++) {
+            double diff = values[i] - mean;
+            squares += diff * diff;
+        }
+
+        stats.mean()[h] = mean;
+        stats.stddev()[h] = Math.sqrt(squares / n);
+        stats.min()[h] = values[0];
+        stats.max()[h] = values[n - 1];
+        stats.p10()[h] = percentile(values, n, 0.1);
+        stats.p50()[h] = percentile(values, n, 0.5);
+        stats.p90()[h] = percentile(values, n, 0.9);
+    }
+
+    /**
+     * Linear interpolation between the closest ranks of the sorted values.
+     */
+    static double percentile(double[] sorted, int n, double quantile) {
+        double rank = quantile * (n - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, n - 1);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+}
@@ -0,0 +1,104 @@
+package com.flightready.weather.ensemble;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.flightready.weather.dto.MissingAsNullSerializers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-hour statistics across the models of one stored forecast. All arrays are indexed by hour, in the order of
+ * {@code time}; statistics without any model value are {@link Double#NaN}.
+ *
+ * @param time       valid time of each hour in epoch seconds, as in the stored forecast (not necessarily hourly)
+ * @param modelCount models with at least one value in that hour
+ * @param precipitationProbability share of models with at least {@link EnsembleAggregator#WET_THRESHOLD_MM}
+ * @param agreement  bit mask of {@link Agreement}s per hour
+ */
+public record EnsembleForecast(
+        UUID weatherId,
+        UUID launchsiteId,
+        List<String> models,
+        long[] time,
+        int[] modelCount,
+        SeriesStats temperature,
+        SeriesStats precipitation,
+        double[] precipitationProbability,
+        SeriesStats cloudcover,
+        CircularStats winddirection,
+        int[] agreement
+) {
+
+    public int hours() {
+        return modelCount.length;
+    }
+
+    public Instant firstHour() {
+        return Instant.ofEpochSecond(time.length > 0 ? time[0] : 0);
+    }
+
+    public record SeriesStats(
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] mean,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] stddev,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] min,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] max,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] p10,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] p50,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] p90
+    ) {
+
+        public static final int STATISTICS = 7;
+
+        static SeriesStats ofHours(int hours) {
+            return new SeriesStats(new double[hours], new double[hours], new double[hours], new double[hours],
+                    new double[hours], new double[hours], new double[hours]);
+        }
+
+        /** The statistics in storage order. */
+        double[][] columns() {
+            return new double[][]{mean, stddev, min, max, p10, p50, p90};
+        }
+
+        static SeriesStats fromColumns(double[][] columns) {
+            return new SeriesStats(columns[0], columns[1], columns[2], columns[3], columns[4], columns[5], columns[6]);
+        }
+    }
+
+    /**
+     * @param mean     circular mean direction in degrees [0, 360)
+     * @param variance circular variance 1 - R in [0, 1]; 0 when all models point the same way
+     */
+    public record CircularStats(
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] mean,
+            @JsonSerialize(using = MissingAsNullSerializers.Doubles.class) double[] variance
+    ) {}
+
+    /**
+     * Hours in which the models agree, as bits of {@link #agreement()}. Needs at least two models.
+     */
+    public enum Agreement {
+        /** temperature stddev at most 1.5 K */
+        TEMPERATURE(1),
+        /** all models dry or all models wet */
+        PRECIPITATION(2),
+        /** cloud cover stddev at most 15 % */
+        CLOUDCOVER(4),
+        /** circular variance of wind direction at most 0.15 */
+        WIND_DIRECTION(8);
+
+        private final int bit;
+
+        Agreement(int bit) {
+            this.bit = bit;
+        }
+
+        public int bit() {
+            return bit;
+        }
+
+        public boolean isSet(int mask) {
+            return (mask & bit) != 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.flightready.weather.ensemble;
+
+import com.flightready.weather.ensemble.EnsembleForecast.CircularStats;
+import com.flightready.weather.ensemble.EnsembleForecast.SeriesStats;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * One {@code forecast_ensemble} row per stored forecast; series are stored flattened as {@code [statistic][hour]}.
+ */
+@Repository
+public class EnsembleRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnsembleRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(EnsembleForecast ensemble) {
+        jdbcTemplate.update(connection -> {
+            var ps = connection.prepareStatement("""
+                    INSERT INTO forecast_ensemble (weather_id, launchsite_id, models, first_hour, hours, model_count,
+                        temperature, precipitation, precipitation_probability, cloudcover, winddirection, agreement,
+                        valid_time)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """);
+            ps.setObject(1, ensemble.weatherId());
+            ps.setObject(2, ensemble.launchsiteId());
+            ps.setArray(3, connection.createArrayOf("text", ensemble.models().toArray()));
+            ps.setTimestamp(4, Timestamp.from(ensemble.firstHour()));
+            ps.setInt(5, ensemble.hours());
+            ps.setArray(6, smallints(connection, ensemble.modelCount()));
+            ps.setArray(7, reals(connection, ensemble.temperature().columns()));
+            ps.setArray(8, reals(connection, ensemble.precipitation().columns()));
+            ps.setArray(9, reals(connection, new double[][]{ensemble.precipitationProbability()}));
+            ps.setArray(10, reals(connection, ensemble.cloudcover().columns()));
+            ps.setArray(11, reals(connection,
+                    new double[][]{ensemble.winddirection().mean(), ensemble.winddirection().variance()}));
+            ps.setArray(12, smallints(connection, ensemble.agreement()));
+            ps.setArray(13, timestamps(connection, ensemble.time()));
+            return ps;
+        });
+    }
+
+    public Optional<EnsembleForecast> findByWeatherId(UUID weatherId) {
+        return jdbcTemplate.query(
+                "SELECT * FROM forecast_ensemble WHERE weather_id = ?", this::mapRow, weatherId
+        ).stream().findFirst();
+    }
+
+    private EnsembleForecast mapRow(ResultSet rs, int rowNum) throws SQLException {
+        int hours = rs.getInt("hours");
+        double[][] winddirection = readReals(rs, "winddirection", 2, hours);
+        return new EnsembleForecast(
+                rs.getObject("weather_id", UUID.class),
+                rs.getObject("launchsite_id", UUID.class),
+                List.of(readTexts(rs, "models")),
+                readTime(rs, hours),
+                readSmallints(rs, "model_count"),
+                SeriesStats.fromColumns(readReals(rs, "temperature", SeriesStats.STATISTICS, hours)),
+                SeriesStats.fromColumns(readReals(rs, "precipitation", SeriesStats.STATISTICS, hours)),
+                readReals(rs, "precipitation_probability", 1, hours)[0],
+                SeriesStats.fromColumns(readReals(rs, "cloudcover", SeriesStats.STATISTICS, hours)),
+                new CircularStats(winddirection[0], winddirection[1]),
+                readSmallints(rs, "agreement")
+        );
+    }
+
+    /** NaN is stored as NULL. */
+    private static Array reals(Connection connection, double[][] columns) throws SQLException {
+        int hours = columns.length == 0 ? 0 : columns[0].length;
+        Float[] flat = new Float[columns.length * hours];
+        for (int s = 0; s < columns.length; s++) {
+            for (int h = 0; h < hours; h++) {
+                double value = columns[s][h];
+                flat[s * hours + h] = Double.isNaN(value) ? null : (float) value;
+            }
+        }
+        return connection.createArrayOf("float4", flat);
+    }
+
+    private static Array timestamps(Connection connection, long[] epochSeconds) throws SQLException {
+        Timestamp[] timestamps = new Timestamp[epochSeconds.length];
+        for (int i = 0; i < epochSeconds.length; i++) {
+            timestamps[i] = new Timestamp(epochSeconds[i] * 1000);
+        }
+        return connection.createArrayOf("timestamptz", timestamps);
+    }
+
+    private static Array smallints(Connection connection, int[] values) throws SQLException {
+        Short[] boxed = new Short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = (short) values[i];
+        }
+        return connection.createArrayOf("int2", boxed);
+    }
+
+    private static double[][] readReals(ResultSet rs, String column, int statistics, int hours) throws SQLException {
+        Array array = rs.getArray(column);
+        Float[] flat = (Float[]) array.getArray();
+        double[][] columns = new double[statistics][hours];
+        for (int s = 0; s < statistics; s++) {
+            for (int h = 0; h < hours; h++) {
+                Float value = flat[s * hours + h];
+                columns[s][h] = value == null ? Double.NaN : value;
+            }
+        }
+        array.free();
+        return columns;
+    }
+
+    /** Rows stored before valid_time existed are hourly from first_hour. */
+    private static long[] readTime(ResultSet rs, int hours) throws SQLException {
+        Array array = rs.getArray("valid_time");
+        long[] time = new long[hours];
+        if (array == null) {
+            long firstHour = rs.getTimestamp("first_hour").toInstant().getEpochSecond();
+            for (int h = 0; h < hours; h++) {
+                time[h] = firstHour + h * 3600L;
+            }
+            return time;
+        }
+        Timestamp[] timestamps = (Timestamp[]) array.getArray();
+        for (int h = 0; h < hours; h++) {
+            time[h] = timestamps[h].toInstant().getEpochSecond();
+        }
+        array.free();
+        return time;
+    }
+
+    private static int[] readSmallints(ResultSet rs, String column) throws SQLException {
+        Array array = rs.getArray(column);
+        Short[] boxed = (Short[]) array.getArray();
+        int[] values = Arrays.stream(boxed).mapToInt(value -> value == null ? 0 : value).toArray();
+        array.free();
+        return values;
+    }
+
+    private static String[] readTexts(ResultSet rs, String column) throws SQLException {
+        Array array = rs.getArray(column);
+        String[] values = (String[]) array.getArray();
+        array.free();
+        return values;
+    }
+}
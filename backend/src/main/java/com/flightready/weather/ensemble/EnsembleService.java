@@ -0,0 +1,53 @@
+package com.flightready.weather.ensemble;
+
+import com.flightready.weather.ForecastNotFoundException;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.service.ForecastQueryService;
+import com.flightready.weather.service.ForecastStoredEvent;
+import com.flightready.weather.service.ForecastVersion;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class EnsembleService {
+
+    private final EnsembleAggregator aggregator;
+    private final EnsembleRepository repository;
+    private final ForecastQueryService forecastQueryService;
+
+    public EnsembleService(
+            EnsembleAggregator aggregator,
+            EnsembleRepository repository,
+            ForecastQueryService forecastQueryService
+    ) {
+        this.aggregator = aggregator;
+        this.repository = repository;
+        this.forecastQueryService = forecastQueryService;
+    }
+
+    /**
+     * Aggregates a freshly stored forecast inside the ingest transaction, next to its forecast_hour rows.
+     */
+    @EventListener
+    public void onForecastStored(ForecastStoredEvent event) {
+        ColumnarForecast forecast = event.forecast();
+        if (forecast.hours() == 0 || forecast.modelCount() == 0) {
+            return;
+        }
+        repository.insert(aggregator.aggregate(event.weatherId(), event.launchsite().getId(), forecast));
+    }
+
+    /**
+     * Ensemble of the latest stored forecast. Forecasts stored before ensembles existed have none.
+     */
+    public LatestEnsemble latest(UUID launchsiteId) {
+        ForecastVersion version = forecastQueryService.latestVersion(launchsiteId);
+        EnsembleForecast ensemble = repository.findByWeatherId(version.weatherId())
+                .orElseThrow(() -> new ForecastNotFoundException(launchsiteId));
+        return new LatestEnsemble(version, ensemble);
+    }
+
+    public record LatestEnsemble(ForecastVersion version, EnsembleForecast ensemble) {}
+}
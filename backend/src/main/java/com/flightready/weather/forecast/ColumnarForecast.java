@@ -0,0 +1,36 @@
+package com.flightready.weather.forecast;
+
+import java.util.List;
+
+/**
+ * Hourly multi-model forecast held in primitive, column-oriented arrays.
+ *
+ * All per-model matrices are indexed {@code [model][hour]}; the model index follows {@link #models()} and the
+ * hour index follows {@link #time()}. Missing values are {@link Double#NaN} for double series and
+ * {@link #MISSING_INT} for int series.
+ *
+ * @param time epoch seconds (UTC) of each hour
+ */
+public record ColumnarForecast(
+        String modelrunUpdatetimeUtc,
+        List<String> modelrunUtc,
+        List<String> models,
+        int[] gridpointElevation,
+        long[] time,
+        double[] temperatureSpread,
+        double[][] temperature,
+        double[][] precipitation,
+        int[][] cloudcover,
+        int[][] winddirection
+) {
+
+    public static final int MISSING_INT = Integer.MIN_VALUE;
+
+    public int hours() {
+        return time.length;
+    }
+
+    public int modelCount() {
+        return models.size();
+    }
+}
@@ -0,0 +1,151 @@
+package com.flightready.weather.forecast;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the hours of one stored forecast back into columnar form, straight from the result set into
+ * primitive arrays.
+ */
+@Repository
+public class ForecastHourReader {
+
+    private static final String SELECT_SQL = """
+            SELECT model, valid_time, temperature, precipitation, cloudcover, winddirection
+            FROM forecast_hour
+            WHERE weather_id = ?
+            ORDER BY model, valid_time
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ForecastHourReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param modelrunUpdatetimeUtc carried over into the result; not stored per row
+     */
+    public ColumnarForecast read(UUID weatherId, String modelrunUpdatetimeUtc) {
+        Rows rows = new Rows();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            String model = rs.getString(1);
+            if (rows.models.isEmpty() || !rows.models.get(rows.models.size() - 1).equals(model)) {
+                rows.models.add(model);
+            }
+            float temperature = rs.getFloat(3);
+            boolean temperatureNull = rs.wasNull();
+            float precipitation = rs.getFloat(4);
+            boolean precipitationNull = rs.wasNull();
+            short cloudcover = rs.getShort(5);
+            boolean cloudcoverNull = rs.wasNull();
+            short winddirection = rs.getShort(6);
+            boolean winddirectionNull = rs.wasNull();
+
+            rows.add(
+                    rows.models.size() - 1,
+                    rs.getTimestamp(2).getTime() / 1000,
+                    temperatureNull ? Double.NaN : temperature,
+                    precipitationNull ? Double.NaN : precipitation,
+                    cloudcoverNull ? ColumnarForecast.MISSING_INT : cloudcover,
+                    winddirectionNull ? ColumnarForecast.MISSING_INT : winddirection
+            );
+        }, weatherId);
+        return rows.toForecast(modelrunUpdatetimeUtc);
+    }
+
+    private static final class Rows {
+        final List<String> models = new ArrayList<>();
+        int size;
+        int[] model = new int[1024];
+        long[] time = new long[1024];
+        double[] temperature = new double[1024];
+        double[] precipitation = new double[1024];
+        int[] cloudcover = new int[1024];
+        int[] winddirection = new int[1024];
+
+        void add(int modelIndex, long epochSecond, double temp, double precip, int cloud, int direction) {
+            if (size == model.length) {
+                int capacity = size * 2;
+                model = Arrays.copyOf(model, capacity);
+                time = Arrays.copyOf(time, capacity);
+                temperature = Arrays.copyOf(temperature, capacity);
+                precipitation = Arrays.copyOf(precipitation, capacity);
+                cloudcover = Arrays.copyOf(cloudcover, capacity);
+                winddirection = Arrays.copyOf(winddirection, capacity);
+            }
+            model[size] = modelIndex;
+            time[size] = epochSecond;
+            temperature[size] = temp;
+            precipitation[size] = precip;
+            cloudcover[size] = cloud;
+            winddirection[size] = direction;
+            size++;
+        }
+
+        /**
+         * Lays the rows out on one hourly axis spanning all models; hours a model has no row for stay missing.
+         */
+        ColumnarForecast toForecast(String modelrunUpdatetimeUtc) {
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                first = Math.min(first, time[i]);
+                last = Math.max(last, time[i]);
+            }
+            int hours = size == 0 ? 0 : (int) ((last - first) / 3600) + 1;
+            long[] axis = new long[hours];
+            for (int h = 0; h < hours; h++) {
+                axis[h] = first + h * 3600L;
+            }
+
+            int modelCount = models.size();
+            double[][] temp = filled(modelCount, hours);
+            double[][] precip = filled(modelCount, hours);
+            int[][] cloud = filledInt(modelCount, hours);
+            int[][] direction = filledInt(modelCount, hours);
+            for (int i = 0; i < size; i++) {
+                int m = model[i];
+                int h = (int) ((time[i] - first) / 3600);
+                temp[m][h] = temperature[i];
+                precip[m][h] = precipitation[i];
+                cloud[m][h] = cloudcover[i];
+                direction[m][h] = winddirection[i];
+            }
+
+            return new ColumnarForecast(
+                    modelrunUpdatetimeUtc,
+                    List.of(),
+                    List.copyOf(models),
+                    new int[0],
+                    axis,
+                    new double[0],
+                    temp,
+                    precip,
+                    cloud,
+                    direction
+            );
+        }
+
+        private static double[][] filled(int models, int hours) {
+            double[][] values = new double[models][hours];
+            for (double[] row : values) {
+                Arrays.fill(row, Double.NaN);
+            }
+            return values;
+        }
+
+        private static int[][] filledInt(int models, int hours) {
+            int[][] values = new int[models][hours];
+            for (int[] row : values) {
+                Arrays.fill(row, ColumnarForecast.MISSING_INT);
+            }
+            return values;
+        }
+    }
+}
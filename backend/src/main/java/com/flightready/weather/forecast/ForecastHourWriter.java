@@ -0,0 +1,110 @@
+package com.flightready.weather.forecast;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * Writes the hours of a {@link ColumnarForecast} into {@code forecast_hour} with JDBC batch inserts, reading
+ * straight from the primitive arrays. With {@code reWriteBatchedInserts} enabled on the driver each batch is
+ * sent as a handful of multi-row INSERTs.
+ */
+@Repository
+public class ForecastHourWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO forecast_hour
+                (weather_id, launchsite_id, model, valid_time, temperature, precipitation, cloudcover, winddirection)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ForecastHourWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${weather.ingest.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts one row per (model, hour). Must run inside the transaction that inserted the weather row, after
+     * {@link ForecastPartitionManager#ensurePartitions} was called for the forecast's time range.
+     *
+     * @return number of rows written
+     */
+    public int write(UUID weatherId, UUID launchsiteId, ColumnarForecast forecast) {
+        long[] time = forecast.time();
+        int models = forecast.modelCount();
+        int hours = time.length;
+        if (models == 0 || hours == 0) {
+            return 0;
+        }
+
+        Integer rows = jdbcTemplate.execute(INSERT_SQL, (PreparedStatement ps) -> {
+            int pending = 0;
+            int written = 0;
+            ps.setObject(1, weatherId);
+            ps.setObject(2, launchsiteId);
+            for (int m = 0; m < models; m++) {
+                ps.setString(3, forecast.models().get(m));
+                for (int h = 0; h < hours; h++) {
+                    ps.setTimestamp(4, new Timestamp(time[h] * 1000));
+                    setReal(ps, 5, value(forecast.temperature(), m, h));
+                    setReal(ps, 6, value(forecast.precipitation(), m, h));
+                    setSmallint(ps, 7, value(forecast.cloudcover(), m, h));
+                    setSmallint(ps, 8, value(forecast.winddirection(), m, h));
+                    ps.addBatch();
+                    written++;
+                    if (++pending == batchSize) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+            return written;
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private static double value(double[][] series, int model, int hour) {
+        if (model >= series.length || hour >= series[model].length) {
+            return Double.NaN;
+        }
+        return series[model][hour];
+    }
+
+    private static int value(int[][] series, int model, int hour) {
+        if (model >= series.length || hour >= series[model].length) {
+            return ColumnarForecast.MISSING_INT;
+        }
+        return series[model][hour];
+    }
+
+    private static void setReal(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(index, Types.REAL);
+        } else {
+            ps.setFloat(index, (float) value);
+        }
+    }
+
+    private static void setSmallint(PreparedStatement ps, int index, int value) throws SQLException {
+        if (value == ColumnarForecast.MISSING_INT) {
+            ps.setNull(index, Types.SMALLINT);
+        } else {
+            ps.setShort(index, (short) value);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.flightready.weather.forecast;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the monthly range partitions of {@code forecast_hour} before rows for that month are written.
+ */
+@Component
+public class ForecastPartitionManager {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public ForecastPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "forecast_hour_" + month.format(SUFFIX);
+    }
+
+    /**
+     * Makes sure partitions exist for every month touched by [{@code fromEpochSecond}, {@code toEpochSecond}].
+     * Call this outside of the transaction that writes the rows, so no second connection is needed.
+     */
+    public void ensurePartitions(long fromEpochSecond, long toEpochSecond) {
+        YearMonth month = YearMonth.from(Instant.ofEpochSecond(fromEpochSecond).atOffset(ZoneOffset.UTC));
+        YearMonth last = YearMonth.from(Instant.ofEpochSecond(toEpochSecond).atOffset(ZoneOffset.UTC));
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!knownPartitions.contains(month)) {
+                createPartition(month);
+                knownPartitions.add(month);
+            }
+        }
+    }
+
+    /**
+     * Runs in its own transaction; the advisory lock serializes concurrent creators (threads and instances).
+     */
+    public void createPartition(YearMonth month) {
+        String from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        newTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('forecast_hour_partitions'))", rs -> {});
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                    + " PARTITION OF forecast_hour FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        });
+    }
+
+    public void forget(YearMonth month) {
+        knownPartitions.remove(month);
+    }
+}
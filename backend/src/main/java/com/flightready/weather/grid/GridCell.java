@@ -0,0 +1,43 @@
+package com.flightready.weather.grid;
+
+import com.flightready.weather.provider.ForecastPoint;
+
+import java.util.List;
+
+/**
+ * Cell of the interpolation grid; corner (latIndex, lonIndex) is its south-west node.
+ */
+record GridCell(int latIndex, int lonIndex) {
+
+    static GridCell of(ForecastPoint point, double spacing) {
+        return new GridCell((int) Math.floor(point.latitude() / spacing), (int) Math.floor(point.longitude() / spacing));
+    }
+
+    /** South-west, north-west, south-east, north-east; the order of {@link #weights}. */
+    List<GridNode> corners() {
+        return List.of(
+                new GridNode(latIndex, lonIndex),
+                new GridNode(latIndex + 1, lonIndex),
+                new GridNode(latIndex, lonIndex + 1),
+                new GridNode(latIndex + 1, lonIndex + 1)
+        );
+    }
+
+    /** Bilinear weights of the {@link #corners()} for a point inside the cell. */
+    double[] weights(ForecastPoint point, double spacing) {
+        double u = point.latitude() / spacing - latIndex;
+        double v = point.longitude() / spacing - lonIndex;
+        return new double[]{(1 - u) * (1 - v), u * (1 - v), (1 - u) * v, u * v};
+    }
+
+    record GridNode(int latIndex, int lonIndex) {
+
+        double latitude(double spacing) {
+            return latIndex * spacing;
+        }
+
+        double longitude(double spacing) {
+            return lonIndex * spacing;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.flightready.weather.grid;
+
+import com.flightready.weather.forecast.ColumnarForecast;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interpolates the forecasts of grid nodes onto a site: weighted (bilinear) for scalars, through unit vectors for
+ * wind direction, and temperature shifted by a constant lapse rate from the interpolated model grid point elevation
+ * ({@link ColumnarForecast#gridpointElevation()}) to the site's elevation.
+ *
+ * Models, hours and model runs follow the node with the largest weight; values a node lacks (other model set or time
+ * axis) are left out and the remaining weights renormalized.
+ */
+final class GridInterpolator {
+
+    private final double lapseRate;
+
+    /**
+     * @param lapseRate temperature change in K per meter of ascent (positive, e.g. 0.0065)
+     */
+    GridInterpolator(double lapseRate) {
+        this.lapseRate = lapseRate;
+    }
+
+    ColumnarForecast interpolate(ColumnarForecast[] nodes, double[] weights, int siteAsl) {
+        int reference = 0;
+        for (int c = 1; c < nodes.length; c++) {
+            if (weights[c] > weights[reference]) {
+                reference = c;
+            }
+        }
+        ColumnarForecast ref = nodes[reference];
+        List<String> models = ref.models();
+        long[] time = ref.time();
+        int modelCount = models.size();
+        int hours = time.length;
+
+        int[][] modelIndex = new int[nodes.length][];
+        int[][] hourIndex = new int[nodes.length][];
+        for (int c = 0; c < nodes.length; c++) {
+            modelIndex[c] = modelIndex(nodes[c].models(), models);
+            hourIndex[c] = hourIndex(nodes[c].time(), time);
+        }
+
+        double[][] temperature = new double[modelCount][hours];
+        double[][] precipitation = new double[modelCount][hours];
+        int[][] cloudcover = new int[modelCount][hours];
+        int[][] winddirection = new int[modelCount][hours];
+        int[] gridpointElevation = new int[modelCount];
+
+        for (int m = 0; m < modelCount; m++) {
+            double correction = temperatureCorrection(nodes, weights, modelIndex, m, siteAsl);
+            gridpointElevation[m] = siteAsl;
+            for (int h = 0; h < hours; h++) {
+                double temperatureSum = 0, temperatureWeight = 0;
+                double precipitationSum = 0, precipitationWeight = 0;
+                double cloudcoverSum = 0, cloudcoverWeight = 0;
+                double sin = 0, cos = 0, directionWeight = 0;
+
+                for (int c = 0; c < nodes.length; c++) {
+                    double w = weights[c];
+                    int nm = modelIndex[c][m];
+                    int nh = hourIndex[c][h];
+                    if (w <= 0 || nm < 0 || nh < 0) {
+                        continue;
+                    }
+                    ColumnarForecast node = nodes[c];
+                    double t = node.temperature()[nm][nh];
+                    if (!Double.isNaN(t)) {
+                        temperatureSum += w * t;
+                        temperatureWeight += w;
+                    }
+                    double p = node.precipitation()[nm][nh];
+                    if (!Double.isNaN(p)) {
+                        precipitationSum += w * p;
+                        precipitationWeight += w;
+                    }
+                    int cc = node.cloudcover()[nm][nh];
+                    if (cc != ColumnarForecast.MISSING_INT) {
+                        cloudcoverSum += w * cc;
+                        cloudcoverWeight += w;
+                    }
+                    int d = node.winddirection()[nm][nh];
+                    if (d != ColumnarForecast.MISSING_INT) {
+                        double radians = Math.toRadians(d);
+                        sin += w * Math.sin(radians);
+                        cos += w * Math.cos(radians);
+                        directionWeight += w;
+                    }
+                }
+
+                temperature[m][h] = temperatureWeight > 0 ? temperatureSum / temperatureWeight + correction : Double.NaN;
+                precipitation[m][h] = precipitationWeight > 0 ? precipitationSum / precipitationWeight : Double.NaN;
+                cloudcover[m][h] = cloudcoverWeight > 0
+                        ? (int) Math.round(cloudcoverSum / cloudcoverWeight)
+                        : ColumnarForecast.MISSING_INT;
+                // opposite directions cancel out: no meaningful direction left
+                winddirection[m][h] = directionWeight > 0 && Math.hypot(sin, cos) > 1e-9
+                        ? (int) Math.round((Math.toDegrees(Math.atan2(sin, cos)) + 360) % 360) % 360
+                        : ColumnarForecast.MISSING_INT;
+            }
+        }
+
+        double[] temperatureSpread = new double[hours];
+        for (int h = 0; h < hours; h++) {
+            double sum = 0, weight = 0;
+            for (int c = 0; c < nodes.length; c++) {
+                double[] spread = nodes[c].temperatureSpread();
+                int nh = hourIndex[c][h];
+                if (weights[c] > 0 && nh >= 0 && nh < spread.length && !Double.isNaN(spread[nh])) {
+                    sum += weights[c] * spread[nh];
+                    weight += weights[c];
+                }
+            }
+            temperatureSpread[h] = weight > 0 ? sum / weight : Double.NaN;
+        }
+
+        return new ColumnarForecast(
+                ref.modelrunUpdatetimeUtc(),
+                ref.modelrunUtc(),
+                models,
+                gridpointElevation,
+                time,
+                temperatureSpread,
+                temperature,
+                precipitation,
+                cloudcover,
+                winddirection
+        );
+    }
+
+    /**
+     * Lapse-rate shift from the interpolated grid point elevation of model {@code m} to the site; 0 when a node
+     * does not report its elevation.
+     */
+    private double temperatureCorrection(ColumnarForecast[] nodes, double[] weights, int[][] modelIndex, int m,
+                                         int siteAsl) {
+        double sum = 0, weight = 0;
+        for (int c = 0; c < nodes.length; c++) {
+            int nm = modelIndex[c][m];
+            if (weights[c] <= 0 || nm < 0) {
+                continue;
+            }
+            int[] elevation = nodes[c].gridpointElevation();
+            if (nm >= elevation.length || elevation[nm] == ColumnarForecast.MISSING_INT) {
+                return 0;
+            }
+            sum += weights[c] * elevation[nm];
+            weight += weights[c];
+        }
+        return weight > 0 ? lapseRate * (sum / weight - siteAsl) : 0;
+    }
+
+    private static int[] modelIndex(List<String> nodeModels, List<String> models) {
+        int[] index = new int[models.size()];
+        for (int m = 0; m < index.length; m++) {
+            index[m] = m < nodeModels.size() && nodeModels.get(m).equals(models.get(m))
+                    ? m
+                    : nodeModels.indexOf(models.get(m));
+        }
+        return index;
+    }
+
+    private static int[] hourIndex(long[] nodeTime, long[] time) {
+        int[] index = new int[time.length];
+        if (Arrays.equals(nodeTime, time)) {
+            for (int h = 0; h < index.length; h++) {
+                index[h] = h;
+            }
+            return index;
+        }
+        Map<Long, Integer> byTime = new HashMap<>(nodeTime.length * 2);
+        for (int h = 0; h < nodeTime.length; h++) {
+            byTime.put(nodeTime[h], h);
+        }
+        for (int h = 0; h < index.length; h++) {
+            index[h] = byTime.getOrDefault(time[h], -1);
+        }
+        return index;
+    }
+}
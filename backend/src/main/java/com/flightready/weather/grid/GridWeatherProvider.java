@@ -0,0 +1,183 @@
+package com.flightready.weather.grid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.grid.GridCell.GridNode;
+import com.flightready.weather.provider.ForecastPoint;
+import com.flightready.weather.provider.ProviderForecast;
+import com.flightready.weather.provider.WeatherProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grid-fetch-and-interpolate mode in front of another provider ({@code weather.grid.enabled}).
+ *
+ * {@link #prepare} plans which grid cells (spacing {@code weather.grid.spacing-degrees}) are served by interpolation:
+ * densest cells first, a cell is interpolated when fetching its not yet planned corner nodes takes no more upstream
+ * calls than fetching its sites one by one. Sites in other cells, and sites nobody planned for, are fetched directly.
+ * Node forecasts are cached for {@code weather.grid.node-ttl}; concurrent sites of one cell wait for the same fetch,
+ * which runs on the thread that asked first (never inside a cache lock, so fetches of other nodes are not blocked).
+ * The plan is kept as long as the node forecasts. Upstream calls thus scale with the area covered instead of with
+ * the number of sites.
+ */
+public class GridWeatherProvider implements WeatherProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(GridWeatherProvider.class);
+
+    /**
+     * Nodes are requested at a fixed elevation, so every cell shares them. Multimodel values are model output at the
+     * model grid point ({@link ColumnarForecast#gridpointElevation()}); the lapse-rate correction takes it from there.
+     */
+    private static final int NODE_ASL = 0;
+
+    private final WeatherProvider delegate;
+    private final double spacing;
+    private final GridInterpolator interpolator;
+    private final Cache<GridNode, ProviderForecast> nodes;
+    /** node fetches under way, at most one per node; removed when done */
+    private final ConcurrentHashMap<GridNode, CompletableFuture<ProviderForecast>> fetching = new ConcurrentHashMap<>();
+    private final Cache<GridCell, Boolean> interpolatedCells;
+
+    public GridWeatherProvider(WeatherProvider delegate, double spacing, double lapseRate, Duration nodeTtl,
+                               long maxNodes) {
+        if (spacing <= 0) {
+            throw new IllegalArgumentException("weather.grid.spacing-degrees must be positive");
+        }
+        this.delegate = delegate;
+        this.spacing = spacing;
+        this.interpolator = new GridInterpolator(lapseRate);
+        this.nodes = Caffeine.newBuilder()
+                .expireAfterWrite(nodeTtl)
+                .maximumSize(maxNodes)
+                .build();
+        this.interpolatedCells = Caffeine.newBuilder()
+                .expireAfterWrite(nodeTtl)
+                .maximumSize(maxNodes)
+                .build();
+    }
+
+    /**
+     * Forecasts are still the delegate's data, so they are stored under its id.
+     */
+    @Override
+    public String id() {
+        return delegate.id();
+    }
+
+    @Override
+    public void prepare(List<ForecastPoint> points) {
+        Map<GridCell, Integer> sitesPerCell = new HashMap<>();
+        for (ForecastPoint point : points) {
+            sitesPerCell.merge(GridCell.of(point, spacing), 1, Integer::sum);
+        }
+        List<Map.Entry<GridCell, Integer>> cells = new ArrayList<>(sitesPerCell.entrySet());
+        cells.sort(Map.Entry.<GridCell, Integer>comparingByValue().reversed());
+
+        Set<GridNode> planned = new HashSet<>();
+        int interpolatedSites = 0;
+        for (Map.Entry<GridCell, Integer> cell : cells) {
+            List<GridNode> corners = cell.getKey().corners();
+            long newNodes = corners.stream()
+                    .filter(node -> !planned.contains(node) && nodes.getIfPresent(node) == null)
+                    .count();
+            boolean interpolate = newNodes <= cell.getValue();
+            if (interpolate) {
+                planned.addAll(corners);
+                interpolatedSites += cell.getValue();
+            }
+            interpolatedCells.put(cell.getKey(), interpolate);
+        }
+        log.info("Grid plan ({} deg): {} of {} points interpolated from {} grid nodes, {} fetched directly",
+                spacing, interpolatedSites, points.size(), planned.size(), points.size() - interpolatedSites);
+    }
+
+    @Override
+    public ProviderForecast fetch(ForecastPoint point) {
+        GridCell cell = GridCell.of(point, spacing);
+        if (!Boolean.TRUE.equals(interpolatedCells.getIfPresent(cell))) {
+            return delegate.fetch(point);
+        }
+
+        List<GridNode> corners = cell.corners();
+        double[] weights = cell.weights(point, spacing);
+        ColumnarForecast[] columnar = new ColumnarForecast[corners.size()];
+        for (int c = 0; c < columnar.length; c++) {
+            columnar[c] = node(corners.get(c)).columnar();
+        }
+        ColumnarForecast interpolated = interpolator.interpolate(columnar, weights, point.asl());
+        return new InterpolatedForecast(interpolated, corners, weights, spacing);
+    }
+
+    private ProviderForecast node(GridNode node) {
+        ProviderForecast cached = nodes.getIfPresent(node);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<ProviderForecast> fetch = new CompletableFuture<>();
+        CompletableFuture<ProviderForecast> running = fetching.putIfAbsent(node, fetch);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        try {
+            // another thread may have finished this node between the cache lookup and the claim
+            ProviderForecast forecast = nodes.getIfPresent(node);
+            if (forecast == null) {
+                forecast = delegate.fetch(new ForecastPoint(node.latitude(spacing), node.longitude(spacing), NODE_ASL));
+                nodes.put(node, forecast);
+            }
+            fetch.complete(forecast);
+            return forecast;
+        } catch (RuntimeException | Error ex) {
+            // sites waiting for this node fail with the same error; the next sync tries again
+            fetch.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            fetching.remove(node, fetch);
+        }
+    }
+
+    /**
+     * Interpolated forecast; its payload records where the values came from instead of an upstream document.
+     */
+    private record InterpolatedForecast(ColumnarForecast columnar, List<GridNode> corners, double[] weights,
+                                        double spacing) implements ProviderForecast {
+
+        @Override
+        public JsonNode payload() {
+            ObjectNode interpolation = JsonNodeFactory.instance.objectNode();
+            interpolation.put("method", "bilinear");
+            interpolation.put("spacingDegrees", spacing);
+            ArrayNode nodes = interpolation.putArray("nodes");
+            for (int c = 0; c < corners.size(); c++) {
+                nodes.addObject()
+                        .put("latitude", corners.get(c).latitude(spacing))
+                        .put("longitude", corners.get(c).longitude(spacing))
+                        .put("weight", weights[c]);
+            }
+            ObjectNode payload = JsonNodeFactory.instance.objectNode();
+            payload.set("interpolation", interpolation);
+            payload.put("modelrun_updatetime_utc", columnar.modelrunUpdatetimeUtc());
+            return payload;
+        }
+    }
+}
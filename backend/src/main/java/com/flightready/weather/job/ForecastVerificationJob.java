@@ -0,0 +1,31 @@
+package com.flightready.weather.job;
+
+import com.flightready.weather.verification.ForecastVerificationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Folds newly verifiable forecast hours into the model skill table on {@code weather.verification.cron},
+ * on one instance only.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.verification.enabled", havingValue = "true", matchIfMissing = true)
+public class ForecastVerificationJob {
+
+    private final ForecastVerificationService verificationService;
+    private final ScheduledTaskLock taskLock;
+
+    public ForecastVerificationJob(ForecastVerificationService verificationService, ScheduledTaskLock taskLock) {
+        this.verificationService = verificationService;
+        this.taskLock = taskLock;
+    }
+
+    @Scheduled(cron = "${weather.verification.cron:0 15 */6 * * *}")
+    public void run() {
+        taskLock.runExclusively("forecast-verification", Duration.ofHours(2), Duration.ofMinutes(10),
+                verificationService::runOnce);
+    }
+}
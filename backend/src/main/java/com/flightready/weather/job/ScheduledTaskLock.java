@@ -0,0 +1,61 @@
+package com.flightready.weather.job;
+
+import com.flightready.weather.sync.InstanceId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide lease on a scheduled task in {@code scheduled_task_lock}, so a cron slot fires on one instance
+ * even though every instance schedules it. Times come from the database clock, so skewed instance clocks do not
+ * matter. Unlike a session advisory lock it does not pin a pooled connection, and it keeps blocking the slot for
+ * {@code lockAtLeastFor} after a fast task, so an instance whose cron fires a little later skips it too.
+ */
+@Component
+public class ScheduledTaskLock {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTaskLock.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InstanceId instanceId;
+
+    public ScheduledTaskLock(JdbcTemplate jdbcTemplate, InstanceId instanceId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instanceId = instanceId;
+    }
+
+    /**
+     * Runs {@code task} if no other instance holds the lease on {@code name}.
+     *
+     * @param lockAtMostFor  lease length if this instance dies while running the task
+     * @param lockAtLeastFor minimum lease length after the task finished; shorter than the schedule interval
+     * @return false if the task was skipped
+     */
+    public boolean runExclusively(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        int acquired = jdbcTemplate.update("""
+                INSERT INTO scheduled_task_lock AS l (name, locked_until, locked_at, locked_by)
+                VALUES (?, now() + make_interval(secs => ?), now(), ?)
+                ON CONFLICT (name) DO UPDATE
+                SET locked_until = EXCLUDED.locked_until, locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by
+                WHERE l.locked_until <= now()
+                """, name, (double) lockAtMostFor.toSeconds(), instanceId.value());
+        if (acquired == 0) {
+            log.debug("Skipping {}, locked by another instance", name);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            jdbcTemplate.update("""
+                    UPDATE scheduled_task_lock
+                    SET locked_until = GREATEST(locked_at + make_interval(secs => ?), now())
+                    WHERE name = ? AND locked_by = ?
+                    """, (double) lockAtLeastFor.toSeconds(), name, instanceId.value());
+        }
+    }
+}
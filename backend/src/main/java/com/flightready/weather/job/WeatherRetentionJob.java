@@ -0,0 +1,31 @@
+package com.flightready.weather.job;
+
+import com.flightready.weather.service.WeatherRetentionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Compacts old payloads and drops expired forecast data on {@code weather.retention.cron} (nightly by default),
+ * on one instance only.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class WeatherRetentionJob {
+
+    private final WeatherRetentionService weatherRetentionService;
+    private final ScheduledTaskLock taskLock;
+
+    public WeatherRetentionJob(WeatherRetentionService weatherRetentionService, ScheduledTaskLock taskLock) {
+        this.weatherRetentionService = weatherRetentionService;
+        this.taskLock = taskLock;
+    }
+
+    @Scheduled(cron = "${weather.retention.cron:0 30 3 * * *}")
+    public void run() {
+        taskLock.runExclusively("weather-retention", Duration.ofHours(2), Duration.ofMinutes(30),
+                weatherRetentionService::runOnce);
+    }
+}
@@ -1,28 +1,35 @@
 package com.flightready.weather.job;
 
-import com.flightready.weather.service.WeatherIngestionService;
+import com.flightready.weather.sync.SyncRunService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
- * Runs a single weather sync cycle every day at midnight.
+ * Runs an incremental weather sync cycle on {@code weather.sync.cron} (hourly by default).
+ * Sites whose model run has not changed upstream are skipped, so frequent runs stay cheap.
+ * Goes through {@link SyncRunService}, so a scheduled run is recorded and never overlaps a manually triggered one.
+ * With several instances only the one holding the {@link ScheduledTaskLock} triggers; all of them then process
+ * the run's shards.
  *
  * Note: scheduling must be enabled via @EnableScheduling on a @Configuration / @SpringBootApplication class.
  */
 @Component
 public class WeatherSyncJob {
 
-    private final WeatherIngestionService weatherIngestionService;
+    private final SyncRunService syncRunService;
+    private final ScheduledTaskLock taskLock;
 
-    public WeatherSyncJob(WeatherIngestionService weatherIngestionService) {
-        this.weatherIngestionService = weatherIngestionService;
+    public WeatherSyncJob(SyncRunService syncRunService, ScheduledTaskLock taskLock) {
+        this.syncRunService = syncRunService;
+        this.taskLock = taskLock;
     }
 
-    /**
-     * Daily at 00:00 (midnight) server time.
-     */
-    @Scheduled(cron = "0 0 0 * * *")
-    public void pullDailyAtMidnight() {
-        weatherIngestionService.syncOnce();
+    @Scheduled(cron = "${weather.sync.cron:0 0 * * * *}")
+    public void pull() {
+        // triggering only inserts the run; holding the slot for a few minutes is enough to cover clock skew
+        taskLock.runExclusively("weather-sync", Duration.ofMinutes(5), Duration.ofMinutes(5),
+                () -> syncRunService.trigger("scheduled"));
     }
 }
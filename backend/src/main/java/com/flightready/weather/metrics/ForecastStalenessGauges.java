@@ -0,0 +1,91 @@
+package com.flightready.weather.metrics;
+
+import com.flightready.launchsite.LaunchsiteRepository;
+import com.flightready.weather.Modelruns;
+import com.flightready.weather.WeatherRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Age of the stored forecasts, as gauges over all launchsites rather than one series per site.
+ * The model run of each site's latest forecast is loaded periodically; the ages are computed at scrape time,
+ * so they keep growing between refreshes when syncing stalls.
+ */
+@Component
+public class ForecastStalenessGauges {
+
+    private final WeatherRepository weatherRepo;
+    private final LaunchsiteRepository launchsiteRepo;
+    private final long staleAfterSeconds;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[0], 0);
+
+    public ForecastStalenessGauges(
+            WeatherRepository weatherRepo,
+            LaunchsiteRepository launchsiteRepo,
+            MeterRegistry registry,
+            @Value("${weather.metrics.stale-after:PT6H}") Duration staleAfter
+    ) {
+        this.weatherRepo = weatherRepo;
+        this.launchsiteRepo = launchsiteRepo;
+        this.staleAfterSeconds = staleAfter.toSeconds();
+
+        Gauge.builder("weather.forecast.staleness.max", this, gauges -> gauges.maxAgeSeconds())
+                .description("Age of the oldest latest model run over all launchsites")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("weather.forecast.stale.sites", this, gauges -> gauges.staleSites())
+                .description("Launchsites whose latest model run is older than weather.metrics.stale-after")
+                .register(registry);
+        Gauge.builder("weather.forecast.missing.sites", this, gauges -> gauges.snapshot.missing)
+                .description("Launchsites without any forecast")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${weather.metrics.staleness-refresh:PT5M}")
+    public void refresh() {
+        long[] runs = weatherRepo.findLatestModelrunPerSite().stream()
+                .map(latest -> Modelruns.parse(latest.getModelrunUpdatetimeUtc()))
+                .mapToLong(run -> run.map(Instant::getEpochSecond).orElse(Long.MIN_VALUE))
+                .toArray();
+        long missing = Math.max(0, launchsiteRepo.count() - runs.length);
+        snapshot = new Snapshot(runs, missing);
+    }
+
+    private double maxAgeSeconds() {
+        long[] runs = snapshot.runEpochSeconds;
+        long oldest = Long.MAX_VALUE;
+        for (long run : runs) {
+            if (run != Long.MIN_VALUE && run < oldest) {
+                oldest = run;
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0 : Instant.now().getEpochSecond() - oldest;
+    }
+
+    private double staleSites() {
+        long threshold = Instant.now().getEpochSecond() - staleAfterSeconds;
+        int stale = 0;
+        for (long run : snapshot.runEpochSeconds) {
+            // unknown model runs count as stale
+            if (run < threshold) {
+                stale++;
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * @param runEpochSeconds model run per site with a forecast; {@link Long#MIN_VALUE} when unknown
+     */
+    private record Snapshot(long[] runEpochSeconds, long missing) {}
+}
@@ -0,0 +1,136 @@
+package com.flightready.weather.metrics;
+
+import com.flightready.weather.service.SiteSyncResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the ingestion path. Every meter is registered up front and tags come from small enums, so recording
+ * inside the sync loop is a field read plus {@code record(nanos)}: no tag arrays, builders or registry lookups.
+ * Pass durations from {@link System#nanoTime()}.
+ */
+@Component
+public class WeatherMetrics {
+
+    public enum UpstreamOutcome {
+        SUCCESS("success"),
+        CLIENT_ERROR("client_error"),
+        THROTTLED("throttled"),
+        SERVER_ERROR("server_error"),
+        IO_ERROR("io_error"),
+        /** rejected locally by the circuit breaker or rate limiter, no request was sent */
+        REJECTED("rejected");
+
+        private final String tag;
+
+        UpstreamOutcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum PersistPhase {
+        /** weather row incl. jsonb serialization and flush */
+        WEATHER("weather"),
+        FORECAST_HOURS("forecast_hour");
+
+        private final String tag;
+
+        PersistPhase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<UpstreamOutcome, Timer> upstreamRequests = new EnumMap<>(UpstreamOutcome.class);
+    private final Counter upstreamRetries;
+    private final DistributionSummary payloadSize;
+    private final Timer decode;
+    private final Map<PersistPhase, Timer> persist = new EnumMap<>(PersistPhase.class);
+    private final Map<SiteSyncResult.Status, Timer> siteSync = new EnumMap<>(SiteSyncResult.Status.class);
+    private final Timer syncDuration;
+    private final Counter syncFailedSites;
+
+    public WeatherMetrics(MeterRegistry registry) {
+        for (UpstreamOutcome outcome : UpstreamOutcome.values()) {
+            upstreamRequests.put(outcome, Timer.builder("weather.upstream.requests")
+                    .description("Upstream forecast requests, one per attempt")
+                    .tag("outcome", outcome.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(10))
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(registry));
+        }
+        upstreamRetries = Counter.builder("weather.upstream.retries")
+                .description("Upstream attempts that were retried after a retryable failure")
+                .register(registry);
+        payloadSize = DistributionSummary.builder("weather.upstream.payload.size")
+                .description("Size of upstream forecast bodies")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1_000.0)
+                .maximumExpectedValue(10_000_000.0)
+                .register(registry);
+        decode = Timer.builder("weather.decode")
+                .description("Decoding an upstream body into columnar form")
+                .register(registry);
+        for (PersistPhase phase : PersistPhase.values()) {
+            persist.put(phase, Timer.builder("weather.persist")
+                    .description("Storing one forecast")
+                    .tag("phase", phase.tag)
+                    .register(registry));
+        }
+        for (SiteSyncResult.Status status : SiteSyncResult.Status.values()) {
+            siteSync.put(status, Timer.builder("weather.sync.site")
+                    .description("Fetch and store of one launchsite within a sync")
+                    .tag("status", status.name().toLowerCase())
+                    .register(registry));
+        }
+        syncDuration = Timer.builder("weather.sync.duration")
+                .description("Duration of a whole sync over all launchsites")
+                .register(registry);
+        syncFailedSites = Counter.builder("weather.sync.failures")
+                .description("Launchsites that failed to sync")
+                .register(registry);
+    }
+
+    public void upstreamRequest(UpstreamOutcome outcome, long nanos) {
+        upstreamRequests.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void upstreamRetry() {
+        upstreamRetries.increment();
+    }
+
+    public void payloadSize(int bytes) {
+        payloadSize.record(bytes);
+    }
+
+    public void decoded(long nanos) {
+        decode.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void persisted(PersistPhase phase, long nanos) {
+        persist.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void siteSynced(SiteSyncResult.Status status, long nanos) {
+        siteSync.get(status).record(nanos, TimeUnit.NANOSECONDS);
+        if (status == SiteSyncResult.Status.FAILED) {
+            syncFailedSites.increment();
+        }
+    }
+
+    /**
+     * @param duration wall time of a whole sync run, over all instances when it was sharded
+     */
+    public void syncFinished(Duration duration) {
+        syncDuration.record(duration);
+    }
+}
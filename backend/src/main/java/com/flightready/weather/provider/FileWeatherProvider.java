@@ -0,0 +1,161 @@
+package com.flightready.weather.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Replays forecasts from local JSON fixtures, for development, load tests and offline demos.
+ * Every {@code *.json} file in {@code weather.providers.file.directory} is one point, either
+ * <ul>
+ *     <li>a recorded Meteoblue multimodel-1h response (recognised by its {@code metadata} object), or</li>
+ *     <li>a normalized {@link Fixture}, e.g. converted from GRIB, with missing values as {@code null}</li>
+ * </ul>
+ * A request is answered with the fixture nearest to the requested point. All fixtures are held in memory, so a
+ * lookup costs next to nothing and there is nothing to gain from batching; sites are fetched (and stored) one per
+ * sync task like with any other single-point provider.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.providers.file.directory")
+public class FileWeatherProvider implements WeatherProvider {
+
+    public static final String ID = "file";
+
+    private static final Logger log = LoggerFactory.getLogger(FileWeatherProvider.class);
+
+    private final List<LoadedFixture> fixtures;
+
+    public FileWeatherProvider(
+            ObjectMapper objectMapper,
+            @Value("${weather.providers.file.directory}") Path directory
+    ) {
+        this.fixtures = load(objectMapper, directory);
+        if (fixtures.isEmpty()) {
+            throw new IllegalStateException("No *.json forecast fixtures found in " + directory);
+        }
+        log.info("Loaded {} forecast fixtures from {}", fixtures.size(), directory);
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public ProviderForecast fetch(ForecastPoint point) {
+        LoadedFixture nearest = null;
+        double best = Double.POSITIVE_INFINITY;
+        for (LoadedFixture fixture : fixtures) {
+            double dLat = fixture.latitude - point.latitude();
+            double dLon = (fixture.longitude - point.longitude()) * Math.cos(Math.toRadians(point.latitude()));
+            double distance = dLat * dLat + dLon * dLon;
+            if (distance < best) {
+                best = distance;
+                nearest = fixture;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Normalized fixture format; matrices are {@code [model][hour]} like {@link ColumnarForecast}.
+     *
+     * @param time epoch seconds (UTC)
+     */
+    public record Fixture(
+            double latitude,
+            double longitude,
+            String modelrunUpdatetimeUtc,
+            List<String> modelrunUtc,
+            List<String> models,
+            int[] gridpointElevation,
+            long[] time,
+            Double[] temperatureSpread,
+            Double[][] temperature,
+            Double[][] precipitation,
+            Integer[][] cloudcover,
+            Integer[][] winddirection
+    ) {
+
+        ColumnarForecast toColumnar() {
+            return new ColumnarForecast(
+                    modelrunUpdatetimeUtc,
+                    modelrunUtc == null ? List.of() : modelrunUtc,
+                    models,
+                    gridpointElevation == null ? new int[0] : gridpointElevation,
+                    time,
+                    doubles(temperatureSpread, time.length),
+                    doubles(temperature, models.size(), time.length),
+                    doubles(precipitation, models.size(), time.length),
+                    ints(cloudcover, models.size(), time.length),
+                    ints(winddirection, models.size(), time.length)
+            );
+        }
+
+        private static double[][] doubles(Double[][] values, int models, int hours) {
+            double[][] result = new double[models][];
+            for (int m = 0; m < models; m++) {
+                result[m] = doubles(values == null || m >= values.length ? null : values[m], hours);
+            }
+            return result;
+        }
+
+        private static double[] doubles(Double[] values, int hours) {
+            double[] result = new double[hours];
+            for (int h = 0; h < hours; h++) {
+                Double value = values == null || h >= values.length ? null : values[h];
+                result[h] = value == null ? Double.NaN : value;
+            }
+            return result;
+        }
+
+        private static int[][] ints(Integer[][] values, int models, int hours) {
+            int[][] result = new int[models][hours];
+            for (int m = 0; m < models; m++) {
+                Integer[] row = values == null || m >= values.length ? null : values[m];
+                for (int h = 0; h < hours; h++) {
+                    Integer value = row == null || h >= row.length ? null : row[h];
+                    result[m][h] = value == null ? ColumnarForecast.MISSING_INT : value;
+                }
+            }
+            return result;
+        }
+    }
+
+    private record LoadedFixture(double latitude, double longitude, ColumnarForecast columnar, JsonNode payload)
+            implements ProviderForecast {}
+
+    private static List<LoadedFixture> load(ObjectMapper objectMapper, Path directory) {
+        List<LoadedFixture> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).sorted().toList()) {
+                JsonNode tree = objectMapper.readTree(file.toFile());
+                if (tree.has("metadata")) {
+                    MeteoblueWeatherResponse response = objectMapper.treeToValue(tree, MeteoblueWeatherResponse.class);
+                    loaded.add(new LoadedFixture(response.metadata().latitude(), response.metadata().longitude(),
+                            response.columnar(), tree));
+                } else {
+                    Fixture fixture = objectMapper.treeToValue(tree, Fixture.class);
+                    loaded.add(new LoadedFixture(fixture.latitude(), fixture.longitude(), fixture.toColumnar(), tree));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read forecast fixtures from " + directory, ex);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,8 @@
+package com.flightready.weather.provider;
+
+/**
+ * Location a forecast is requested for.
+ *
+ * @param asl elevation in meters above sea level
+ */
+public record ForecastPoint(double latitude, double longitude, int asl) {}
@@ -0,0 +1,18 @@
+package com.flightready.weather.provider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flightready.weather.forecast.ColumnarForecast;
+
+/**
+ * One forecast as returned by a {@link WeatherProvider}.
+ */
+public interface ProviderForecast {
+
+    ColumnarForecast columnar();
+
+    /**
+     * Raw upstream document for {@code weather.payload}; may be null when the provider has none.
+     * Only called when raw payload storage is enabled, so implementations should build it lazily.
+     */
+    JsonNode payload();
+}
@@ -0,0 +1,43 @@
+package com.flightready.weather.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Source of hourly forecasts. Implementations normalize their upstream format into
+ * {@link com.flightready.weather.forecast.ColumnarForecast}, which is all ingestion, scoring and the read API use.
+ */
+public interface WeatherProvider {
+
+    /**
+     * Stable identifier, stored in {@code weather.provider}.
+     */
+    String id();
+
+    ProviderForecast fetch(ForecastPoint point);
+
+    /**
+     * Called once per sync with all points about to be fetched, before the first fetch, so a provider can plan
+     * shared upstream requests.
+     */
+    default void prepare(List<ForecastPoint> points) {}
+
+    /**
+     * Fetches several points at once. The result has the same size and order as {@code points}.
+     * Providers able to answer many points per upstream call override this and {@link #maxBatchSize()}.
+     */
+    default List<ProviderForecast> fetchBatch(List<ForecastPoint> points) {
+        List<ProviderForecast> forecasts = new ArrayList<>(points.size());
+        for (ForecastPoint point : points) {
+            forecasts.add(fetch(point));
+        }
+        return forecasts;
+    }
+
+    /**
+     * Upper bound of points the sync hands to one {@link #fetchBatch} call.
+     */
+    default int maxBatchSize() {
+        return 1;
+    }
+}
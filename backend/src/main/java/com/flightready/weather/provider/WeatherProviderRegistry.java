@@ -0,0 +1,55 @@
+package com.flightready.weather.provider;
+
+import com.flightready.weather.grid.GridWeatherProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * All {@link WeatherProvider} beans by id; {@code weather.provider} selects the one used for syncing, optionally
+ * behind the grid-interpolation mode ({@code weather.grid.enabled}).
+ */
+@Component
+public class WeatherProviderRegistry {
+
+    private final Map<String, WeatherProvider> providers;
+    private final WeatherProvider active;
+
+    public WeatherProviderRegistry(
+            List<WeatherProvider> providers,
+            @Value("${weather.provider:meteoblue}") String activeProvider,
+            @Value("${weather.grid.enabled:false}") boolean gridEnabled,
+            @Value("${weather.grid.spacing-degrees:0.1}") double gridSpacing,
+            @Value("${weather.grid.lapse-rate:0.0065}") double lapseRate,
+            @Value("${weather.grid.node-ttl:PT30M}") Duration nodeTtl,
+            @Value("${weather.grid.max-nodes:10000}") long maxNodes
+    ) {
+        this.providers = providers.stream()
+                .collect(Collectors.toUnmodifiableMap(WeatherProvider::id, Function.identity()));
+        WeatherProvider selected = this.providers.get(activeProvider);
+        if (selected == null) {
+            throw new IllegalStateException("weather.provider '" + activeProvider + "' is not available, known: "
+                    + this.providers.keySet());
+        }
+        this.active = gridEnabled
+                ? new GridWeatherProvider(selected, gridSpacing, lapseRate, nodeTtl, maxNodes)
+                : selected;
+    }
+
+    public WeatherProvider active() {
+        return active;
+    }
+
+    public WeatherProvider get(String id) {
+        WeatherProvider provider = providers.get(id);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown weather provider: " + id);
+        }
+        return provider;
+    }
+}
@@ -0,0 +1,109 @@
+package com.flightready.weather.service;
+
+import com.flightready.launchsite.LaunchsiteChangedEvent;
+import com.flightready.weather.ForecastNotFoundException;
+import com.flightready.weather.WeatherRepository;
+import com.flightready.weather.dto.ForecastBinaryEncoder;
+import com.flightready.weather.dto.ForecastResponse;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.forecast.ForecastHourReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Read side for stored forecasts. The latest forecast of recently requested sites is kept in memory and evicted
+ * as soon as a newer forecast for the site is committed, on this instance or (through the {@code forecast_stored}
+ * notification) on another one. Entries also expire {@code expire-after-write} after loading, which bounds the
+ * staleness while notifications are not received.
+ */
+@Service
+public class ForecastQueryService {
+
+    private final WeatherRepository weatherRepo;
+    private final ForecastHourReader forecastHourReader;
+    private final Cache<UUID, LatestForecast> latestBySite;
+
+    public ForecastQueryService(
+            WeatherRepository weatherRepo,
+            ForecastHourReader forecastHourReader,
+            @Value("${weather.forecast-cache.max-entries:2000}") long maxEntries,
+            @Value("${weather.forecast-cache.expire-after-write:PT1M}") Duration expireAfterWrite
+    ) {
+        this.weatherRepo = weatherRepo;
+        this.forecastHourReader = forecastHourReader;
+        this.latestBySite = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Version of the latest forecast, from the cache or from the (payload-free) latest-row query.
+     */
+    public ForecastVersion latestVersion(UUID launchsiteId) {
+        LatestForecast cached = latestBySite.getIfPresent(launchsiteId);
+        if (cached != null) {
+            return cached.version();
+        }
+        return weatherRepo.findFirstByLaunchsite_IdOrderByFetchedAtDesc(launchsiteId)
+                .map(latest -> new ForecastVersion(latest.getId(), latest.getFetchedAt(), latest.getModelrunUpdatetimeUtc()))
+                .orElseThrow(() -> new ForecastNotFoundException(launchsiteId));
+    }
+
+    public LatestForecast latest(UUID launchsiteId) {
+        return latestBySite.get(launchsiteId, this::load);
+    }
+
+    private LatestForecast load(UUID launchsiteId) {
+        ForecastVersion version = latestVersion(launchsiteId);
+        ColumnarForecast forecast = forecastHourReader.read(version.weatherId(), version.modelrunUpdatetimeUtc());
+        ForecastResponse body = new ForecastResponse(
+                launchsiteId,
+                version.weatherId(),
+                version.fetchedAt(),
+                version.modelrunUpdatetimeUtc(),
+                forecast.models(),
+                forecast.time(),
+                forecast.temperature(),
+                forecast.precipitation(),
+                forecast.cloudcover(),
+                forecast.winddirection()
+        );
+        // encoded once per cached forecast; a few KB and cheaper to keep than to re-encode per request
+        return new LatestForecast(version, body, ForecastBinaryEncoder.encode(body));
+    }
+
+    @TransactionalEventListener
+    public void onForecastStored(ForecastStoredEvent event) {
+        latestBySite.invalidate(event.launchsite().getId());
+    }
+
+    @EventListener
+    public void onRemoteForecastStored(RemoteForecastStoredEvent event) {
+        latestBySite.invalidate(event.launchsiteId());
+    }
+
+    @EventListener
+    public void onRemoteForecastsMissed(RemoteForecastsMissedEvent event) {
+        latestBySite.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onLaunchsiteChanged(LaunchsiteChangedEvent event) {
+        if (event.deleted()) {
+            latestBySite.invalidate(event.id());
+        }
+    }
+
+    /**
+     * @param binary {@code body} in the {@link ForecastBinaryEncoder} format
+     */
+    public record LatestForecast(ForecastVersion version, ForecastResponse body, byte[] binary) {}
+}
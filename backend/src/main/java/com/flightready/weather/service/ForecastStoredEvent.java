@@ -0,0 +1,18 @@
+package com.flightready.weather.service;
+
+import com.flightready.launchsite.Launchsite;
+import com.flightready.weather.forecast.ColumnarForecast;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published inside the per-site transaction right after a forecast was stored.
+ * Synchronous listeners take part in that transaction; use {@code @TransactionalEventListener} to react after commit.
+ */
+public record ForecastStoredEvent(
+        Launchsite launchsite,
+        UUID weatherId,
+        ColumnarForecast forecast,
+        Instant storedAt
+) {}
@@ -0,0 +1,97 @@
+package com.flightready.weather.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.cluster.ClusterNotificationHandler;
+import com.flightready.weather.Modelruns;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.sync.InstanceId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Tells the other instances about every stored forecast: a {@code forecast_stored} notification sent inside the
+ * store transaction, which PostgreSQL delivers on commit only. Received notifications of other instances are
+ * republished locally as {@link RemoteForecastStoredEvent}s, a reconnect of the listener as a
+ * {@link RemoteForecastsMissedEvent}.
+ */
+@Component
+public class ForecastStoredNotifier implements ClusterNotificationHandler {
+
+    static final String CHANNEL = "forecast_stored";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String instanceId;
+
+    private boolean listenedBefore;
+
+    public ForecastStoredNotifier(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            InstanceId instanceId
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.instanceId = instanceId.value();
+    }
+
+    @EventListener
+    public void onForecastStored(ForecastStoredEvent event) {
+        ColumnarForecast forecast = event.forecast();
+        Message message = new Message(instanceId, new RemoteForecastStoredEvent(
+                event.launchsite().getId(),
+                event.weatherId(),
+                Modelruns.parse(forecast.modelrunUpdatetimeUtc()).orElse(null),
+                forecast.hours() > 0 ? Instant.ofEpochSecond(forecast.time()[0]) : null,
+                forecast.hours(),
+                event.storedAt()
+        ));
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class,
+                    CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the forecast_stored notification", ex);
+        }
+    }
+
+    @Override
+    public String channel() {
+        return CHANNEL;
+    }
+
+    @Override
+    public void onNotification(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unreadable forecast_stored notification: " + payload, ex);
+        }
+        // listeners of this instance saw its own forecasts as ForecastStoredEvents already
+        if (!instanceId.equals(message.origin())) {
+            eventPublisher.publishEvent(message.forecast());
+        }
+    }
+
+    @Override
+    public void onListening() {
+        // the first LISTEN comes with startup, where everything is loaded anyway
+        if (listenedBefore) {
+            eventPublisher.publishEvent(new RemoteForecastsMissedEvent());
+        }
+        listenedBefore = true;
+    }
+
+    /**
+     * @param origin {@link InstanceId} of the sender
+     */
+    record Message(String origin, RemoteForecastStoredEvent forecast) {}
+}
@@ -0,0 +1,21 @@
+package com.flightready.weather.service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Identity of a stored forecast, used for ETag / Last-Modified.
+ */
+public record ForecastVersion(UUID weatherId, OffsetDateTime fetchedAt, String modelrunUpdatetimeUtc) {
+
+    public String etag() {
+        return "\"" + Long.toHexString(fetchedAt.toInstant().toEpochMilli())
+                + "-" + Integer.toHexString(Objects.hashCode(modelrunUpdatetimeUtc)) + "\"";
+    }
+
+    public Instant lastModified() {
+        return fetchedAt.toInstant();
+    }
+}
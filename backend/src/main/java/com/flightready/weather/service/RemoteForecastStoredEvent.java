@@ -0,0 +1,20 @@
+package com.flightready.weather.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A forecast was stored and committed by another instance ({@link ForecastStoredNotifier}). Published on the
+ * notification listener thread, outside any transaction; the stored rows are visible already.
+ *
+ * @param modelrun  model run of the stored forecast, null if unknown
+ * @param firstHour first forecast hour, null for an empty forecast
+ */
+public record RemoteForecastStoredEvent(
+        UUID launchsiteId,
+        UUID weatherId,
+        Instant modelrun,
+        Instant firstHour,
+        int hours,
+        Instant storedAt
+) {}
@@ -0,0 +1,7 @@
+package com.flightready.weather.service;
+
+/**
+ * The {@code forecast_stored} notifications were not received for a while (the listener reconnected), so forecasts
+ * stored by other instances may have gone unnoticed. State derived from them should be reloaded.
+ */
+public record RemoteForecastsMissedEvent() {}
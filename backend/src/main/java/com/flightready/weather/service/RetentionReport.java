@@ -0,0 +1,17 @@
+package com.flightready.weather.service;
+
+import java.time.Duration;
+
+/**
+ * What one retention run reclaimed. Byte counts are logical sizes (pg_column_size / pg_total_relation_size);
+ * space from updated or deleted rows is returned to the OS once vacuum has run.
+ */
+public record RetentionReport(
+        int compactedPayloads,
+        long payloadBytesReclaimed,
+        int droppedPartitions,
+        long partitionBytesReclaimed,
+        long deletedForecastHourRows,
+        int deletedWeatherRows,
+        Duration duration
+) {}
@@ -0,0 +1,41 @@
+package com.flightready.weather.service;
+
+import java.util.UUID;
+
+/**
+ * Outcome of syncing a single launchsite within one sync cycle.
+ *
+ * @param error failure message, or the reason a site was skipped
+ */
+public record SiteSyncResult(
+        UUID launchsiteId,
+        Status status,
+        UUID weatherId,
+        String error,
+        long durationMs
+) {
+
+    public enum Status {
+        /** a new forecast was stored */
+        STORED,
+        /** nothing to do: no newer model run upstream */
+        SKIPPED,
+        FAILED
+    }
+
+    public boolean success() {
+        return status != Status.FAILED;
+    }
+
+    public static SiteSyncResult success(UUID launchsiteId, UUID weatherId, long durationMs) {
+        return new SiteSyncResult(launchsiteId, Status.STORED, weatherId, null, durationMs);
+    }
+
+    public static SiteSyncResult skipped(UUID launchsiteId, String reason, long durationMs) {
+        return new SiteSyncResult(launchsiteId, Status.SKIPPED, null, reason, durationMs);
+    }
+
+    public static SiteSyncResult failure(UUID launchsiteId, String error, long durationMs) {
+        return new SiteSyncResult(launchsiteId, Status.FAILED, null, error, durationMs);
+    }
+}
@@ -0,0 +1,14 @@
+package com.flightready.weather.service;
+
+/**
+ * Progress callbacks of {@link WeatherIngestionService#syncOnce(SyncListener)}.
+ * {@link #siteFinished} is called from the sync worker threads, concurrently.
+ */
+public interface SyncListener {
+
+    SyncListener NONE = new SyncListener() {};
+
+    default void started(int totalSites) {}
+
+    default void siteFinished(SiteSyncResult result) {}
+}
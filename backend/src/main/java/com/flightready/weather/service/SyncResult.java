@@ -0,0 +1,39 @@
+package com.flightready.weather.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aggregated outcome of one sync cycle over all launchsites.
+ */
+public record SyncResult(
+        Instant startedAt,
+        Instant finishedAt,
+        List<SiteSyncResult> sites
+) {
+
+    public int processed() {
+        return sites.size();
+    }
+
+    public int succeeded() {
+        return count(SiteSyncResult.Status.STORED);
+    }
+
+    public int skipped() {
+        return count(SiteSyncResult.Status.SKIPPED);
+    }
+
+    public int failed() {
+        return count(SiteSyncResult.Status.FAILED);
+    }
+
+    private int count(SiteSyncResult.Status status) {
+        return (int) sites.stream().filter(site -> site.status() == status).count();
+    }
+
+    public Duration duration() {
+        return Duration.between(startedAt, finishedAt);
+    }
+}
@@ -1,59 +1,250 @@
 package com.flightready.weather.service;
 import com.flightready.launchsite.Launchsite;
+import com.flightready.launchsite.LaunchsiteCatalog;
 import com.flightready.launchsite.LaunchsiteRepository;
+import com.flightready.weather.Modelruns;
 import com.flightready.weather.Weather;
 import com.flightready.weather.WeatherRepository;
-import com.flightready.weather.client.MeteoblueWeatherClient;
-import com.flightready.weather.dto.meteoblue.MeteoblueWeatherResponse;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.forecast.ForecastHourWriter;
+import com.flightready.weather.forecast.ForecastPartitionManager;
+import com.flightready.weather.metrics.WeatherMetrics;
+import com.flightready.weather.metrics.WeatherMetrics.PersistPhase;
+import com.flightready.weather.provider.ForecastPoint;
+import com.flightready.weather.provider.ProviderForecast;
+import com.flightready.weather.provider.WeatherProvider;
+import com.flightready.weather.provider.WeatherProviderRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
 public class WeatherIngestionService {
 
-    private static final int DEFAULT_ASL = 171;
+    private static final Logger log = LoggerFactory.getLogger(WeatherIngestionService.class);
 
     private final LaunchsiteRepository launchsiteRepo;
-    private final MeteoblueWeatherClient meteoblueWeatherClient;
+    private final LaunchsiteCatalog catalog;
+    private final WeatherProvider provider;
     private final WeatherRepository weatherRepo;
+    private final ForecastHourWriter forecastHourWriter;
+    private final ForecastPartitionManager partitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService syncExecutor;
+    private final WeatherMetrics metrics;
+    private final boolean storeRawPayload;
+    private final Duration minRunInterval;
+    private final int concurrency;
 
     public WeatherIngestionService(
             LaunchsiteRepository launchsiteRepo,
-            MeteoblueWeatherClient meteoblueWeatherClient,
-            WeatherRepository weatherRepo
+            LaunchsiteCatalog catalog,
+            WeatherProviderRegistry providers,
+            WeatherRepository weatherRepo,
+            ForecastHourWriter forecastHourWriter,
+            ForecastPartitionManager partitionManager,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("weatherSyncExecutor") ExecutorService syncExecutor,
+            WeatherMetrics metrics,
+            @Value("${weather.ingest.store-raw-payload:true}") boolean storeRawPayload,
+            @Value("${weather.sync.min-run-interval:PT3H}") Duration minRunInterval,
+            @Value("${weather.sync.concurrency:8}") int concurrency
     ) {
         this.launchsiteRepo = launchsiteRepo;
-        this.meteoblueWeatherClient = meteoblueWeatherClient;
+        this.catalog = catalog;
+        this.provider = providers.active();
         this.weatherRepo = weatherRepo;
+        this.forecastHourWriter = forecastHourWriter;
+        this.partitionManager = partitionManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.syncExecutor = syncExecutor;
+        this.metrics = metrics;
+        this.storeRawPayload = storeRawPayload;
+        this.minRunInterval = minRunInterval;
+        this.concurrency = concurrency;
     }
 
-    public UUID fetchAndStore(UUID launchsiteId) {
-        var site = launchsiteRepo.findById(launchsiteId)
-                .orElseThrow(() -> new IllegalArgumentException("Launchsite not found: " + launchsiteId));
+    /**
+     * Incremental sync of all launchsites, fetched concurrently (bounded by {@code weather.sync.concurrency}).
+     * A site is only fetched when its last stored model run is older than {@code weather.sync.min-run-interval},
+     * and only stored when upstream returned a different model run. Due sites are handed to the provider in batches
+     * of at most {@link WeatherProvider#maxBatchSize()}, split so that every sync thread gets work. Each store runs
+     * in its own transaction; a failing site does not affect the others. Site ids come from the
+     * {@link LaunchsiteCatalog}; only due sites are loaded as entities.
+     */
+    public SyncResult syncOnce() {
+        return syncOnce(SyncListener.NONE);
+    }
 
-        var point = site.getLocation();
-        double longitude = point.getX();
-        double latitude  = point.getY();
+    public SyncResult syncOnce(SyncListener listener) {
+        Instant startedAt = Instant.now();
+        List<UUID> launchsiteIds = List.of(catalog.snapshot().ids());
+        listener.started(launchsiteIds.size());
+
+        List<SiteSyncResult> results = syncSites(launchsiteIds, weatherRepo.findLatestModelrunPerSite(), startedAt,
+                listener);
+
+        SyncResult result = new SyncResult(startedAt, Instant.now(), results);
+        metrics.syncFinished(result.duration());
+        log.info("Weather sync ({}) finished: {} sites, {} stored, {} skipped, {} failed in {} ms",
+                provider.id(), result.processed(), result.succeeded(), result.skipped(), result.failed(),
+                result.duration().toMillis());
+        return result;
+    }
+
+    /**
+     * Same as {@link #syncOnce(SyncListener)}, restricted to the given launchsites (one shard of a distributed sync
+     * run). Ids of deleted launchsites are ignored.
+     */
+    public List<SiteSyncResult> syncSites(List<UUID> launchsiteIds, SyncListener listener) {
+        Instant startedAt = Instant.now();
+        return syncSites(launchsiteIds, weatherRepo.findLatestModelrunForSites(launchsiteIds), startedAt, listener);
+    }
+
+    private List<SiteSyncResult> syncSites(List<UUID> launchsiteIds, List<WeatherRepository.LatestModelrun> latest,
+                                           Instant startedAt, SyncListener listener) {
+        Map<UUID, String> lastModelruns = new HashMap<>();
+        latest.forEach(run -> lastModelruns.put(run.getLaunchsiteId(), run.getModelrunUpdatetimeUtc()));
+
+        List<SiteSyncResult> results = new ArrayList<>(launchsiteIds.size());
+        List<UUID> dueIds = new ArrayList<>();
+        for (UUID launchsiteId : launchsiteIds) {
+            if (newRunDue(lastModelruns.get(launchsiteId), startedAt)) {
+                dueIds.add(launchsiteId);
+            } else {
+                SiteSyncResult skipped = SiteSyncResult.skipped(launchsiteId, "no newer model run expected yet", 0);
+                // nothing was fetched, so it is not timed
+                listener.siteFinished(skipped);
+                results.add(skipped);
+            }
+        }
+        // sites deleted in the meantime drop out here
+        List<Launchsite> due = dueIds.isEmpty() ? List.of() : launchsiteRepo.findAllById(dueIds);
 
-        MeteoblueWeatherResponse payload =
-                meteoblueWeatherClient.fetchCurrentForecast(latitude, longitude, DEFAULT_ASL);
+        if (!due.isEmpty()) {
+            provider.prepare(due.stream().map(WeatherIngestionService::pointOf).toList());
+        }
+        // a batch is fetched and stored by one task, so never make fewer batches than there are sync threads
+        int batchSize = Math.max(1, Math.min(provider.maxBatchSize(), (due.size() + concurrency - 1) / concurrency));
+        List<CompletableFuture<List<SiteSyncResult>>> pending = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Launchsite> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            pending.add(CompletableFuture.supplyAsync(
+                    () -> syncBatch(batch, lastModelruns, listener), syncExecutor));
+        }
+        pending.forEach(future -> results.addAll(future.join()));
+        return results;
+    }
+
+    private List<SiteSyncResult> syncBatch(List<Launchsite> batch, Map<UUID, String> lastModelruns,
+                                           SyncListener listener) {
+        long start = System.nanoTime();
+        List<SiteSyncResult> results = new ArrayList<>(batch.size());
 
-        Weather w = Weather.meteoblue(site, payload);
-        weatherRepo.save(w);
+        List<ProviderForecast> forecasts;
+        try {
+            forecasts = provider.fetchBatch(batch.stream().map(WeatherIngestionService::pointOf).toList());
+            if (forecasts.size() != batch.size()) {
+                // results are matched to sites by position
+                throw new IllegalStateException("Provider " + provider.id() + " returned " + forecasts.size()
+                        + " forecast(s) for " + batch.size() + " launchsite(s)");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Weather fetch failed for {} launchsite(s): {}", batch.size(), ex.getMessage());
+            for (Launchsite site : batch) {
+                SiteSyncResult failure = SiteSyncResult.failure(site.getId(), ex.getMessage(), elapsedMillis(start));
+                finished(failure, start, listener);
+                results.add(failure);
+            }
+            return results;
+        }
 
-        return w.getId();
+        for (int i = 0; i < batch.size(); i++) {
+            Launchsite site = batch.get(i);
+            SiteSyncResult result = syncSite(site, lastModelruns.get(site.getId()), forecasts.get(i), start);
+            finished(result, start, listener);
+            results.add(result);
+        }
+        return results;
     }
 
-    @Transactional
-    public int syncOnce() {
-        List<UUID> ids = launchsiteRepo.findAll()
-                .stream()
-                .map(Launchsite::getId)
-                .toList();
+    private void finished(SiteSyncResult result, long startNanos, SyncListener listener) {
+        metrics.siteSynced(result.status(), System.nanoTime() - startNanos);
+        listener.siteFinished(result);
+    }
+
+    private SiteSyncResult syncSite(Launchsite site, String lastModelrun, ProviderForecast forecast, long start) {
+        try {
+            if (lastModelrun != null && Objects.equals(lastModelrun, forecast.columnar().modelrunUpdatetimeUtc())) {
+                return SiteSyncResult.skipped(site.getId(), "model run unchanged", elapsedMillis(start));
+            }
+            UUID weatherId = store(site, forecast);
+            return SiteSyncResult.success(site.getId(), weatherId, elapsedMillis(start));
+        } catch (RuntimeException ex) {
+            log.warn("Weather sync failed for launchsite {}: {}", site.getId(), ex.getMessage());
+            return SiteSyncResult.failure(site.getId(), ex.getMessage(), elapsedMillis(start));
+        }
+    }
+
+    /**
+     * A run younger than min-run-interval cannot have been superseded yet; unknown or unparsable runs are due.
+     */
+    private boolean newRunDue(String lastModelrun, Instant now) {
+        return Modelruns.parse(lastModelrun)
+                .map(lastRun -> !lastRun.plus(minRunInterval).isAfter(now))
+                .orElse(true);
+    }
+
+    private static ForecastPoint pointOf(Launchsite site) {
+        var point = site.getLocation();
+        return new ForecastPoint(point.getY(), point.getX(), site.getAsl());
+    }
+
+    private UUID store(Launchsite site, ProviderForecast forecast) {
+        ColumnarForecast columnar = forecast.columnar();
+
+        if (columnar.hours() > 0) {
+            long[] time = columnar.time();
+            partitionManager.ensurePartitions(time[0], time[time.length - 1]);
+        }
+
+        return transactionTemplate.execute(status -> {
+            Weather w = Weather.of(
+                    provider.id(),
+                    launchsiteRepo.getReferenceById(site.getId()),
+                    storeRawPayload ? forecast.payload() : null,
+                    columnar.modelrunUpdatetimeUtc()
+            );
+            // flushed right away, the hourly rows reference it
+            long start = System.nanoTime();
+            weatherRepo.saveAndFlush(w);
+            long saved = System.nanoTime();
+            metrics.persisted(PersistPhase.WEATHER, saved - start);
+            forecastHourWriter.write(w.getId(), site.getId(), columnar);
+            metrics.persisted(PersistPhase.FORECAST_HOURS, System.nanoTime() - saved);
+            eventPublisher.publishEvent(new ForecastStoredEvent(site, w.getId(), columnar, Instant.now()));
+            return w.getId();
+        });
+    }
 
-        ids.forEach(this::fetchAndStore);
-        return ids.size();
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
     }
 }
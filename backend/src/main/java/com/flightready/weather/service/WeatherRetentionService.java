@@ -0,0 +1,280 @@
+package com.flightready.weather.service;
+
+import com.flightready.weather.forecast.ForecastPartitionManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the weather tables bounded:
+ * <ol>
+ *     <li>payloads older than the latest {@code keep-full-payload-runs} per site are compacted to metadata, units
+ *     and the variables the decoder consumes; everything else in the upstream document is dropped</li>
+ *     <li>forecast_hour partitions entirely older than {@code forecast-hour-retention} are detached or dropped</li>
+ *     <li>weather rows older than {@code weather-retention} are deleted, except each site's latest row</li>
+ * </ol>
+ * {@code weather-retention} may not exceed {@code forecast-hour-retention}, so no weather row outlives the hours
+ * it was stored with (partitions go by whole months, so hours can outlive their row by up to a month).
+ * Every step works in small batches / separate transactions, so no long locks are held.
+ */
+@Service
+public class WeatherRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherRetentionService.class);
+
+    static final String COMPACT_SCHEMA_VERSION = "v1-compact";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("forecast_hour_(\\d{4})_(\\d{2})");
+
+    /**
+     * One batch of compaction, walking weather by id from the cursor. A row is compacted once its site has at least
+     * {@code keep-full-payload-runs} newer rows (looked up per row through idx_weather_location_fetched), so every
+     * run reads each row once instead of ranking the whole table per batch. Returns the last compacted id with the
+     * batch totals, or nothing when the walk is done.
+     *
+     * The compacted payload keeps metadata, units and every data_1h variable MeteoblueColumnarDecoder reads, so
+     * the hourly values can still be re-derived from it.
+     */
+    private static final String COMPACT_PAYLOADS_SQL = """
+            WITH targets AS (
+                SELECT w.id, pg_column_size(w.payload) AS old_size
+                FROM weather w
+                WHERE w.id > ?
+                  AND w.schema_version <> 'v1-compact'
+                  AND w.payload -> 'multimodel' IS NOT NULL
+                  AND w.fetched_at < (
+                      SELECT k.fetched_at
+                      FROM weather k
+                      WHERE k.launchsite_id = w.launchsite_id
+                      ORDER BY k.fetched_at DESC
+                      OFFSET ? LIMIT 1
+                  )
+                ORDER BY w.id
+                LIMIT ?
+            ), compacted AS (
+                UPDATE weather w
+                SET payload = jsonb_build_object(
+                        'metadata', w.payload -> 'metadata',
+                        'units', w.payload -> 'units',
+                        'multimodel', jsonb_build_object('data_1h', jsonb_strip_nulls(jsonb_build_object(
+                                'time', w.payload #> '{multimodel,data_1h,time}',
+                                'temperature_spread', w.payload #> '{multimodel,data_1h,temperature_spread}',
+                                'temperature', w.payload #> '{multimodel,data_1h,temperature}',
+                                'precipitation', w.payload #> '{multimodel,data_1h,precipitation}',
+                                'cloudcover', w.payload #> '{multimodel,data_1h,cloudcover}',
+                                'winddirection', w.payload #> '{multimodel,data_1h,winddirection}')))),
+                    schema_version = 'v1-compact'
+                FROM targets t
+                WHERE w.id = t.id
+                RETURNING w.id, t.old_size - pg_column_size(w.payload) AS reclaimed
+            )
+            SELECT id, count(*) OVER () AS rows, sum(reclaimed) OVER () AS reclaimed
+            FROM compacted
+            ORDER BY id DESC
+            LIMIT 1
+            """;
+
+    private static final String DELETE_WEATHER_SQL = """
+            DELETE FROM weather
+            WHERE id IN (
+                SELECT w.id
+                FROM weather w
+                WHERE w.fetched_at < ?
+                  AND EXISTS (
+                      SELECT 1 FROM weather newer
+                      WHERE newer.launchsite_id = w.launchsite_id AND newer.fetched_at > w.fetched_at
+                  )
+                LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForecastPartitionManager partitionManager;
+    private final int keepFullPayloadRuns;
+    private final Duration forecastHourRetention;
+    private final Duration weatherRetention;
+    private final boolean detachOnly;
+    private final int batchSize;
+
+    private final Counter payloadRows;
+    private final Counter payloadBytes;
+    private final Counter partitionRows;
+    private final Counter partitionBytes;
+    private final Counter weatherRows;
+
+    public WeatherRetentionService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ForecastPartitionManager partitionManager,
+            MeterRegistry meterRegistry,
+            @Value("${weather.retention.keep-full-payload-runs:3}") int keepFullPayloadRuns,
+            @Value("${weather.retention.forecast-hour-retention:P90D}") Duration forecastHourRetention,
+            @Value("${weather.retention.weather-retention:P90D}") Duration weatherRetention,
+            @Value("${weather.retention.partition-mode:drop}") String partitionMode,
+            @Value("${weather.retention.batch-size:1000}") int batchSize
+    ) {
+        if (!partitionMode.equals("drop") && !partitionMode.equals("detach")) {
+            throw new IllegalArgumentException("weather.retention.partition-mode must be 'drop' or 'detach'");
+        }
+        if (keepFullPayloadRuns < 1) {
+            throw new IllegalArgumentException("weather.retention.keep-full-payload-runs must be >= 1");
+        }
+        if (weatherRetention.compareTo(forecastHourRetention) > 0) {
+            throw new IllegalArgumentException(
+                    "weather.retention.weather-retention must not be longer than forecast-hour-retention");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionManager = partitionManager;
+        this.keepFullPayloadRuns = keepFullPayloadRuns;
+        this.forecastHourRetention = forecastHourRetention;
+        this.weatherRetention = weatherRetention;
+        this.detachOnly = partitionMode.equals("detach");
+        this.batchSize = batchSize;
+
+        this.payloadRows = reclaimed(meterRegistry, "weather.retention.rows.reclaimed", "payload");
+        this.payloadBytes = reclaimed(meterRegistry, "weather.retention.bytes.reclaimed", "payload");
+        this.partitionRows = reclaimed(meterRegistry, "weather.retention.rows.reclaimed", "forecast_hour");
+        this.partitionBytes = reclaimed(meterRegistry, "weather.retention.bytes.reclaimed", "forecast_hour");
+        this.weatherRows = reclaimed(meterRegistry, "weather.retention.rows.reclaimed", "weather");
+    }
+
+    private static Counter reclaimed(MeterRegistry registry, String name, String kind) {
+        return Counter.builder(name)
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    public RetentionReport runOnce() {
+        Instant startedAt = Instant.now();
+
+        long[] payloads = compactPayloads();
+        long[] partitions = dropExpiredPartitions(startedAt.minus(forecastHourRetention));
+        int deletedWeather = deleteExpiredWeather(startedAt.minus(weatherRetention));
+
+        RetentionReport report = new RetentionReport(
+                (int) payloads[0], payloads[1],
+                (int) partitions[0], partitions[1], partitions[2],
+                deletedWeather,
+                Duration.between(startedAt, Instant.now())
+        );
+        log.info("Weather retention finished: {}", report);
+        return report;
+    }
+
+    /**
+     * @return {compacted rows, bytes reclaimed}
+     */
+    private long[] compactPayloads() {
+        long rows = 0;
+        long bytes = 0;
+        UUID cursor = new UUID(0, 0);
+        while (true) {
+            UUID after = cursor;
+            CompactedBatch batch = transactionTemplate.execute(status -> jdbcTemplate.query(COMPACT_PAYLOADS_SQL,
+                    rs -> rs.next()
+                            ? new CompactedBatch(rs.getObject("id", UUID.class), rs.getLong("rows"), rs.getLong("reclaimed"))
+                            : null,
+                    after, keepFullPayloadRuns - 1, batchSize));
+            if (batch == null) {
+                break;
+            }
+            cursor = batch.lastId();
+            rows += batch.rows();
+            bytes += batch.bytes();
+            payloadRows.increment(batch.rows());
+            payloadBytes.increment(batch.bytes());
+        }
+        return new long[]{rows, bytes};
+    }
+
+    /**
+     * Drops (or detaches) monthly partitions whose whole range is before the cutoff, and clears expired rows
+     * from the default partition.
+     *
+     * @return {dropped partitions, bytes reclaimed, rows removed}
+     */
+    private long[] dropExpiredPartitions(Instant cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'forecast_hour'::regclass
+                """, String.class);
+
+        long dropped = 0;
+        long bytes = 0;
+        long rows = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            Instant end = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            if (end.isAfter(cutoff)) {
+                continue;
+            }
+
+            long[] sizes = transactionTemplate.execute(status -> {
+                // same lock as ForecastPartitionManager, so a concurrent sync cannot recreate it half-way
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('forecast_hour_partitions'))", rs -> {});
+                Long size = jdbcTemplate.queryForObject("SELECT pg_total_relation_size(?::regclass)", Long.class, partition);
+                Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+                jdbcTemplate.execute("ALTER TABLE forecast_hour DETACH PARTITION " + partition);
+                if (!detachOnly) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                }
+                return new long[]{size == null ? 0 : size, count == null ? 0 : count};
+            });
+            partitionManager.forget(month);
+            dropped++;
+            if (!detachOnly) {
+                bytes += sizes[0];
+                rows += sizes[1];
+            }
+            log.info("{} forecast_hour partition {} ({} rows, {} bytes)",
+                    detachOnly ? "Detached" : "Dropped", partition, sizes[1], sizes[0]);
+        }
+
+        int defaultRows = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "DELETE FROM forecast_hour_default WHERE valid_time < ?", Timestamp.from(cutoff)));
+        rows += defaultRows;
+
+        partitionRows.increment(rows);
+        partitionBytes.increment(bytes);
+        return new long[]{dropped, bytes, rows};
+    }
+
+    private int deleteExpiredWeather(Instant cutoff) {
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_WEATHER_SQL, Timestamp.from(cutoff), batchSize));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            total += deleted;
+            weatherRows.increment(deleted);
+        }
+        return total;
+    }
+
+    private record CompactedBatch(UUID lastId, long rows, long bytes) {}
+}
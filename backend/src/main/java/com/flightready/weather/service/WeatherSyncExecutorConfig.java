@@ -0,0 +1,56 @@
+package com.flightready.weather.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class WeatherSyncExecutorConfig {
+
+    /**
+     * Bounded pool used to fan out per-site fetches during a sync.
+     * The pool size is the upper limit of concurrent Meteoblue calls (and of DB connections used for storing).
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService weatherSyncExecutor(@Value("${weather.sync.concurrency:8}") int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("weather.sync.concurrency must be >= 1, was " + concurrency);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "weather-sync-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Single thread coordinating background sync runs; the per-site work still goes to {@code weatherSyncExecutor}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService weatherSyncRunExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "weather-sync-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
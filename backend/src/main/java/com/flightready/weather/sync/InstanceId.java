@@ -0,0 +1,38 @@
+package com.flightready.weather.sync;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Identifies this backend instance in shard claims and scheduler leases: {@code weather.sync.instance-id}, or
+ * host name and pid (the container id under docker-compose).
+ */
+@Component
+public class InstanceId {
+
+    private final String value;
+
+    public InstanceId(@Value("${weather.sync.instance-id:}") String configured) {
+        this.value = configured.isBlank() ? hostName() + ":" + ProcessHandle.current().pid() : configured;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
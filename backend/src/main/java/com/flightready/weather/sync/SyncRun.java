@@ -0,0 +1,38 @@
+package com.flightready.weather.sync;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One weather sync run as persisted in {@code sync_run}. Counters are updated while the run progresses.
+ *
+ * @param totalSites null until the run has started
+ */
+public record SyncRun(
+        UUID id,
+        String trigger,
+        Status status,
+        Instant requestedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Integer totalSites,
+        int processed,
+        int succeeded,
+        int skipped,
+        int failed,
+        String error
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        /** not finished within {@code weather.sync.run-timeout} */
+        ABORTED;
+
+        public boolean active() {
+            return this == QUEUED || this == RUNNING;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.flightready.weather.sync;
+
+import java.util.UUID;
+
+public class SyncRunNotFoundException extends RuntimeException {
+    public SyncRunNotFoundException(UUID runId) {
+        super("Sync run not found: " + runId);
+    }
+}
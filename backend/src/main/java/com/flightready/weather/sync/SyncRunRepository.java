@@ -0,0 +1,249 @@
+package com.flightready.weather.sync;
+
+import com.flightready.weather.service.SiteSyncResult;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code sync_run} / {@code sync_run_shard} / {@code sync_run_site}. Per-site results are written
+ * with a single statement that also bumps the run counters, so progress reads never need to aggregate the site rows.
+ */
+@Repository
+public class SyncRunRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RowMapper<SyncRun> rowMapper = SyncRunRepository::mapRow;
+
+    public SyncRunRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException when another run is already queued or running
+     */
+    public SyncRun insertQueued(String trigger, int totalSites) {
+        UUID id = UUID.randomUUID();
+        Instant now = Instant.now();
+        jdbcTemplate.update(
+                "INSERT INTO sync_run (id, trigger, status, requested_at, total_sites) VALUES (?, ?, ?, ?, ?)",
+                id, trigger, SyncRun.Status.QUEUED.name(), Timestamp.from(now), totalSites
+        );
+        return new SyncRun(id, trigger, SyncRun.Status.QUEUED, now, null, null, totalSites, 0, 0, 0, 0, null);
+    }
+
+    /**
+     * @param shards launchsite ids per shard, in shard order
+     */
+    public void insertShards(UUID runId, List<List<UUID>> shards) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sync_run_shard (run_id, shard, launchsite_ids, status) VALUES (?, ?, ?, 'PENDING')",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setObject(1, runId);
+                        ps.setInt(2, i);
+                        ps.setArray(3, ps.getConnection().createArrayOf("uuid", shards.get(i).toArray()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return shards.size();
+                    }
+                });
+    }
+
+    /**
+     * Claims the next pending shard of the active run, or one whose claim is older than the lease (its instance is
+     * presumed dead). Concurrent claimers skip each other's locked rows instead of waiting.
+     */
+    public Optional<SyncShard> claimShard(String instanceId, Duration lease) {
+        return jdbcTemplate.query("""
+                        WITH next AS (
+                            SELECT s.run_id, s.shard
+                            FROM sync_run_shard s
+                            JOIN sync_run r ON r.id = s.run_id
+                            WHERE r.status IN ('QUEUED', 'RUNNING')
+                              AND (s.status = 'PENDING'
+                                   OR (s.status = 'CLAIMED' AND s.claimed_at < now() - make_interval(secs => ?)))
+                            ORDER BY s.shard
+                            LIMIT 1
+                            FOR UPDATE OF s SKIP LOCKED
+                        )
+                        UPDATE sync_run_shard s
+                        SET status = 'CLAIMED', claimed_by = ?, claimed_at = now(), attempts = s.attempts + 1
+                        FROM next
+                        WHERE s.run_id = next.run_id AND s.shard = next.shard
+                        RETURNING s.run_id, s.shard, s.launchsite_ids, s.attempts, s.claimed_by
+                        """,
+                (rs, rowNum) -> {
+                    Array ids = rs.getArray("launchsite_ids");
+                    List<UUID> launchsiteIds = List.of((UUID[]) ids.getArray());
+                    ids.free();
+                    return new SyncShard(rs.getObject("run_id", UUID.class), rs.getInt("shard"), launchsiteIds,
+                            rs.getInt("attempts"), rs.getString("claimed_by"));
+                },
+                (double) lease.toSeconds(), instanceId
+        ).stream().findFirst();
+    }
+
+    /**
+     * @return false if the claim was lost: its lease expired and another instance took the shard over
+     */
+    public boolean finishShard(SyncShard shard, SyncShard.Status status, String error) {
+        return jdbcTemplate.update("""
+                        UPDATE sync_run_shard SET status = ?, finished_at = ?, error = ?
+                        WHERE run_id = ? AND shard = ? AND status = 'CLAIMED' AND claimed_by = ? AND attempts = ?
+                        """,
+                status.name(), Timestamp.from(Instant.now()), error,
+                shard.runId(), shard.shard(), shard.claimedBy(), shard.attempts()
+        ) == 1;
+    }
+
+    /**
+     * Hands a shard back for another attempt, by this or another instance.
+     *
+     * @return false if the claim was lost, see {@link #finishShard}
+     */
+    public boolean releaseShard(SyncShard shard, String error) {
+        return jdbcTemplate.update("""
+                        UPDATE sync_run_shard SET status = 'PENDING', claimed_by = NULL, error = ?
+                        WHERE run_id = ? AND shard = ? AND status = 'CLAIMED' AND claimed_by = ? AND attempts = ?
+                        """,
+                error, shard.runId(), shard.shard(), shard.claimedBy(), shard.attempts()
+        ) == 1;
+    }
+
+    /**
+     * Finishes the run once no shard is left open: COMPLETED, or FAILED if a shard failed. Whichever instance
+     * finishes the last shard sees all others committed, so exactly one call returns the finished run.
+     */
+    public Optional<SyncRun> finishIfDone(UUID runId) {
+        return jdbcTemplate.query("""
+                        UPDATE sync_run r
+                        SET status = CASE WHEN f.failed > 0 THEN 'FAILED' ELSE 'COMPLETED' END,
+                            error = CASE WHEN f.failed > 0 THEN f.failed || ' shard(s) failed' END,
+                            finished_at = now()
+                        FROM (SELECT count(*) FILTER (WHERE status = 'FAILED') AS failed,
+                                     count(*) FILTER (WHERE status IN ('PENDING', 'CLAIMED')) AS open
+                              FROM sync_run_shard WHERE run_id = ?) f
+                        WHERE r.id = ? AND r.status IN ('QUEUED', 'RUNNING') AND f.open = 0
+                        RETURNING r.*
+                        """,
+                rowMapper, runId, runId
+        ).stream().findFirst();
+    }
+
+    public Optional<SyncRun> findById(UUID id) {
+        return jdbcTemplate.query("SELECT * FROM sync_run WHERE id = ?", rowMapper, id)
+                .stream().findFirst();
+    }
+
+    public Optional<SyncRun> findActive() {
+        return jdbcTemplate.query("SELECT * FROM sync_run WHERE status IN ('QUEUED', 'RUNNING')", rowMapper)
+                .stream().findFirst();
+    }
+
+    public List<SyncRun> findRecent(int limit) {
+        return jdbcTemplate.query("SELECT * FROM sync_run ORDER BY requested_at DESC LIMIT ?", rowMapper, limit);
+    }
+
+    public List<SiteSyncResult> findSites(UUID runId) {
+        return jdbcTemplate.query(
+                "SELECT * FROM sync_run_site WHERE run_id = ? ORDER BY finished_at",
+                (rs, rowNum) -> new SiteSyncResult(
+                        rs.getObject("launchsite_id", UUID.class),
+                        SiteSyncResult.Status.valueOf(rs.getString("status")),
+                        rs.getObject("weather_id", UUID.class),
+                        rs.getString("error"),
+                        rs.getLong("duration_ms")
+                ),
+                runId
+        );
+    }
+
+    /**
+     * Called with every claimed shard; only the first one starts the run.
+     */
+    public void markRunning(UUID id) {
+        jdbcTemplate.update(
+                "UPDATE sync_run SET status = 'RUNNING', started_at = ? WHERE id = ? AND status = 'QUEUED'",
+                Timestamp.from(Instant.now()), id
+        );
+    }
+
+    public void recordSite(UUID runId, SiteSyncResult result) {
+        int stored = result.status() == SiteSyncResult.Status.STORED ? 1 : 0;
+        int skipped = result.status() == SiteSyncResult.Status.SKIPPED ? 1 : 0;
+        int failed = result.status() == SiteSyncResult.Status.FAILED ? 1 : 0;
+        jdbcTemplate.update("""
+                        WITH site AS (
+                            INSERT INTO sync_run_site (run_id, launchsite_id, status, weather_id, error, duration_ms, finished_at)
+                            VALUES (?, ?, ?, ?, ?, ?, ?)
+                            ON CONFLICT (run_id, launchsite_id) DO NOTHING
+                            RETURNING run_id
+                        )
+                        UPDATE sync_run
+                        SET processed = processed + 1,
+                            succeeded = succeeded + ?,
+                            skipped = skipped + ?,
+                            failed = failed + ?
+                        WHERE id = (SELECT run_id FROM site)
+                        """,
+                runId, result.launchsiteId(), result.status().name(), result.weatherId(), result.error(),
+                result.durationMs(), Timestamp.from(Instant.now()),
+                stored, skipped, failed
+        );
+    }
+
+    public void finish(UUID id, SyncRun.Status status, String error) {
+        jdbcTemplate.update(
+                "UPDATE sync_run SET status = ?, finished_at = ?, error = ? WHERE id = ?",
+                status.name(), Timestamp.from(Instant.now()), error, id
+        );
+    }
+
+    /**
+     * Aborts queued or running runs requested before {@code requestedBefore}, so a run that can no longer make
+     * progress does not block new triggers forever.
+     */
+    public int abortActive(Instant requestedBefore, String reason) {
+        return jdbcTemplate.update("""
+                UPDATE sync_run SET status = 'ABORTED', finished_at = ?, error = ?
+                WHERE status IN ('QUEUED', 'RUNNING') AND requested_at < ?
+                """, Timestamp.from(Instant.now()), reason, Timestamp.from(requestedBefore));
+    }
+
+    private static SyncRun mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new SyncRun(
+                rs.getObject("id", UUID.class),
+                rs.getString("trigger"),
+                SyncRun.Status.valueOf(rs.getString("status")),
+                rs.getTimestamp("requested_at").toInstant(),
+                toInstant(rs.getTimestamp("started_at")),
+                toInstant(rs.getTimestamp("finished_at")),
+                rs.getObject("total_sites", Integer.class),
+                rs.getInt("processed"),
+                rs.getInt("succeeded"),
+                rs.getInt("skipped"),
+                rs.getInt("failed"),
+                rs.getString("error")
+        );
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,115 @@
+package com.flightready.weather.sync;
+
+import com.flightready.launchsite.LaunchsiteCatalog;
+import com.flightready.weather.service.SiteSyncResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts weather sync runs and records their progress in {@code sync_run}. A run is split into shards of
+ * {@code weather.sync.shard-size} launchsites that all instances process through {@link SyncShardWorker}.
+ * Triggers are single-flight: while a run is queued or running, triggering returns that run instead of starting
+ * another one (enforced by a partial unique index, so it also holds across instances sharing the database).
+ */
+@Service
+public class SyncRunService {
+
+    private static final int MAX_RECENT = 100;
+
+    private final SyncRunRepository syncRunRepo;
+    private final LaunchsiteCatalog catalog;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncShardWorker shardWorker;
+    private final int shardSize;
+
+    public SyncRunService(
+            SyncRunRepository syncRunRepo,
+            LaunchsiteCatalog catalog,
+            TransactionTemplate transactionTemplate,
+            SyncShardWorker shardWorker,
+            @Value("${weather.sync.shard-size:50}") int shardSize
+    ) {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("weather.sync.shard-size must be >= 1, was " + shardSize);
+        }
+        this.syncRunRepo = syncRunRepo;
+        this.catalog = catalog;
+        this.transactionTemplate = transactionTemplate;
+        this.shardWorker = shardWorker;
+        this.shardSize = shardSize;
+    }
+
+    public record Triggered(SyncRun run, boolean alreadyActive) {}
+
+    public synchronized Triggered trigger(String trigger) {
+        var active = syncRunRepo.findActive();
+        if (active.isPresent()) {
+            return new Triggered(active.get(), true);
+        }
+
+        LaunchsiteCatalog.Snapshot sites = catalog.snapshot();
+        List<List<UUID>> shards = shards(sites);
+        SyncRun run;
+        try {
+            run = transactionTemplate.execute(status -> {
+                SyncRun queued = syncRunRepo.insertQueued(trigger, sites.size());
+                syncRunRepo.insertShards(queued.id(), shards);
+                return queued;
+            });
+        } catch (DuplicateKeyException ex) {
+            // another instance won the race
+            return syncRunRepo.findActive()
+                    .map(existing -> new Triggered(existing, true))
+                    .orElseThrow(() -> ex);
+        }
+
+        if (shards.isEmpty()) {
+            run = syncRunRepo.finishIfDone(run.id()).orElse(run);
+        } else {
+            shardWorker.wake();
+        }
+        return new Triggered(run, false);
+    }
+
+    public SyncRun find(UUID runId) {
+        return syncRunRepo.findById(runId).orElseThrow(() -> new SyncRunNotFoundException(runId));
+    }
+
+    public List<SiteSyncResult> findSites(UUID runId) {
+        return syncRunRepo.findSites(runId);
+    }
+
+    public List<SyncRun> findRecent(int limit) {
+        return syncRunRepo.findRecent(Math.max(1, Math.min(limit, MAX_RECENT)));
+    }
+
+    /**
+     * Sites ordered by 1-degree latitude band, then longitude, so neighbours that share an upstream forecast cache
+     * cell mostly end up in the same shard (and on the same instance).
+     */
+    private List<List<UUID>> shards(LaunchsiteCatalog.Snapshot sites) {
+        double[] latitudes = sites.latitudes();
+        double[] longitudes = sites.longitudes();
+        List<Integer> ordered = new ArrayList<>(sites.size());
+        for (int i = 0; i < sites.size(); i++) {
+            ordered.add(i);
+        }
+        ordered.sort(Comparator.<Integer>comparingDouble(i -> Math.floor(latitudes[i]))
+                .thenComparingDouble(i -> longitudes[i]));
+
+        List<List<UUID>> shards = new ArrayList<>();
+        for (int from = 0; from < ordered.size(); from += shardSize) {
+            shards.add(ordered.subList(from, Math.min(from + shardSize, ordered.size())).stream()
+                    .map(i -> sites.ids()[i])
+                    .toList());
+        }
+        return shards;
+    }
+}
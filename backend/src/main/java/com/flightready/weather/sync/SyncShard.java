@@ -0,0 +1,21 @@
+package com.flightready.weather.sync;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A claimed part of a sync run.
+ *
+ * @param attempts  claims so far, including this one; together with {@code claimedBy} it identifies the claim
+ * @param claimedBy instance that holds the claim
+ */
+public record SyncShard(UUID runId, int shard, List<UUID> launchsiteIds, int attempts, String claimedBy) {
+
+    public enum Status {
+        PENDING,
+        CLAIMED,
+        DONE,
+        /** gave up after repeated failures of the whole shard */
+        FAILED
+    }
+}
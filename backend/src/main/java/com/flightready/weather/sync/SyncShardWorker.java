@@ -0,0 +1,157 @@
+package com.flightready.weather.sync;
+
+import com.flightready.weather.metrics.WeatherMetrics;
+import com.flightready.weather.service.SiteSyncResult;
+import com.flightready.weather.service.SyncListener;
+import com.flightready.weather.service.WeatherIngestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs on every backend instance: claims shards of the active sync run one at a time and syncs their launchsites
+ * (fetches still fan out over {@code weatherSyncExecutor}). With N instances a run finishes in about 1/N of the time.
+ * A shard whose instance died is taken over once its claim is older than {@code weather.sync.shard-lease}.
+ */
+@Component
+public class SyncShardWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncShardWorker.class);
+
+    private static final int MAX_SHARD_ATTEMPTS = 3;
+
+    private final SyncRunRepository syncRunRepo;
+    private final WeatherIngestionService weatherIngestionService;
+    private final WeatherMetrics metrics;
+    private final ExecutorService runExecutor;
+    private final InstanceId instanceId;
+    private final Duration lease;
+    private final Duration runTimeout;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    public SyncShardWorker(
+            SyncRunRepository syncRunRepo,
+            WeatherIngestionService weatherIngestionService,
+            WeatherMetrics metrics,
+            @Qualifier("weatherSyncRunExecutor") ExecutorService runExecutor,
+            InstanceId instanceId,
+            @Value("${weather.sync.shard-lease:PT15M}") Duration lease,
+            @Value("${weather.sync.run-timeout:PT6H}") Duration runTimeout
+    ) {
+        this.syncRunRepo = syncRunRepo;
+        this.weatherIngestionService = weatherIngestionService;
+        this.metrics = metrics;
+        this.runExecutor = runExecutor;
+        this.instanceId = instanceId;
+        this.lease = lease;
+        this.runTimeout = runTimeout;
+    }
+
+    /**
+     * Picks up runs triggered on other instances and shards left behind by dead ones.
+     */
+    @Scheduled(fixedDelayString = "${weather.sync.shard-poll:PT15S}")
+    public void poll() {
+        int aborted = syncRunRepo.abortActive(Instant.now().minus(runTimeout),
+                "not finished within weather.sync.run-timeout (" + runTimeout + ")");
+        if (aborted > 0) {
+            log.warn("Aborted {} sync run(s) running longer than {}", aborted, runTimeout);
+        }
+        wake();
+    }
+
+    /**
+     * Starts claiming shards on the run executor, unless this instance already does.
+     */
+    public void wake() {
+        wakeRequested.set(true);
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runExecutor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (wakeRequested.getAndSet(false)) {
+                Optional<SyncShard> shard;
+                while ((shard = syncRunRepo.claimShard(instanceId.value(), lease)).isPresent()) {
+                    process(shard.get());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Claiming sync shards failed: {}", ex.getMessage());
+        } finally {
+            draining.set(false);
+        }
+        // a wake() that raced with the end of the loop
+        if (wakeRequested.get()) {
+            wake();
+        }
+    }
+
+    private void process(SyncShard shard) {
+        syncRunRepo.markRunning(shard.runId());
+        try {
+            List<SiteSyncResult> results = weatherIngestionService.syncSites(shard.launchsiteIds(), new SyncListener() {
+                @Override
+                public void siteFinished(SiteSyncResult site) {
+                    try {
+                        syncRunRepo.recordSite(shard.runId(), site);
+                    } catch (RuntimeException ex) {
+                        // progress bookkeeping must not fail the sync itself
+                        log.warn("Could not record sync progress of launchsite {} in run {}: {}",
+                                site.launchsiteId(), shard.runId(), ex.getMessage());
+                    }
+                }
+            });
+            if (syncRunRepo.finishShard(shard, SyncShard.Status.DONE, null)) {
+                log.debug("Sync run {} shard {} done on {}: {} sites", shard.runId(), shard.shard(), instanceId,
+                        results.size());
+            } else {
+                claimLost(shard);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Sync run {} shard {} failed (attempt {})", shard.runId(), shard.shard(), shard.attempts(), ex);
+            boolean owned = shard.attempts() >= MAX_SHARD_ATTEMPTS
+                    ? syncRunRepo.finishShard(shard, SyncShard.Status.FAILED, ex.getMessage())
+                    : syncRunRepo.releaseShard(shard, ex.getMessage());
+            if (!owned) {
+                claimLost(shard);
+            }
+        }
+
+        syncRunRepo.finishIfDone(shard.runId()).ifPresent(run -> {
+            Instant started = run.startedAt() != null ? run.startedAt() : run.requestedAt();
+            metrics.syncFinished(Duration.between(started, run.finishedAt()));
+            log.info("Sync run {} {}: {} stored, {} skipped, {} failed", run.id(), run.status(),
+                    run.succeeded(), run.skipped(), run.failed());
+        });
+    }
+
+    /**
+     * The shard outlived its lease and was claimed again; its outcome is up to the new claim. Sites synced here in the
+     * meantime are stored and recorded anyway, the new claim skips them as up to date.
+     */
+    private void claimLost(SyncShard shard) {
+        log.warn("Sync run {} shard {} (attempt {}) was taken over after weather.sync.shard-lease ({}) expired",
+                shard.runId(), shard.shard(), shard.attempts(), lease);
+    }
+}
@@ -0,0 +1,288 @@
+package com.flightready.weather.verification;
+
+import com.flightready.weather.verification.ModelSkill.Variable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Verifies stored forecasts against what later runs reported for the same hours and folds the errors into
+ * {@code model_skill}.
+ *
+ * For every launchsite and valid time the verifying value is the cross-model mean (circular for wind direction) of
+ * the latest fetch, if that fetch was made at most {@code truth-max-lead} before the valid time. Every model value
+ * of an earlier fetch made at least {@code min-lead} before the valid time is compared with it.
+ *
+ * Valid times are processed from the watermark up to {@code settle} before now, in {@code chunk} slices with one
+ * transaction each. Each slice is streamed through a forward-only cursor ({@code fetch-size} rows per round trip)
+ * sorted by site and valid time, so only one site's accumulators and one hour's rows are held in memory.
+ */
+@Service
+public class ForecastVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastVerificationService.class);
+
+    private static final String STREAM_SQL = """
+            SELECT fh.launchsite_id, fh.valid_time, w.fetched_at, fh.model,
+                   fh.temperature, fh.precipitation, fh.cloudcover, fh.winddirection
+            FROM forecast_hour fh
+            JOIN weather w ON w.id = fh.weather_id
+            WHERE fh.valid_time > ? AND fh.valid_time <= ?
+              AND (w.fetched_at >= fh.valid_time - ? * interval '1 second'
+                   OR w.fetched_at <= fh.valid_time - ? * interval '1 second')
+            ORDER BY fh.launchsite_id, fh.valid_time, w.fetched_at DESC
+            """;
+
+    private static final int MERGE_BATCH = 1000;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelSkillRepository repository;
+    private final ModelSkillService skillService;
+    private final Duration lookback;
+    private final Duration settle;
+    private final Duration chunk;
+    private final Duration minLead;
+    private final Duration truthMaxLead;
+
+    public ForecastVerificationService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ModelSkillRepository repository,
+            ModelSkillService skillService,
+            @Value("${weather.verification.lookback:P14D}") Duration lookback,
+            @Value("${weather.verification.settle:PT6H}") Duration settle,
+            @Value("${weather.verification.chunk:P1D}") Duration chunk,
+            @Value("${weather.verification.min-lead:PT12H}") Duration minLead,
+            @Value("${weather.verification.truth-max-lead:PT3H}") Duration truthMaxLead,
+            @Value("${weather.verification.fetch-size:1000}") int fetchSize
+    ) {
+        if (minLead.compareTo(truthMaxLead) <= 0) {
+            throw new IllegalArgumentException("weather.verification.min-lead must be greater than truth-max-lead");
+        }
+        // a cursor is only used with a fetch size inside a transaction; the shared template keeps its defaults
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+        this.skillService = skillService;
+        this.lookback = lookback;
+        this.settle = settle;
+        this.chunk = chunk;
+        this.minLead = minLead;
+        this.truthMaxLead = truthMaxLead;
+    }
+
+    public VerificationReport runOnce() {
+        Instant startedAt = Instant.now();
+        Instant until = startedAt.minus(settle);
+        Instant earliest = startedAt.minus(lookback);
+        Instant from = repository.verifiedUntil()
+                .filter(watermark -> watermark.isAfter(earliest))
+                .orElse(earliest);
+
+        long rows = 0;
+        long samples = 0;
+        int skillRows = 0;
+        Instant start = from;
+        while (start.isBefore(until)) {
+            Instant end = start.plus(chunk).isBefore(until) ? start.plus(chunk) : until;
+            Slice slice = new Slice(end);
+            Instant sliceStart = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                streamingJdbcTemplate.query(STREAM_SQL, slice,
+                        Timestamp.from(sliceStart), Timestamp.from(end),
+                        truthMaxLead.toSeconds(), minLead.toSeconds());
+                slice.finish();
+                repository.saveVerifiedUntil(end);
+            });
+            rows += slice.rows;
+            samples += slice.samples;
+            skillRows += slice.merged;
+            start = end;
+        }
+
+        if (skillRows > 0) {
+            skillService.refresh();
+        }
+        VerificationReport report = new VerificationReport(from, until, rows, samples, skillRows,
+                Duration.between(startedAt, Instant.now()));
+        log.info("Forecast verification finished: {}", report);
+        return report;
+    }
+
+    /**
+     * Consumes the sorted rows of one slice: groups them by (site, valid time), compares each group's early
+     * forecasts with its verifying fetch and merges a site's statistics once the cursor moves past it.
+     */
+    private final class Slice implements RowCallbackHandler {
+
+        private final Instant verifiedUntil;
+        private final List<Row> hour = new ArrayList<>();
+        private final Map<String, double[]> siteStats = new HashMap<>();
+        private final List<ModelSkill> pending = new ArrayList<>();
+        private UUID site;
+        private long validTime;
+        long rows;
+        long samples;
+        int merged;
+
+        Slice(Instant verifiedUntil) {
+            this.verifiedUntil = verifiedUntil;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID rowSite = rs.getObject(1, UUID.class);
+            long rowValidTime = rs.getTimestamp(2).getTime() / 1000;
+            if (!rowSite.equals(site)) {
+                verifyHour();
+                flushSite();
+                site = rowSite;
+                validTime = rowValidTime;
+            } else if (rowValidTime != validTime) {
+                verifyHour();
+                validTime = rowValidTime;
+            }
+
+            float temperature = rs.getFloat(5);
+            boolean temperatureNull = rs.wasNull();
+            float precipitation = rs.getFloat(6);
+            boolean precipitationNull = rs.wasNull();
+            short cloudcover = rs.getShort(7);
+            boolean cloudcoverNull = rs.wasNull();
+            short winddirection = rs.getShort(8);
+            boolean winddirectionNull = rs.wasNull();
+            hour.add(new Row(
+                    rs.getTimestamp(3).getTime() / 1000,
+                    rs.getString(4),
+                    new double[]{
+                            temperatureNull ? Double.NaN : temperature,
+                            precipitationNull ? Double.NaN : precipitation,
+                            cloudcoverNull ? Double.NaN : cloudcover,
+                            winddirectionNull ? Double.NaN : winddirection
+                    }
+            ));
+            rows++;
+        }
+
+        void finish() {
+            verifyHour();
+            flushSite();
+            if (!pending.isEmpty()) {
+                merged += pending.size();
+                repository.merge(pending);
+                pending.clear();
+            }
+        }
+
+        private void verifyHour() {
+            if (hour.isEmpty()) {
+                return;
+            }
+            long truthFetchedAt = hour.get(0).fetchedAt();
+            if (validTime - truthFetchedAt <= truthMaxLead.toSeconds()) {
+                double[] truth = truth(truthFetchedAt);
+                for (Row row : hour) {
+                    if (validTime - row.fetchedAt() < minLead.toSeconds()) {
+                        continue;
+                    }
+                    double[] stats = siteStats.computeIfAbsent(row.model(), model -> new double[Variable.VALUES.length * 4]);
+                    for (Variable variable : Variable.VALUES) {
+                        int v = variable.ordinal();
+                        if (Double.isNaN(row.values()[v]) || Double.isNaN(truth[v])) {
+                            continue;
+                        }
+                        double error = row.values()[v] - truth[v];
+                        if (variable == Variable.WINDDIRECTION) {
+                            error = ((error % 360 + 540) % 360) - 180;
+                        }
+                        int offset = v * 4;
+                        stats[offset]++;
+                        stats[offset + 1] += error;
+                        stats[offset + 2] += Math.abs(error);
+                        stats[offset + 3] += error * error;
+                        samples++;
+                    }
+                }
+            }
+            hour.clear();
+        }
+
+        /**
+         * Cross-model mean of the verifying fetch; circular mean for wind direction.
+         */
+        private double[] truth(long fetchedAt) {
+            double[] sum = new double[Variable.VALUES.length];
+            int[] count = new int[Variable.VALUES.length];
+            double sin = 0;
+            double cos = 0;
+            for (Row row : hour) {
+                if (row.fetchedAt() != fetchedAt) {
+                    break;
+                }
+                for (int v = 0; v < Variable.WINDDIRECTION.ordinal(); v++) {
+                    if (!Double.isNaN(row.values()[v])) {
+                        sum[v] += row.values()[v];
+                        count[v]++;
+                    }
+                }
+                double direction = row.values()[Variable.WINDDIRECTION.ordinal()];
+                if (!Double.isNaN(direction)) {
+                    sin += Math.sin(Math.toRadians(direction));
+                    cos += Math.cos(Math.toRadians(direction));
+                    count[Variable.WINDDIRECTION.ordinal()]++;
+                }
+            }
+            double[] truth = new double[Variable.VALUES.length];
+            for (int v = 0; v < truth.length; v++) {
+                truth[v] = count[v] == 0 ? Double.NaN : sum[v] / count[v];
+            }
+            int wind = Variable.WINDDIRECTION.ordinal();
+            // directions cancelling each other out have no meaningful mean
+            truth[wind] = count[wind] == 0 || Math.hypot(sin, cos) < 1e-9
+                    ? Double.NaN
+                    : (Math.toDegrees(Math.atan2(sin, cos)) + 360) % 360;
+            return truth;
+        }
+
+        private void flushSite() {
+            for (Map.Entry<String, double[]> entry : siteStats.entrySet()) {
+                double[] stats = entry.getValue();
+                for (Variable variable : Variable.VALUES) {
+                    int offset = variable.ordinal() * 4;
+                    double n = stats[offset];
+                    if (n == 0) {
+                        continue;
+                    }
+                    pending.add(new ModelSkill(site, entry.getKey(), variable, n,
+                            stats[offset + 1] / n, stats[offset + 2] / n, stats[offset + 3] / n, verifiedUntil));
+                }
+            }
+            siteStats.clear();
+            if (pending.size() >= MERGE_BATCH) {
+                merged += pending.size();
+                repository.merge(pending);
+                pending.clear();
+            }
+        }
+
+        private record Row(long fetchedAt, String model, double[] values) {}
+    }
+}
@@ -0,0 +1,40 @@
+package com.flightready.weather.verification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * How well one model forecast one variable at one launchsite, compared with what later runs reported for the same
+ * hours. Errors are forecast minus verifying value; wind direction errors are signed angles in degrees.
+ *
+ * @param samples decayed number of verified forecast hours
+ */
+public record ModelSkill(
+        UUID launchsiteId,
+        String model,
+        Variable variable,
+        double samples,
+        double bias,
+        double meanAbsError,
+        double meanSqError,
+        Instant verifiedUntil
+) {
+
+    public double rmse() {
+        return Math.sqrt(meanSqError);
+    }
+
+    public enum Variable {
+        TEMPERATURE, PRECIPITATION, CLOUDCOVER, WINDDIRECTION;
+
+        static final Variable[] VALUES = values();
+
+        public String column() {
+            return name().toLowerCase();
+        }
+
+        static Variable ofColumn(String column) {
+            return valueOf(column.toUpperCase());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.flightready.weather.verification;
+
+import com.flightready.weather.verification.ModelSkill.Variable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@code model_skill} rows and the verification watermark. New statistics are merged in SQL: the stored means are
+ * decayed by the time between their {@code verified_until} and the new one, then combined weighted by samples.
+ */
+@Repository
+public class ModelSkillRepository {
+
+    private static final String MERGE_SQL = """
+            INSERT INTO model_skill AS s (launchsite_id, model, variable, samples, bias, mean_abs_error,
+                mean_sq_error, verified_until)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (launchsite_id, model, variable) DO UPDATE SET
+                samples = s.samples * {decay} + EXCLUDED.samples,
+                bias = (s.bias * s.samples * {decay} + EXCLUDED.bias * EXCLUDED.samples)
+                    / (s.samples * {decay} + EXCLUDED.samples),
+                mean_abs_error = (s.mean_abs_error * s.samples * {decay} + EXCLUDED.mean_abs_error * EXCLUDED.samples)
+                    / (s.samples * {decay} + EXCLUDED.samples),
+                mean_sq_error = (s.mean_sq_error * s.samples * {decay} + EXCLUDED.mean_sq_error * EXCLUDED.samples)
+                    / (s.samples * {decay} + EXCLUDED.samples),
+                verified_until = greatest(s.verified_until, EXCLUDED.verified_until)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String mergeSql;
+
+    public ModelSkillRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${weather.verification.half-life:P30D}") Duration halfLife
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mergeSql = MERGE_SQL.replace("{decay}",
+                "power(0.5, greatest(extract(epoch FROM EXCLUDED.verified_until - s.verified_until), 0) / "
+                        + Math.max(1, halfLife.toSeconds()) + ")");
+    }
+
+    public void merge(List<ModelSkill> skills) {
+        jdbcTemplate.batchUpdate(mergeSql, skills, 1000, (ps, skill) -> {
+            ps.setObject(1, skill.launchsiteId());
+            ps.setString(2, skill.model());
+            ps.setString(3, skill.variable().column());
+            ps.setDouble(4, skill.samples());
+            ps.setDouble(5, skill.bias());
+            ps.setDouble(6, skill.meanAbsError());
+            ps.setDouble(7, skill.meanSqError());
+            ps.setTimestamp(8, Timestamp.from(skill.verifiedUntil()));
+        });
+    }
+
+    public List<ModelSkill> findAll() {
+        return jdbcTemplate.query("SELECT * FROM model_skill", ModelSkillRepository::mapRow);
+    }
+
+    public Optional<Instant> verifiedUntil() {
+        return jdbcTemplate.query("SELECT verified_until FROM forecast_verification_state",
+                (rs, rowNum) -> rs.getTimestamp(1).toInstant()).stream().findFirst();
+    }
+
+    public void saveVerifiedUntil(Instant verifiedUntil) {
+        jdbcTemplate.update("""
+                INSERT INTO forecast_verification_state (id, verified_until) VALUES (TRUE, ?)
+                ON CONFLICT (id) DO UPDATE SET verified_until = EXCLUDED.verified_until
+                """, Timestamp.from(verifiedUntil));
+    }
+
+    private static ModelSkill mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ModelSkill(
+                rs.getObject("launchsite_id", UUID.class),
+                rs.getString("model"),
+                Variable.ofColumn(rs.getString("variable")),
+                rs.getDouble("samples"),
+                rs.getDouble("bias"),
+                rs.getDouble("mean_abs_error"),
+                rs.getDouble("mean_sq_error"),
+                rs.getTimestamp("verified_until").toInstant()
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package com.flightready.weather.verification;
+
+import com.flightready.weather.verification.ModelSkill.Variable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory snapshot of {@code model_skill}, reloaded after each verification run and every
+ * {@code weather.verification.skill-refresh} (runs happen on one instance only).
+ *
+ * Model weights are inverse combined errors, {@code 1 / (windMae / wind-error-scale-deg +
+ * precipitationMae / precipitation-error-scale-mm)}, for the variables flyability depends on.
+ */
+@Service
+public class ModelSkillService {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelSkillService.class);
+
+    /** Keeps a model that happened to be perfect from taking all the weight. */
+    private static final double MIN_ERROR = 0.05;
+
+    private final ModelSkillRepository repository;
+    private final double minSamples;
+    private final double windErrorScaleDeg;
+    private final double precipitationErrorScaleMm;
+
+    private volatile Map<UUID, Map<String, Map<Variable, ModelSkill>>> skills = Map.of();
+
+    public ModelSkillService(
+            ModelSkillRepository repository,
+            @Value("${weather.verification.min-samples:48}") double minSamples,
+            @Value("${weather.verification.wind-error-scale-deg:45}") double windErrorScaleDeg,
+            @Value("${weather.verification.precipitation-error-scale-mm:1.0}") double precipitationErrorScaleMm
+    ) {
+        this.repository = repository;
+        this.minSamples = minSamples;
+        this.windErrorScaleDeg = windErrorScaleDeg;
+        this.precipitationErrorScaleMm = precipitationErrorScaleMm;
+    }
+
+    @Scheduled(fixedDelayString = "${weather.verification.skill-refresh:PT1H}")
+    public void refresh() {
+        Map<UUID, Map<String, Map<Variable, ModelSkill>>> loaded = new HashMap<>();
+        for (ModelSkill skill : repository.findAll()) {
+            loaded.computeIfAbsent(skill.launchsiteId(), id -> new HashMap<>())
+                    .computeIfAbsent(skill.model(), model -> new EnumMap<>(Variable.class))
+                    .put(skill.variable(), skill);
+        }
+        skills = loaded;
+        log.debug("Loaded model skill for {} launchsites", loaded.size());
+    }
+
+    /**
+     * @return per model, its statistics per variable; empty when the site has not been verified yet
+     */
+    public Map<String, Map<Variable, ModelSkill>> skill(UUID launchsiteId) {
+        return skills.getOrDefault(launchsiteId, Map.of());
+    }
+
+    /**
+     * Relative weight of each of {@code models} at the site, in the same order. Models without enough verified
+     * samples get the mean weight of the others.
+     *
+     * @return null when no model of the list has enough samples, meaning equal weights
+     */
+    public double[] weights(UUID launchsiteId, List<String> models) {
+        Map<String, Map<Variable, ModelSkill>> site = skills.get(launchsiteId);
+        if (site == null) {
+            return null;
+        }
+        double[] weights = new double[models.size()];
+        double known = 0;
+        int knownCount = 0;
+        for (int m = 0; m < weights.length; m++) {
+            Double weight = weight(site.get(models.get(m)));
+            weights[m] = weight == null ? Double.NaN : weight;
+            if (weight != null) {
+                known += weight;
+                knownCount++;
+            }
+        }
+        if (knownCount == 0) {
+            return null;
+        }
+        double mean = known / knownCount;
+        for (int m = 0; m < weights.length; m++) {
+            if (Double.isNaN(weights[m])) {
+                weights[m] = mean;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * @return null when the model lacks enough samples of wind direction or precipitation
+     */
+    public Double weight(Map<Variable, ModelSkill> model) {
+        if (model == null) {
+            return null;
+        }
+        ModelSkill wind = model.get(Variable.WINDDIRECTION);
+        ModelSkill precipitation = model.get(Variable.PRECIPITATION);
+        if (wind == null || precipitation == null
+                || wind.samples() < minSamples || precipitation.samples() < minSamples) {
+            return null;
+        }
+        double error = wind.meanAbsError() / windErrorScaleDeg
+                + precipitation.meanAbsError() / precipitationErrorScaleMm;
+        return 1.0 / Math.max(error, MIN_ERROR);
+    }
+}
@@ -0,0 +1,19 @@
+package com.flightready.weather.verification;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * What one verification run folded into {@code model_skill}.
+ *
+ * @param rows    forecast_hour rows streamed
+ * @param samples forecast values compared with a verifying value
+ */
+public record VerificationReport(
+        Instant from,
+        Instant to,
+        long rows,
+        long samples,
+        int skillRows,
+        Duration duration
+) {}
@@ -0,0 +1,27 @@
+-- Measured accuracy of each model per launchsite and variable, maintained by the forecast verification job.
+-- Statistics are exponentially decayed means over verified forecast hours (weather.verification.half-life);
+-- samples is the decayed sample weight.
+CREATE TABLE IF NOT EXISTS model_skill (
+    launchsite_id UUID NOT NULL,
+    model TEXT NOT NULL,
+    variable TEXT NOT NULL,
+    samples DOUBLE PRECISION NOT NULL,
+    bias DOUBLE PRECISION NOT NULL,
+    mean_abs_error DOUBLE PRECISION NOT NULL,
+    mean_sq_error DOUBLE PRECISION NOT NULL,
+    -- latest valid time included
+    verified_until TIMESTAMPTZ NOT NULL,
+
+    PRIMARY KEY (launchsite_id, model, variable),
+
+    CONSTRAINT fk_model_skill_launchsite
+        FOREIGN KEY (launchsite_id)
+        REFERENCES launchsite(id)
+        ON DELETE CASCADE
+);
+
+-- Single row: valid times up to here are folded into model_skill.
+CREATE TABLE IF NOT EXISTS forecast_verification_state (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    verified_until TIMESTAMPTZ NOT NULL
+);
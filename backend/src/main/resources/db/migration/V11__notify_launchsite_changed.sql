@@ -0,0 +1,14 @@
+-- Every statement that changes launchsites notifies listeners (LaunchsiteCatalog on each instance), so in-memory
+-- copies of the catalog are refreshed no matter which instance or tool made the change. Notifications are sent on
+-- commit; identical ones of one transaction are folded into one.
+CREATE OR REPLACE FUNCTION notify_launchsite_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('launchsite_changed', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_launchsite_changed ON launchsite;
+CREATE TRIGGER trg_launchsite_changed
+AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON launchsite
+FOR EACH STATEMENT EXECUTE FUNCTION notify_launchsite_changed();
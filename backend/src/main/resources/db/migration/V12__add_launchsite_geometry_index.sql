@@ -0,0 +1,4 @@
+-- Web Mercator tiles are lon/lat rectangles, so tile queries filter on the planar geometry of the location;
+-- the geography index (V5) does not serve that (and wraps oddly for world-sized boxes at low zoom).
+CREATE INDEX IF NOT EXISTS idx_launchsite_location_geometry
+ON launchsite USING GIST ((location::geometry));
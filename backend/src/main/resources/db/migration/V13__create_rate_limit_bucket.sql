@@ -0,0 +1,7 @@
+-- Token buckets shared by all backend instances, so an upstream quota holds for the cluster instead of per instance.
+-- tokens may go negative: the deficit is the queue of callers already waiting for a permit.
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+    name TEXT PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at TIMESTAMPTZ NOT NULL
+);
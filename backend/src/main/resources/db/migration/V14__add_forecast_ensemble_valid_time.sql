@@ -0,0 +1,16 @@
+-- Time axis of the ensemble series, so non-hourly forecasts keep their valid times.
+-- NULL for rows stored before: hourly from first_hour.
+ALTER TABLE forecast_ensemble ADD COLUMN IF NOT EXISTS valid_time TIMESTAMPTZ[];
+
+-- the hours are still in forecast_hour unless retention dropped them already
+UPDATE forecast_ensemble e
+SET valid_time = h.valid_time
+FROM (
+    SELECT weather_id, array_agg(DISTINCT valid_time ORDER BY valid_time) AS valid_time
+    FROM forecast_hour
+    WHERE weather_id IN (SELECT weather_id FROM forecast_ensemble WHERE valid_time IS NULL)
+    GROUP BY weather_id
+) h
+WHERE h.weather_id = e.weather_id
+  AND e.valid_time IS NULL
+  AND cardinality(h.valid_time) = e.hours;
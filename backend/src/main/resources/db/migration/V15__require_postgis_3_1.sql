@@ -0,0 +1,12 @@
+-- Vector tiles (TileRepository) use ST_TileEnvelope with margin, which needs PostGIS 3.1 or newer.
+-- Fail the migration up front instead of on the first tile request.
+DO $$
+DECLARE
+    version TEXT := (SELECT extversion FROM pg_extension WHERE extname = 'postgis');
+BEGIN
+    IF version IS NULL
+        OR string_to_array(substring(version FROM '^[0-9]+\.[0-9]+'), '.')::int[] < ARRAY[3, 1] THEN
+        RAISE EXCEPTION 'PostGIS 3.1 or newer is required, found %', coalesce(version, 'none');
+    END IF;
+END
+$$;
@@ -0,0 +1,27 @@
+-- The raw provider payload becomes optional; hourly values live in forecast_hour.
+ALTER TABLE weather ALTER COLUMN payload DROP NOT NULL;
+
+-- One row per (fetched forecast, model, hour). Partitioned by valid_time so old hours can be dropped in bulk.
+-- Monthly partitions are created on demand by the application (ForecastPartitionManager).
+CREATE TABLE IF NOT EXISTS forecast_hour (
+    weather_id UUID NOT NULL,
+    launchsite_id UUID NOT NULL,
+    model TEXT NOT NULL,
+    valid_time TIMESTAMPTZ NOT NULL,
+    temperature REAL,
+    precipitation REAL,
+    cloudcover SMALLINT,
+    winddirection SMALLINT,
+
+    CONSTRAINT pk_forecast_hour PRIMARY KEY (weather_id, model, valid_time),
+
+    CONSTRAINT fk_forecast_hour_weather
+        FOREIGN KEY (weather_id)
+        REFERENCES weather(id)
+        ON DELETE CASCADE
+) PARTITION BY RANGE (valid_time);
+
+CREATE TABLE IF NOT EXISTS forecast_hour_default PARTITION OF forecast_hour DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_forecast_hour_site_time
+ON forecast_hour (launchsite_id, valid_time);
@@ -0,0 +1,19 @@
+-- Latest precomputed flyability per launchsite, written at ingest time.
+CREATE TABLE IF NOT EXISTS flyability_score (
+    launchsite_id UUID PRIMARY KEY,
+    weather_id UUID NOT NULL,
+    first_hour TIMESTAMPTZ NOT NULL,
+    scores REAL[] NOT NULL,
+    windows JSONB NOT NULL,
+    computed_at TIMESTAMPTZ NOT NULL,
+
+    CONSTRAINT fk_flyability_score_launchsite
+        FOREIGN KEY (launchsite_id)
+        REFERENCES launchsite(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_flyability_score_weather
+        FOREIGN KEY (weather_id)
+        REFERENCES weather(id)
+        ON DELETE CASCADE
+);
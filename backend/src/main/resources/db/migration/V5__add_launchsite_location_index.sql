@@ -0,0 +1,3 @@
+-- Spatial index for radius (ST_DWithin) and bounding-box (&&) searches.
+CREATE INDEX IF NOT EXISTS idx_launchsite_location
+ON launchsite USING GIST (location);
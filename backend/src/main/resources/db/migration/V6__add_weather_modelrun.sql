@@ -0,0 +1,6 @@
+-- Model run identity next to the payload, so conditional reads and incremental syncs don't have to open jsonb.
+ALTER TABLE weather ADD COLUMN IF NOT EXISTS modelrun_updatetime_utc TEXT;
+
+UPDATE weather
+SET modelrun_updatetime_utc = payload -> 'metadata' ->> 'modelrun_updatetime_utc'
+WHERE payload IS NOT NULL AND modelrun_updatetime_utc IS NULL;
@@ -0,0 +1,39 @@
+-- Persisted weather sync runs, so progress can be polled and survives restarts.
+CREATE TABLE IF NOT EXISTS sync_run (
+    id UUID PRIMARY KEY,
+    trigger TEXT NOT NULL,
+    status TEXT NOT NULL,
+    requested_at TIMESTAMPTZ NOT NULL,
+    started_at TIMESTAMPTZ,
+    finished_at TIMESTAMPTZ,
+    total_sites INTEGER,
+    processed INTEGER NOT NULL DEFAULT 0,
+    succeeded INTEGER NOT NULL DEFAULT 0,
+    skipped INTEGER NOT NULL DEFAULT 0,
+    failed INTEGER NOT NULL DEFAULT 0,
+    error TEXT
+);
+
+-- single flight: at most one queued or running sync at a time
+CREATE UNIQUE INDEX IF NOT EXISTS ux_sync_run_active
+ON sync_run ((true)) WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE INDEX IF NOT EXISTS idx_sync_run_requested
+ON sync_run (requested_at DESC);
+
+CREATE TABLE IF NOT EXISTS sync_run_site (
+    run_id UUID NOT NULL,
+    launchsite_id UUID NOT NULL,
+    status TEXT NOT NULL,
+    weather_id UUID,
+    error TEXT,
+    duration_ms BIGINT NOT NULL,
+    finished_at TIMESTAMPTZ NOT NULL,
+
+    PRIMARY KEY (run_id, launchsite_id),
+
+    CONSTRAINT fk_sync_run_site_run
+        FOREIGN KEY (run_id)
+        REFERENCES sync_run(id)
+        ON DELETE CASCADE
+);
@@ -0,0 +1,23 @@
+-- Cross-model statistics of one stored forecast, computed at ingest. Hourly from first_hour.
+-- Series columns are flattened [statistic][hour]; statistic order is
+-- mean, stddev, min, max, p10, p50, p90 (winddirection: circular mean, circular variance).
+CREATE TABLE IF NOT EXISTS forecast_ensemble (
+    weather_id UUID PRIMARY KEY,
+    launchsite_id UUID NOT NULL,
+    models TEXT[] NOT NULL,
+    first_hour TIMESTAMPTZ NOT NULL,
+    hours INTEGER NOT NULL,
+    model_count SMALLINT[] NOT NULL,
+    temperature REAL[] NOT NULL,
+    precipitation REAL[] NOT NULL,
+    precipitation_probability REAL[] NOT NULL,
+    cloudcover REAL[] NOT NULL,
+    winddirection REAL[] NOT NULL,
+    -- bit mask per hour, see EnsembleForecast.Agreement
+    agreement SMALLINT[] NOT NULL,
+
+    CONSTRAINT fk_forecast_ensemble_weather
+        FOREIGN KEY (weather_id)
+        REFERENCES weather(id)
+        ON DELETE CASCADE
+);
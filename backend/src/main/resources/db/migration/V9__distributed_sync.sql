@@ -0,0 +1,31 @@
+-- A sync run is split into shards of launchsites that any backend instance can claim
+-- (FOR UPDATE SKIP LOCKED) and process; a claim older than the lease is taken over by another instance.
+CREATE TABLE IF NOT EXISTS sync_run_shard (
+    run_id UUID NOT NULL,
+    shard INTEGER NOT NULL,
+    launchsite_ids UUID[] NOT NULL,
+    status TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    claimed_by TEXT,
+    claimed_at TIMESTAMPTZ,
+    finished_at TIMESTAMPTZ,
+    error TEXT,
+
+    PRIMARY KEY (run_id, shard),
+
+    CONSTRAINT fk_sync_run_shard_run
+        FOREIGN KEY (run_id)
+        REFERENCES sync_run(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_run_shard_open
+ON sync_run_shard (run_id, shard) WHERE status IN ('PENDING', 'CLAIMED');
+
+-- Leases for scheduled jobs, so each schedule slot runs on one instance only.
+CREATE TABLE IF NOT EXISTS scheduled_task_lock (
+    name TEXT PRIMARY KEY,
+    locked_until TIMESTAMPTZ NOT NULL,
+    locked_at TIMESTAMPTZ NOT NULL,
+    locked_by TEXT NOT NULL
+);
@@ -0,0 +1,152 @@
+package com.flightready.flyability;
+
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FlyabilityScorerTest {
+
+    private static final long FIRST_HOUR = 1714543200L;
+    private static final int MISSING = ColumnarForecast.MISSING_INT;
+
+    private final FlyabilityScorer scorer = new FlyabilityScorer(15, 0.1, 1.0, 0.6, 2, 5);
+
+    @Test
+    void windInsideTheSectorScoresOneAndFadesOutWithinTheTolerance() {
+        float[] scores = scorer.scoreHours(90, 180, forecast(new int[][]{{90, 135, 180, 187, 82, 195, 270}}));
+
+        assertThat(scores[0]).isEqualTo(1f);
+        assertThat(scores[1]).isEqualTo(1f);
+        assertThat(scores[2]).isEqualTo(1f);
+        assertThat((double) scores[3]).isCloseTo(1 - 7 / 15.0, within(1e-6));
+        assertThat((double) scores[4]).isCloseTo(1 - 8 / 15.0, within(1e-6));
+        assertThat(scores[5]).isZero();
+        assertThat(scores[6]).isZero();
+    }
+
+    @Test
+    void sectorWrapsThroughNorth() {
+        float[] scores = scorer.scoreHours(300, 60, forecast(new int[][]{{350, 0, 30, 180, 290}}));
+
+        assertThat(scores).containsExactly(1f, 1f, 1f, 0f, (float) (1 - 10 / 15.0));
+    }
+
+    @Test
+    void precipitationReducesTheScore() {
+        int[][] direction = {{100, 100, 100, 100, 100}};
+        double[][] precipitation = {{0.0, 0.1, 0.55, 1.0, Double.NaN}};
+
+        float[] scores = scorer.scoreHours(90, 180, forecast(direction, precipitation));
+
+        assertThat(scores[0]).isEqualTo(1f);
+        assertThat(scores[1]).isEqualTo(1f);
+        assertThat((double) scores[2]).isCloseTo(0.5, within(1e-6));
+        assertThat(scores[3]).isZero();
+        // unknown precipitation does not count against the hour
+        assertThat(scores[4]).isEqualTo(1f);
+    }
+
+    @Test
+    void scoreIsTheMeanOverModelsWithData() {
+        int[][] direction = {
+                {100, MISSING, MISSING},
+                {270, 100, MISSING}
+        };
+
+        float[] scores = scorer.scoreHours(90, 180, forecast(direction));
+
+        assertThat(scores).containsExactly(0.5f, 1f, 0f);
+    }
+
+    @Test
+    void modelWeightsWeighTheMean() {
+        int[][] direction = {{100}, {270}};
+
+        float[] scores = scorer.scoreHours(90, 180, forecast(direction), new double[]{3, 1});
+
+        assertThat(scores).containsExactly(0.75f);
+    }
+
+    @Test
+    void bestWindowsAreLongEnoughRunsAboveTheThresholdBestFirst() {
+        float[] scores = {0.7f, 0.8f, 0.1f, 0.9f, 0.9f, 0.9f, 0.5f, 0.7f};
+
+        List<FlyabilityScorer.FlyabilityWindow> windows = scorer.bestWindows(FIRST_HOUR, scores);
+
+        assertThat(windows).hasSize(2);
+        assertThat(windows.get(0).start()).isEqualTo(Instant.ofEpochSecond(FIRST_HOUR + 3 * 3600));
+        assertThat(windows.get(0).end()).isEqualTo(Instant.ofEpochSecond(FIRST_HOUR + 6 * 3600));
+        assertThat(windows.get(0).hours()).isEqualTo(3);
+        assertThat((double) windows.get(0).meanScore()).isCloseTo(0.9, within(1e-6));
+        assertThat(windows.get(1).start()).isEqualTo(Instant.ofEpochSecond(FIRST_HOUR));
+        assertThat(windows.get(1).hours()).isEqualTo(2);
+    }
+
+    @Test
+    void bestWindowsAreLimited() {
+        FlyabilityScorer limited = new FlyabilityScorer(15, 0.1, 1.0, 0.6, 1, 2);
+
+        List<FlyabilityScorer.FlyabilityWindow> windows =
+                limited.bestWindows(FIRST_HOUR, new float[]{0.7f, 0f, 0.9f, 0f, 0.8f});
+
+        assertThat(windows).extracting(FlyabilityScorer.FlyabilityWindow::meanScore).containsExactly(0.9f, 0.8f);
+    }
+
+    @Test
+    void threeHourlyStepsCoverThreeHoursEach() {
+        long[] time = {FIRST_HOUR, FIRST_HOUR + 3 * 3600L, FIRST_HOUR + 6 * 3600L};
+
+        FlyabilityScorer.HourlyScores hourly = scorer.hourly(time, new float[]{0.2f, 0.9f, 0.5f});
+
+        assertThat(hourly.firstHour()).isEqualTo(FIRST_HOUR);
+        assertThat(hourly.scores()).containsExactly(0.2f, 0.2f, 0.2f, 0.9f, 0.9f, 0.9f, 0.5f, 0.5f, 0.5f);
+    }
+
+    @Test
+    void gapsScoreZeroAndOffHourStepsStartAtTheirHour() {
+        // 30 minutes past the hour, hourly, then nothing for 12 hours
+        long first = FIRST_HOUR + 1800;
+        long[] time = {first, first + 3600L, first + 15 * 3600L};
+
+        FlyabilityScorer.HourlyScores hourly = scorer.hourly(time, new float[]{0.7f, 0.8f, 0.9f});
+
+        assertThat(hourly.firstHour()).isEqualTo(FIRST_HOUR);
+        assertThat(hourly.scores()).hasSize(17);
+        // the hour starting before the first step has no data
+        assertThat(hourly.scores()[0]).isZero();
+        assertThat(hourly.scores()[1]).isEqualTo(0.7f);
+        assertThat(hourly.scores()[2]).isEqualTo(0.8f);
+        // the second step holds for at most six hours
+        assertThat(Arrays.copyOfRange(hourly.scores(), 3, 8)).containsOnly(0.8f);
+        assertThat(Arrays.copyOfRange(hourly.scores(), 8, 16)).containsOnly(0f);
+        assertThat(hourly.scores()[16]).isEqualTo(0.9f);
+    }
+
+    private static ColumnarForecast forecast(int[][] direction) {
+        double[][] precipitation = new double[direction.length][direction[0].length];
+        return forecast(direction, precipitation);
+    }
+
+    private static ColumnarForecast forecast(int[][] direction, double[][] precipitation) {
+        int hours = direction[0].length;
+        long[] time = new long[hours];
+        for (int h = 0; h < hours; h++) {
+            time[h] = FIRST_HOUR + h * 3600L;
+        }
+        List<String> models = new ArrayList<>();
+        for (int m = 0; m < direction.length; m++) {
+            models.add("M" + m);
+        }
+        double[] spread = new double[hours];
+        Arrays.fill(spread, Double.NaN);
+        return new ColumnarForecast("2024-05-01 06:00", List.of(), models, new int[direction.length], time, spread,
+                new double[direction.length][hours], precipitation, new int[direction.length][hours], direction);
+    }
+}
@@ -0,0 +1,64 @@
+package com.flightready.launchsite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LaunchsiteCatalogTest {
+
+    private final List<LaunchsiteResponse> rows = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+    private final LaunchsiteCatalog catalog = new LaunchsiteCatalog(new JdbcTemplate() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+            if (databaseDown.get()) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+            return (List<T>) List.copyOf(rows);
+        }
+    }, new ObjectMapper());
+
+    @AfterEach
+    void close() {
+        catalog.close();
+    }
+
+    @Test
+    void remoteChangeKeepsServingThePreviousCopy() {
+        rows.add(site("A"));
+        LaunchsiteCatalog.Snapshot loaded = catalog.snapshot();
+
+        databaseDown.set(true);
+        catalog.onNotification("");
+
+        assertThat(catalog.snapshot()).isSameAs(loaded);
+    }
+
+    @Test
+    void ownWriteIsVisibleToTheNextRead() {
+        rows.add(site("A"));
+        assertThat(catalog.snapshot().sites()).hasSize(1);
+
+        LaunchsiteResponse added = site("B");
+        rows.add(added);
+        catalog.onLaunchsiteChanged(new LaunchsiteChangedEvent(added.id(), added));
+
+        assertThat(catalog.snapshot().sites()).hasSize(2);
+    }
+
+    private static LaunchsiteResponse site(String name) {
+        return new LaunchsiteResponse(UUID.randomUUID(), name, 47.26, 11.42, 0, 360, 900, null);
+    }
+}
@@ -0,0 +1,164 @@
+package com.flightready.launchsite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.launchsite.LaunchsiteImportException.RowError;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LaunchsiteImportServiceTest {
+
+    private static final String HEADER = "name,lat,lon,asl,direction_start,direction_end,info\n";
+
+    private static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final LaunchsiteImportService service = new LaunchsiteImportService(jdbcTemplate, new ObjectMapper(),
+            VALIDATOR_FACTORY.getValidator(), eventPublisher, 3);
+
+    @AfterAll
+    static void closeValidatorFactory() {
+        VALIDATOR_FACTORY.close();
+    }
+
+    @Test
+    void csvErrorsNameTheDataRecordCountingBlankLines() {
+        String csv = HEADER
+                + "Emberger Alm,46.7,13.0,1750,135,225,\n"
+                + "\n"
+                + "Bad,95,13.0,abc,0,90,\n";
+
+        LaunchsiteImportException error = catchThrowableOfType(() -> service.importCsv(stream(csv)),
+                LaunchsiteImportException.class);
+
+        // an unparsable value is also missing
+        assertThat(error.getErrors()).extracting(RowError::row, RowError::field)
+                .containsExactly(tuple(3, "asl"), tuple(3, "asl"), tuple(3, "latitude"));
+        assertThat(error.getErrors().get(0).message()).isEqualTo("not a number: abc");
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void csvRecordWithQuotedLineBreakIsOneRow() {
+        String csv = HEADER
+                + "\"Two\nlines\",46.7,13.0,1750,135,225,\"say \"\"hi\"\"\"\n"
+                + "Missing name,,13.0,1750,135,225,\n";
+
+        LaunchsiteImportException error = catchThrowableOfType(() -> service.importCsv(stream(csv)),
+                LaunchsiteImportException.class);
+
+        assertThat(error.getErrors()).extracting(RowError::row, RowError::field)
+                .containsExactly(tuple(2, "latitude"));
+    }
+
+    @Test
+    void validCsvIsInsertedAndPublished() {
+        String csv = "\uFEFF" + HEADER
+                + "A,46.7,13.0,1750,135,225,\n"
+                + "B,47.2,11.4,2000,90,180,info\n";
+
+        assertThat(service.importCsv(stream(csv)).imported()).isEqualTo(2);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        verify(eventPublisher, times(2)).publishEvent(any(LaunchsiteChangedEvent.class));
+    }
+
+    @Test
+    void csvRowLimitCountsImportedRecordsOnly() {
+        String csv = HEADER
+                + "A,46.7,13.0,1750,135,225,\n"
+                + "\n\n\n"
+                + "B,46.7,13.0,1750,135,225,\n"
+                + "C,46.7,13.0,1750,135,225,\n";
+
+        assertThat(service.importCsv(stream(csv)).imported()).isEqualTo(3);
+
+        LaunchsiteImportException error = catchThrowableOfType(
+                () -> service.importCsv(stream(csv + "D,46.7,13.0,1750,135,225,\n")),
+                LaunchsiteImportException.class);
+        assertThat(error).hasMessage("Import exceeds 3 rows");
+    }
+
+    @Test
+    void geoJsonErrorsNameTheFeature() {
+        String geoJson = """
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [13.0, 46.7, 1750]},
+                   "properties": {"name": "A", "directionStart": 135, "directionEnd": 225}},
+                  {"type": "Feature", "geometry": {"type": "LineString", "coordinates": [[13.0, 46.7], [13.1, 46.8]]},
+                   "properties": {"name": "B"}},
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [190.0, 46.7]},
+                   "properties": {"name": "C", "asl": 900, "directionStart": 0, "directionEnd": 90}}
+                ]}
+                """;
+
+        LaunchsiteImportException error = catchThrowableOfType(() -> service.importGeoJson(stream(geoJson)),
+                LaunchsiteImportException.class);
+
+        assertThat(error.getErrors()).containsExactly(
+                new RowError(2, "geometry", "must be a Point"),
+                new RowError(3, "longitude", "must be between -180 and 180"));
+    }
+
+    @Test
+    void geoJsonNonNumericValuesAreErrorsNotZero() {
+        String geoJson = """
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": ["abc", null, "high"]},
+                   "properties": {"name": "A", "directionStart": "north", "directionEnd": 90}}
+                ]}
+                """;
+
+        LaunchsiteImportException error = catchThrowableOfType(() -> service.importGeoJson(stream(geoJson)),
+                LaunchsiteImportException.class);
+
+        assertThat(error.getErrors()).extracting(RowError::row, RowError::field, RowError::message)
+                .contains(
+                        tuple(1, "asl", "not a number: \"high\""),
+                        tuple(1, "longitude", "not a number: \"abc\""),
+                        tuple(1, "directionStart", "not a number: \"north\""));
+        assertThat(error.getErrors()).extracting(RowError::field)
+                .contains("latitude", "longitude", "asl", "directionStart")
+                .doesNotContain("directionEnd");
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void nonFiniteCoordinatesAreRejected() {
+        String csv = HEADER
+                + "A,NaN,13.0,1750,135,225,\n"
+                + "B,46.7,-Infinity,1750,135,225,\n";
+
+        LaunchsiteImportException error = catchThrowableOfType(() -> service.importCsv(stream(csv)),
+                LaunchsiteImportException.class);
+
+        assertThat(error.getErrors()).extracting(RowError::row, RowError::field, RowError::message)
+                .contains(
+                        tuple(1, "latitude", "not a finite number: NaN"),
+                        tuple(2, "longitude", "not a finite number: -Infinity"));
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.flightready.tile;
+
+import com.flightready.launchsite.LaunchsiteCatalog;
+import com.flightready.launchsite.dto.LaunchsiteResponse;
+import com.flightready.weather.service.RemoteForecastStoredEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TileServiceTest {
+
+    // 0.0005 degrees west of the border between the z12 tiles x=2177 and x=2178, inside the 64 unit buffer
+    private static final double LATITUDE = 47.26;
+    private static final double LONGITUDE = 11.42528125;
+    private static final int Y12 = 1436;
+
+    private final TileRepository repository = mock(TileRepository.class);
+    private final LaunchsiteCatalog catalog = mock(LaunchsiteCatalog.class);
+    private final UUID siteId = UUID.randomUUID();
+    private TileService service;
+
+    @BeforeEach
+    void setUp() {
+        LaunchsiteResponse site = new LaunchsiteResponse(siteId, "Border", LATITUDE, LONGITUDE, 0, 360, 900, null);
+        when(catalog.snapshot()).thenReturn(new LaunchsiteCatalog.Snapshot(1, new UUID[] {siteId},
+                new double[] {LATITUDE}, new double[] {LONGITUDE}, List.of(site), Map.of(siteId, 0), new byte[0],
+                "\"catalog\""));
+        when(repository.clusters(anyInt(), anyInt(), anyInt(), any(), anyDouble(), anyInt())).thenReturn(new byte[] {1});
+        when(repository.sites(anyInt(), anyInt(), anyInt(), any(), anyDouble(), anyInt())).thenReturn(new byte[] {2});
+        service = new TileService(repository, catalog, new SimpleMeterRegistry(), 9, 256, 64, 0.6, 1 << 20,
+                Duration.ofMinutes(5));
+    }
+
+    @Test
+    void scoreInvalidatesOnlyTheTilesShowingTheSite() {
+        service.tile(0, 0, 0);
+        service.tile(1, 1, 0);
+        service.tile(1, 0, 1);
+        service.tile(12, 2177, Y12);
+        service.tile(12, 2178, Y12);
+        service.tile(12, 2176, Y12);
+
+        service.onRemoteForecastStored(event(siteId));
+
+        service.tile(0, 0, 0);
+        service.tile(1, 1, 0);
+        service.tile(1, 0, 1);
+        service.tile(12, 2177, Y12);
+        service.tile(12, 2178, Y12);
+        service.tile(12, 2176, Y12);
+
+        verify(repository, times(2)).clusters(eq(0), eq(0), eq(0), any(), anyDouble(), anyInt());
+        verify(repository, times(2)).clusters(eq(1), eq(1), eq(0), any(), anyDouble(), anyInt());
+        verify(repository, times(1)).clusters(eq(1), eq(0), eq(1), any(), anyDouble(), anyInt());
+        verify(repository, times(2)).sites(eq(12), eq(2177), eq(Y12), any(), anyDouble(), anyInt());
+        // the neighbour's buffer reaches the site
+        verify(repository, times(2)).sites(eq(12), eq(2178), eq(Y12), any(), anyDouble(), anyInt());
+        verify(repository, times(1)).sites(eq(12), eq(2176), eq(Y12), any(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void scoreOfSiteMissingFromTheCatalogInvalidatesAllTiles() {
+        service.tile(1, 0, 1);
+
+        service.onRemoteForecastStored(event(UUID.randomUUID()));
+        service.tile(1, 0, 1);
+
+        verify(repository, times(2)).clusters(eq(1), eq(0), eq(1), any(), anyDouble(), anyInt());
+    }
+
+    private static RemoteForecastStoredEvent event(UUID launchsiteId) {
+        Instant now = Instant.now();
+        return new RemoteForecastStoredEvent(launchsiteId, UUID.randomUUID(), now, now, 24, now);
+    }
+}
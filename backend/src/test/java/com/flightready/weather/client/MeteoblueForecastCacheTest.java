@@ -0,0 +1,105 @@
+package com.flightready.weather.client;
+
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeteoblueForecastCacheTest {
+
+    private final MeteoblueWeatherClient client = mock(MeteoblueWeatherClient.class);
+    private final MeteoblueForecastCache cache =
+            new MeteoblueForecastCache(client, Duration.ofHours(1), 1000, 0.01, 50);
+
+    @Test
+    void concurrentCallersOfOneBucketShareOneUpstreamCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.fetchForecast(anyDouble(), anyDouble(), anyInt())).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            release.await();
+            return forecast();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MeteoblueForecastCache.CachedForecast>> fetches = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                fetches.add(executor.submit(() -> cache.fetch(47.2601, 11.4201, 1010)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            MeteoblueForecast first = fetches.get(0).get(5, TimeUnit.SECONDS).forecast();
+            for (Future<MeteoblueForecastCache.CachedForecast> fetch : fetches) {
+                assertThat(fetch.get(5, TimeUnit.SECONDS).forecast()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void slowUpstreamCallDoesNotBlockOtherBuckets() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MeteoblueForecast forecast = forecast();
+        when(client.fetchForecast(anyDouble(), anyDouble(), anyInt())).thenAnswer(invocation -> {
+            if (invocation.<Double>getArgument(0) > 47) {
+                started.countDown();
+                release.await();
+            }
+            return forecast;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MeteoblueForecastCache.CachedForecast> slow = executor.submit(() -> cache.fetch(47.26, 11.42, 1000));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<MeteoblueForecastCache.CachedForecast> other = executor.submit(() -> cache.fetch(46.53, 8.21, 1000));
+            assertThat(other.get(5, TimeUnit.SECONDS).forecast()).isSameAs(forecast);
+            assertThat(slow).isNotDone();
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).forecast()).isSameAs(forecast);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedFetchIsNotCached() {
+        MeteoblueForecast forecast = forecast();
+        when(client.fetchForecast(anyDouble(), anyDouble(), anyInt()))
+                .thenThrow(new MeteoblueWeatherClient.MeteoblueClientException("upstream down"))
+                .thenReturn(forecast);
+
+        assertThatThrownBy(() -> cache.fetch(47.26, 11.42, 1000))
+                .isInstanceOf(MeteoblueWeatherClient.MeteoblueClientException.class);
+
+        assertThat(cache.fetch(47.26, 11.42, 1000).forecast()).isSameAs(forecast);
+    }
+
+    private static MeteoblueForecast forecast() {
+        ColumnarForecast columnar = mock(ColumnarForecast.class);
+        when(columnar.modelrunUtc()).thenReturn(List.of("2026-10-18 00:00"));
+        return new MeteoblueForecast(new byte[0], columnar, null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.flightready.weather.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void burstIsAvailableRightAway() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire(Duration.ZERO)).isTrue();
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+    }
+
+    @Test
+    void emptyBucketRejectsWithoutConsumingWhenTheWaitIsTooLong() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.5, 1);
+        assertThat(limiter.acquire(Duration.ZERO)).isTrue();
+
+        assertThat(limiter.acquire(Duration.ofMillis(100))).isFalse();
+        assertThat(limiter.acquire(Duration.ofMillis(100))).isFalse();
+    }
+
+    @Test
+    void waitersAreSpacedByTheRefillRate() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 1);
+        assertThat(limiter.acquire(Duration.ZERO)).isTrue();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.acquire(Duration.ofSeconds(5))).isTrue();
+        }
+
+        // 4 permits at 20 per second take at least 200 ms
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(190));
+    }
+
+    @Test
+    void reservationsQueueUpBehindEachOther() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1);
+        assertThat(limiter.acquire(Duration.ZERO)).isTrue();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire(Duration.ofSeconds(1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        Thread.sleep(20);
+
+        // the waiter holds the next token, so this caller would need about two refill intervals
+        assertThat(limiter.acquire(Duration.ofMillis(150))).isFalse();
+        waiter.join();
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package com.flightready.weather.dto;
+
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForecastBinaryEncoderTest {
+
+    private static final long FIRST_HOUR = 1714543200L;
+
+    @Test
+    void headerAndValuesRoundTrip() {
+        UUID launchsiteId = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+        UUID weatherId = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+        OffsetDateTime fetchedAt = OffsetDateTime.of(2024, 5, 1, 6, 30, 0, 0, ZoneOffset.UTC);
+        ForecastResponse forecast = new ForecastResponse(launchsiteId, weatherId, fetchedAt, "2024-05-01 06:00",
+                List.of("ICON", "GFS\u00e9"), new long[]{FIRST_HOUR, FIRST_HOUR + 3600, FIRST_HOUR + 7200},
+                new double[][]{{12.345, -3.2, Double.NaN}, {0, 400, -400}},
+                new double[][]{{0, 0.126, Double.NaN}, {1.5, 0, 0}},
+                new int[][]{{0, 100, ColumnarForecast.MISSING_INT}, {50, 101, 7}},
+                new int[][]{{0, 360, ColumnarForecast.MISSING_INT}, {180, 361, -1}});
+
+        Decoded decoded = Decoded.of(ForecastBinaryEncoder.encode(forecast));
+
+        assertThat(decoded.models).containsExactly("ICON", "GFS\u00e9");
+        assertThat(decoded.time).containsExactly(FIRST_HOUR, FIRST_HOUR + 3600, FIRST_HOUR + 7200);
+        assertThat(decoded.step).isEqualTo(3600);
+        assertThat(decoded.launchsiteId).isEqualTo(launchsiteId);
+        assertThat(decoded.weatherId).isEqualTo(weatherId);
+        assertThat(decoded.fetchedAtMillis).isEqualTo(fetchedAt.toInstant().toEpochMilli());
+        assertThat(decoded.modelrun).isEqualTo("2024-05-01 06:00");
+        assertThat(decoded.variables.keySet())
+                .containsExactly("temperature", "precipitation", "cloudcover", "winddirection");
+
+        // quantized to 0.01, clamped to int16, NaN as the missing marker
+        assertThat(decoded.variables.get("temperature").raw).containsExactly(1235, -320, ForecastBinaryEncoder.MISSING_INT16,
+                0, 32767, -32767);
+        assertThat(decoded.variables.get("temperature").scale).isEqualTo(0.01f);
+        assertThat(decoded.variables.get("precipitation").raw).containsExactly(0, 13, ForecastBinaryEncoder.MISSING_INT16,
+                150, 0, 0);
+        assertThat(decoded.variables.get("cloudcover").raw).containsExactly(0, 100, ForecastBinaryEncoder.MISSING_UINT8,
+                50, ForecastBinaryEncoder.MISSING_UINT8, 7);
+        assertThat(decoded.variables.get("winddirection").raw).containsExactly(0, 360, ForecastBinaryEncoder.MISSING_INT16,
+                180, ForecastBinaryEncoder.MISSING_INT16, ForecastBinaryEncoder.MISSING_INT16);
+    }
+
+    @Test
+    void irregularTimeAxisIsWrittenAsOffsets() {
+        long[] time = {FIRST_HOUR, FIRST_HOUR + 3 * 3600, FIRST_HOUR + 6 * 3600, FIRST_HOUR + 12 * 3600};
+        ForecastResponse forecast = new ForecastResponse(null, null, null, null, List.of("ICON"), time,
+                new double[][]{{1, 2, 3, 4}}, new double[][]{{0, 0, 0, 0}}, new int[][]{{0, 0, 0, 0}},
+                new int[][]{{0, 0, 0, 0}});
+
+        Decoded decoded = Decoded.of(ForecastBinaryEncoder.encode(forecast));
+
+        assertThat(decoded.step).isZero();
+        assertThat(decoded.time).containsExactly(time);
+        assertThat(decoded.launchsiteId).isEqualTo(new UUID(0, 0));
+        assertThat(decoded.variables.get("temperature").raw).containsExactly(100, 200, 300, 400);
+    }
+
+    @Test
+    void arraysStartFourByteAligned() {
+        // odd lengths everywhere: 1 model, 3 hours, 1-byte cloud cover values
+        ForecastResponse forecast = new ForecastResponse(null, null, null, "x", List.of("abc"),
+                new long[]{FIRST_HOUR, FIRST_HOUR + 3600, FIRST_HOUR + 7200}, new double[][]{{1, 2, 3}},
+                new double[][]{{0, 0, 0}}, new int[][]{{1, 2, 3}}, new int[][]{{1, 2, 3}});
+
+        byte[] bytes = ForecastBinaryEncoder.encode(forecast);
+        Decoded decoded = Decoded.of(bytes);
+
+        assertThat(bytes.length % 4).isZero();
+        assertThat(decoded.variables.values()).allSatisfy(variable -> assertThat(variable.offset % 4).isZero());
+    }
+
+    /**
+     * Reads the layout documented on {@link ForecastBinaryEncoder}, the way a client would.
+     */
+    private static final class Decoded {
+        List<String> models = new ArrayList<>();
+        long[] time;
+        int step;
+        UUID launchsiteId;
+        UUID weatherId;
+        long fetchedAtMillis;
+        String modelrun;
+        Map<String, Variable> variables = new LinkedHashMap<>();
+
+        static Decoded of(byte[] bytes) {
+            ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[4];
+            in.get(magic);
+            assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("FRF1");
+
+            Decoded decoded = new Decoded();
+            int modelCount = in.getShort() & 0xFFFF;
+            int hours = in.getShort() & 0xFFFF;
+            long firstHour = in.getLong();
+            decoded.step = in.getInt();
+            decoded.time = new long[hours];
+            for (int h = 0; h < hours; h++) {
+                decoded.time[h] = firstHour + (decoded.step == 0 ? in.getInt() : (long) h * decoded.step);
+            }
+            ByteBuffer uuids = in.duplicate().order(ByteOrder.BIG_ENDIAN);
+            decoded.launchsiteId = new UUID(uuids.getLong(), uuids.getLong());
+            decoded.weatherId = new UUID(uuids.getLong(), uuids.getLong());
+            in.position(uuids.position());
+            decoded.fetchedAtMillis = in.getLong();
+            decoded.modelrun = string(in);
+            for (int m = 0; m < modelCount; m++) {
+                decoded.models.add(string(in));
+            }
+
+            int variableCount = in.getShort() & 0xFFFF;
+            align(in);
+            for (int v = 0; v < variableCount; v++) {
+                String name = string(in);
+                byte encoding = in.get();
+                float scale = in.getFloat();
+                align(in);
+                int offset = in.position();
+                int[] raw = new int[modelCount * hours];
+                for (int i = 0; i < raw.length; i++) {
+                    raw[i] = encoding == 1 ? in.getShort() : in.get() & 0xFF;
+                }
+                align(in);
+                decoded.variables.put(name, new Variable(scale, offset, raw));
+            }
+            assertThat(in.remaining()).isZero();
+            return decoded;
+        }
+
+        private static String string(ByteBuffer in) {
+            byte[] utf8 = new byte[in.getShort() & 0xFFFF];
+            in.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        private static void align(ByteBuffer in) {
+            in.position((in.position() + 3) & ~3);
+        }
+    }
+
+    private record Variable(float scale, int offset, int[] raw) {}
+}
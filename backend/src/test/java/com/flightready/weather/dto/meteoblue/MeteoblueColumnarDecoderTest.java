@@ -0,0 +1,105 @@
+package com.flightready.weather.dto.meteoblue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteoblueColumnarDecoderTest {
+
+    private static final int MISSING = ColumnarForecast.MISSING_INT;
+
+    // configured like the application's (unknown properties are ignored)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MeteoblueColumnarDecoder decoder = new MeteoblueColumnarDecoder(objectMapper);
+
+    @Test
+    void streamingDecodeMatchesTheDatabindPath() throws IOException {
+        byte[] json = fixture();
+
+        ColumnarForecast streamed = decoder.decode(json);
+        ColumnarForecast bound = objectMapper.readValue(json, MeteoblueWeatherResponse.class).columnar();
+
+        // exact, NaN equals NaN
+        assertThat(streamed.modelrunUpdatetimeUtc()).isEqualTo(bound.modelrunUpdatetimeUtc());
+        assertThat(streamed.modelrunUtc()).isEqualTo(bound.modelrunUtc());
+        assertThat(streamed.models()).isEqualTo(bound.models());
+        assertThat(streamed.gridpointElevation()).containsExactly(bound.gridpointElevation());
+        assertThat(streamed.time()).containsExactly(bound.time());
+        assertThat(streamed.temperatureSpread()).containsExactly(bound.temperatureSpread());
+        assertSameRows(streamed.temperature(), bound.temperature());
+        assertSameRows(streamed.precipitation(), bound.precipitation());
+        assertThat(streamed.cloudcover()).isDeepEqualTo(bound.cloudcover());
+        assertThat(streamed.winddirection()).isDeepEqualTo(bound.winddirection());
+    }
+
+    @Test
+    void decodesValuesNullsAndMissingColumns() throws IOException {
+        ColumnarForecast forecast = decoder.decode(fixture());
+
+        assertThat(forecast.modelrunUpdatetimeUtc()).isEqualTo("2024-05-01 03:15");
+        assertThat(forecast.modelrunUtc()).containsExactly("2024-05-01 00:00", "2024-04-30 18:00");
+        assertThat(forecast.models()).containsExactly("ICON", "IFS");
+        assertThat(forecast.gridpointElevation()).containsExactly(1187, MISSING);
+
+        assertThat(forecast.temperatureSpread()).containsExactly(0.4, Double.NaN, 1.25, 0.12345678901234567);
+        // exponents, negative numbers and integers in a float column
+        assertThat(forecast.temperature()[0]).containsExactly(-2.5, -0.25, 15.0, 3.0);
+        assertThat(forecast.temperature()[1]).containsExactly(-0.175, Double.NaN, 12.125, -40.0);
+        // a null model row is an empty row
+        assertThat(forecast.precipitation()[0]).containsExactly(0.0, 0.1, 0.0025, Double.NaN);
+        assertThat(forecast.precipitation()[1]).isEmpty();
+        assertThat(forecast.winddirection()[0]).containsExactly(0, 90, MISSING, 359);
+        // cloudcover is not in the document
+        assertThat(forecast.cloudcover()).isEmpty();
+    }
+
+    @Test
+    void localTimesAreShiftedByTheUtcOffset() throws IOException {
+        ColumnarForecast forecast = decoder.decode(fixture());
+
+        // CEST, utc_timeoffset 2.0
+        assertThat(forecast.time()).containsExactly(
+                Instant.parse("2024-04-30T22:00:00Z").getEpochSecond(),
+                Instant.parse("2024-04-30T23:00:00Z").getEpochSecond(),
+                Instant.parse("2024-05-01T00:00:00Z").getEpochSecond(),
+                Instant.parse("2024-05-01T01:00:00Z").getEpochSecond());
+    }
+
+    @Test
+    void parsesIsoSeparatorAsWell() {
+        char[] text = "2024-05-01T06:30".toCharArray();
+
+        assertThat(MeteoblueColumnarDecoder.parseLocalEpochSeconds(text, 0, text.length))
+                .isEqualTo(Instant.parse("2024-05-01T06:30:00Z").getEpochSecond());
+    }
+
+    @Test
+    void documentWithoutSeriesHasNoHours() throws IOException {
+        ColumnarForecast forecast = decoder.decode("{\"metadata\": {\"models\": [\"ICON\"]}}".getBytes());
+
+        assertThat(forecast.hours()).isZero();
+        assertThat(forecast.models()).isEqualTo(List.of("ICON"));
+    }
+
+    private static void assertSameRows(double[][] actual, double[][] expected) {
+        assertThat(actual).hasSameDimensionsAs(expected);
+        for (int row = 0; row < actual.length; row++) {
+            // boxed comparison, so NaN equals NaN
+            assertThat(actual[row]).as("row %d", row).containsExactly(expected[row]);
+        }
+    }
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = MeteoblueColumnarDecoderTest.class.getResourceAsStream("/meteoblue/multimodel-1h.json")) {
+            return in.readAllBytes();
+        }
+    }
+}
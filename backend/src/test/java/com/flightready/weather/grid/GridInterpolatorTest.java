@@ -0,0 +1,127 @@
+package com.flightready.weather.grid;
+
+import com.flightready.weather.forecast.ColumnarForecast;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GridInterpolatorTest {
+
+    private static final long T0 = 1714543200L;
+    private static final int MISSING = ColumnarForecast.MISSING_INT;
+
+    private final GridInterpolator interpolator = new GridInterpolator(0.0065);
+
+    @Test
+    void scalarsAreWeightedMeans() {
+        ColumnarForecast[] nodes = {
+                node("ICON", 500, 10, 0.0, 20, 90),
+                node("ICON", 500, 20, 1.0, 40, 90),
+                node("ICON", 500, 30, 2.0, 60, 90),
+                node("ICON", 500, 40, 3.0, 80, 90)
+        };
+
+        ColumnarForecast site = interpolator.interpolate(nodes, new double[]{0.4, 0.3, 0.2, 0.1}, 500);
+
+        assertThat(site.temperature()[0][0]).isCloseTo(20.0, within(1e-9));
+        assertThat(site.precipitation()[0][0]).isCloseTo(1.0, within(1e-9));
+        assertThat(site.cloudcover()[0][0]).isEqualTo(40);
+        assertThat(site.winddirection()[0][0]).isEqualTo(90);
+        assertThat(site.gridpointElevation()).containsExactly(500);
+    }
+
+    @Test
+    void temperatureFollowsTheLapseRateToTheSiteElevation() {
+        ColumnarForecast[] nodes = {
+                node("ICON", 1000, 10, 0, 0, 0),
+                node("ICON", 2000, 10, 0, 0, 0)
+        };
+
+        ColumnarForecast site = interpolator.interpolate(nodes, new double[]{0.5, 0.5}, 500);
+
+        // mean grid point elevation 1500 m, 1000 m above the site
+        assertThat(site.temperature()[0][0]).isCloseTo(16.5, within(1e-9));
+    }
+
+    @Test
+    void unknownNodeElevationSkipsTheCorrection() {
+        ColumnarForecast[] nodes = {
+                node("ICON", MISSING, 10, 0, 0, 0),
+                node("ICON", 2000, 20, 0, 0, 0)
+        };
+
+        ColumnarForecast site = interpolator.interpolate(nodes, new double[]{0.5, 0.5}, 500);
+
+        assertThat(site.temperature()[0][0]).isCloseTo(15.0, within(1e-9));
+    }
+
+    @Test
+    void windDirectionIsAveragedAsUnitVectors() {
+        ColumnarForecast north = interpolator.interpolate(new ColumnarForecast[]{
+                node("ICON", 500, 0, 0, 0, 350),
+                node("ICON", 500, 0, 0, 0, 10)
+        }, new double[]{0.5, 0.5}, 500);
+        ColumnarForecast opposite = interpolator.interpolate(new ColumnarForecast[]{
+                node("ICON", 500, 0, 0, 0, 90),
+                node("ICON", 500, 0, 0, 0, 270)
+        }, new double[]{0.5, 0.5}, 500);
+
+        assertThat(north.winddirection()[0][0]).isZero();
+        assertThat(opposite.winddirection()[0][0]).isEqualTo(MISSING);
+    }
+
+    @Test
+    void valuesANodeLacksAreLeftOutAndWeightsRenormalized() {
+        ColumnarForecast first = forecast(List.of("ICON", "GFS"), 500, new long[]{T0},
+                new double[][]{{10}, {50}}, new double[][]{{Double.NaN}, {0}}, new int[][]{{MISSING}, {0}},
+                new int[][]{{MISSING}, {0}});
+        // same models in another order
+        ColumnarForecast second = forecast(List.of("GFS", "ICON"), 500, new long[]{T0},
+                new double[][]{{70}, {30}}, new double[][]{{0}, {2.0}}, new int[][]{{0}, {60}},
+                new int[][]{{0}, {180}});
+
+        ColumnarForecast site = interpolator.interpolate(new ColumnarForecast[]{first, second},
+                new double[]{0.75, 0.25}, 500);
+
+        // models follow the node with the largest weight
+        assertThat(site.models()).containsExactly("ICON", "GFS");
+        assertThat(site.temperature()[0][0]).isCloseTo(15.0, within(1e-9));
+        assertThat(site.temperature()[1][0]).isCloseTo(55.0, within(1e-9));
+        assertThat(site.precipitation()[0][0]).isCloseTo(2.0, within(1e-9));
+        assertThat(site.cloudcover()[0][0]).isEqualTo(60);
+        assertThat(site.winddirection()[0][0]).isEqualTo(180);
+    }
+
+    @Test
+    void hoursMissingFromANodeUseTheOthers() {
+        ColumnarForecast reference = forecast(List.of("ICON"), 500, new long[]{T0, T0 + 3600},
+                new double[][]{{10, 10}}, new double[][]{{0, 0}}, new int[][]{{0, 0}}, new int[][]{{0, 0}});
+        ColumnarForecast shifted = forecast(List.of("ICON"), 500, new long[]{T0 + 3600, T0 + 7200},
+                new double[][]{{20, 20}}, new double[][]{{0, 0}}, new int[][]{{0, 0}}, new int[][]{{0, 0}});
+
+        ColumnarForecast site = interpolator.interpolate(new ColumnarForecast[]{reference, shifted},
+                new double[]{0.5, 0.5}, 500);
+
+        assertThat(site.time()).containsExactly(T0, T0 + 3600);
+        assertThat(site.temperature()[0]).containsExactly(10.0, 15.0);
+    }
+
+    private static ColumnarForecast node(String model, int elevation, double temperature,
+                                         double precipitation, int cloudcover, int winddirection) {
+        return forecast(List.of(model), elevation, new long[]{T0}, new double[][]{{temperature}},
+                new double[][]{{precipitation}}, new int[][]{{cloudcover}}, new int[][]{{winddirection}});
+    }
+
+    private static ColumnarForecast forecast(List<String> models, int elevation, long[] time, double[][] temperature,
+                                             double[][] precipitation, int[][] cloudcover, int[][] winddirection) {
+        int[] elevations = new int[models.size()];
+        Arrays.fill(elevations, elevation);
+        double[] spread = new double[time.length];
+        return new ColumnarForecast("2024-05-01 06:00", List.of(), models, elevations, time, spread, temperature,
+                precipitation, cloudcover, winddirection);
+    }
+}
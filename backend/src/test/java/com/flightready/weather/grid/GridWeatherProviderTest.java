@@ -0,0 +1,126 @@
+package com.flightready.weather.grid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flightready.weather.forecast.ColumnarForecast;
+import com.flightready.weather.provider.ForecastPoint;
+import com.flightready.weather.provider.ProviderForecast;
+import com.flightready.weather.provider.WeatherProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GridWeatherProviderTest {
+
+    private static final double SPACING = 0.1;
+
+    @Test
+    void denseClusterIsServedFromItsGridNodes() throws Exception {
+        CountingProvider upstream = new CountingProvider();
+        GridWeatherProvider grid = new GridWeatherProvider(upstream, SPACING, 0.0065, Duration.ofMinutes(30), 1000);
+
+        // 50 sites spread over the 2 x 2 cells between 47.0/11.0 and 47.2/11.2 (9 nodes), plus one outlier
+        Random random = new Random(7);
+        List<ForecastPoint> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            points.add(new ForecastPoint(47.0 + random.nextDouble() * 0.2, 11.0 + random.nextDouble() * 0.2, 1200));
+        }
+        ForecastPoint outlier = new ForecastPoint(46.53, 8.21, 900);
+        points.add(outlier);
+
+        grid.prepare(points);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ProviderForecast>> fetches = new ArrayList<>();
+            for (ForecastPoint point : points) {
+                fetches.add(executor.submit(() -> grid.fetch(point)));
+            }
+            for (Future<ProviderForecast> fetch : fetches) {
+                assertThat(fetch.get().columnar().hours()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstream.requested).hasSize(10);
+        assertThat(upstream.requested).contains(outlier);
+        assertThat(upstream.requested).filteredOn(point -> point != outlier)
+                .allSatisfy(node -> assertThat(node.asl()).isZero())
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void sparseSitesAreFetchedDirectly() {
+        CountingProvider upstream = new CountingProvider();
+        GridWeatherProvider grid = new GridWeatherProvider(upstream, SPACING, 0.0065, Duration.ofMinutes(30), 1000);
+        List<ForecastPoint> points = List.of(new ForecastPoint(47.05, 11.05, 1200), new ForecastPoint(45.55, 7.35, 800));
+
+        grid.prepare(points);
+        points.forEach(grid::fetch);
+
+        assertThat(upstream.requested).containsExactlyElementsOf(points);
+    }
+
+    @Test
+    void failedNodeFetchIsNotCached() {
+        CountingProvider upstream = new CountingProvider();
+        GridWeatherProvider grid = new GridWeatherProvider(upstream, SPACING, 0.0065, Duration.ofMinutes(30), 1000);
+        List<ForecastPoint> points = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            points.add(new ForecastPoint(47.01 + i * 0.01, 11.05, 1200));
+        }
+        grid.prepare(points);
+
+        upstream.failNext.set(true);
+        assertThatThrownBy(() -> grid.fetch(points.get(0))).isInstanceOf(IllegalStateException.class);
+        assertThat(grid.fetch(points.get(0)).columnar().hours()).isEqualTo(1);
+        assertThat(upstream.requested).hasSize(5);
+    }
+
+    private static final class CountingProvider implements WeatherProvider {
+
+        final List<ForecastPoint> requested = new ArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public String id() {
+            return "test";
+        }
+
+        @Override
+        public ProviderForecast fetch(ForecastPoint point) {
+            synchronized (requested) {
+                requested.add(point);
+            }
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("upstream down");
+            }
+            try {
+                // long enough for concurrent sites of a cell to find the fetch in flight
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new Forecast(new ColumnarForecast("2024-05-01 06:00", List.of(), List.of("ICON"), new int[]{0},
+                    new long[]{1714543200L}, new double[]{0}, new double[][]{{10}}, new double[][]{{0}},
+                    new int[][]{{50}}, new int[][]{{180}}));
+        }
+    }
+
+    private record Forecast(ColumnarForecast columnar) implements ProviderForecast {
+
+        @Override
+        public JsonNode payload() {
+            return null;
+        }
+    }
+}